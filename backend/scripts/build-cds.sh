@@ -0,0 +1,35 @@
+#!/usr/bin/env bash
+#
+# Creates a class data sharing (AppCDS) archive for the AOT-processed jar.
+#
+# Build the jar first with ./mvnw -Paot -DskipTests package. The jar is extracted
+# to target/cds, the layout CDS needs, and the application is started once as a
+# training run that exits right after the context refresh, dumping every class it
+# loaded to target/cds/application.jsa. The training run connects to the database
+# like a normal start, so point spring.datasource.* at a reachable one.
+#
+# Start the result with:
+#   java -XX:SharedArchiveFile=target/cds/application.jsa -Dspring.aot.enabled=true \
+#        -jar target/cds/todo-app-0.0.1-SNAPSHOT.jar
+#
+# Usage: scripts/build-cds.sh
+
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+JAR="$(ls target/todo-app-*.jar | grep -v plain | head -n 1)"
+if ! unzip -l "$JAR" | grep -q "__ApplicationContextInitializer"; then
+    echo "$JAR has no AOT-generated classes, build it with ./mvnw -Paot package" >&2
+    exit 1
+fi
+
+rm -rf target/cds
+java -Djarmode=tools -jar "$JAR" extract --destination target/cds
+
+java -XX:ArchiveClassesAtExit=target/cds/application.jsa \
+    -Dspring.aot.enabled=true \
+    -Dspring.context.exit=onRefresh \
+    -jar "target/cds/$(basename "$JAR")"
+
+echo "Created target/cds/application.jsa"
@@ -0,0 +1,95 @@
+#!/usr/bin/env bash
+#
+# Compares startup time and resident memory of the ways the backend can be run:
+#   jvm      the plain fat jar
+#   aot-cds  the AOT-processed jar with the class data sharing archive
+#   native   the GraalVM native executable
+#   crac     a restore of the warmed CRaC checkpoint
+#
+# Build them first (builds that are missing are skipped):
+#   ./mvnw -Paot -DskipTests package            -> target/todo-app-0.0.1-SNAPSHOT.jar
+#   scripts/build-cds.sh                        -> target/cds/application.jsa
+#   ./mvnw -Pnative -DskipTests native:compile  -> target/todo-app
+#   scripts/crac-checkpoint.sh                  -> target/crac (needs a CRaC JDK)
+#
+# For each run the table shows the startup time reported by Spring (for crac, the
+# time until the restored lifecycle beans are running again), the wall clock time
+# from launch until the first request (a failed login, which goes through security,
+# JPA and the database) is answered, and the resident memory after it.
+# The database is whatever spring.datasource.* points to; override it through the
+# environment, e.g. SPRING_DATASOURCE_URL=jdbc:mysql://localhost:3306/tododb.
+# Usage: scripts/compare-startup.sh [runs]   (5 runs per build by default)
+
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+RUNS="${1:-5}"
+PORT="${PORT:-18080}"
+JAR="$(ls target/todo-app-*.jar | grep -v plain | head -n 1)"
+CDS_JAR="target/cds/$(basename "$JAR")"
+CDS_ARCHIVE="target/cds/application.jsa"
+NATIVE="target/todo-app"
+CRAC_IMAGE="target/crac"
+
+# Starts the command, polls until the first request is answered and prints
+# "<startup seconds reported by Boot> <seconds to first response> <RSS in MB>".
+measure() {
+    local log
+    log="$(mktemp)"
+    local start
+    start="$(date +%s.%N)"
+    "$@" >"$log" 2>&1 &
+    local pid=$!
+    until curl -s -o /dev/null -X POST -H "Content-Type: application/json" \
+            -d '{"username":"startup-probe","password":"startup-probe"}' \
+            "http://localhost:$PORT/api/auth/login"; do
+        if ! kill -0 "$pid" 2>/dev/null; then
+            cat "$log" >&2
+            exit 1
+        fi
+        sleep 0.01
+    done
+    local end
+    end="$(date +%s.%N)"
+    local rss_kb
+    rss_kb="$(awk '/VmRSS/ { print $2 }' "/proc/$pid/status")"
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    local boot
+    boot="$(sed -n 's/.*Started TodoAppApplication in \([0-9.]*\) seconds.*/\1/p' "$log")"
+    if [ -z "$boot" ]; then
+        boot="$(sed -n 's/.*restored JVM running for \([0-9]*\) ms.*/\1/p' "$log" | awk '{ print $1 / 1000 }')"
+    fi
+    rm -f "$log"
+    echo "$boot $(awk -v s="$start" -v e="$end" 'BEGIN { print e - s }') $((rss_kb / 1024))"
+}
+
+report() {
+    local name=$1
+    shift
+    for _ in $(seq "$RUNS"); do
+        measure "$@"
+    done | awk -v name="$name" '{ boot += $1; first += $2; rss += $3 }
+        END { if (NR == 0) exit 1; printf "%-8s %14.3f %18.3f %10d\n", name, boot / NR, first / NR, rss / NR }'
+}
+
+printf "%-8s %14s %18s %10s\n" "build" "boot (s)" "first request (s)" "RSS (MB)"
+report jvm java -jar "$JAR" --server.port="$PORT"
+if [ -f "$CDS_ARCHIVE" ]; then
+    report aot-cds java -XX:SharedArchiveFile="$CDS_ARCHIVE" -Dspring.aot.enabled=true -jar "$CDS_JAR" \
+        --server.port="$PORT"
+else
+    echo "aot-cds  (skipped, run scripts/build-cds.sh first)"
+fi
+if [ -x "$NATIVE" ]; then
+    report native "$NATIVE" --server.port="$PORT"
+else
+    echo "native   (skipped, $NATIVE not built)"
+fi
+# The restored process listens on the port it was checkpointed with, PORT by default
+if [ -d "$CRAC_IMAGE" ]; then
+    report crac java -XX:CRaCRestoreFrom="$CRAC_IMAGE"
+else
+    echo "crac     (skipped, run scripts/crac-checkpoint.sh first)"
+fi
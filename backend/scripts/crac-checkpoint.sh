@@ -0,0 +1,75 @@
+#!/usr/bin/env bash
+#
+# Creates a warmed CRaC checkpoint of the backend in target/crac.
+#
+# Needs Linux and a JDK with Coordinated Restore at Checkpoint support (e.g. a
+# "crac" build of Azul Zulu); build the jar first with ./mvnw -DskipTests package.
+# The application is started, warmed up with a few hundred requests so that the
+# JIT has compiled the hot paths, and then checkpointed. The warm-up runs
+# against the configured database as a throwaway user with a random name and
+# password (todo.crac.warmup-user), which the application deletes with all its
+# todos and categories right before the checkpoint. Before the checkpoint,
+# Spring also stops the web server, empties the connection pools and caches and
+# closes the search index; after a restore they are started again.
+#
+# Restore with:
+#   java -XX:CRaCRestoreFrom=target/crac
+# The restored process keeps the port and configuration of the checkpointed one,
+# so set spring.datasource.* and friends before running this script.
+#
+# Usage: scripts/crac-checkpoint.sh [warmup requests]   (500 by default)
+
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+WARMUP="${1:-500}"
+PORT="${PORT:-18080}"
+JAR="$(ls target/todo-app-*.jar | grep -v plain | head -n 1)"
+BASE="http://localhost:$PORT/api"
+SUFFIX="$(od -An -N6 -tx1 /dev/urandom | tr -d ' \n')"
+USERNAME="crac-warmup-$SUFFIX"
+PASSWORD="$(od -An -N24 -tx1 /dev/urandom | tr -d ' \n')"
+CREDENTIALS="{\"username\":\"$USERNAME\",\"email\":\"$USERNAME@example.invalid\",\"password\":\"$PASSWORD\"}"
+
+rm -rf target/crac
+java -XX:CRaCCheckpointTo=target/crac -jar "$JAR" --server.port="$PORT" \
+    --todo.crac.warmup-user="$USERNAME" > target/crac-checkpoint.log 2>&1 &
+PID=$!
+
+until curl -s -o /dev/null "http://localhost:$PORT/actuator/health"; do
+    if ! kill -0 "$PID" 2>/dev/null; then
+        cat target/crac-checkpoint.log >&2
+        exit 1
+    fi
+    sleep 0.1
+done
+
+# Register the warm-up user, which the application deletes before the checkpoint
+RESPONSE="$(curl -s -X POST -H "Content-Type: application/json" -d "$CREDENTIALS" "$BASE/auth/register")"
+if ! grep -q '"token"' <<< "$RESPONSE"; then
+    echo "Could not register the warm-up user: $RESPONSE" >&2
+    kill "$PID"
+    exit 1
+fi
+TOKEN="$(sed -n 's/.*"token":"\([^"]*\)".*/\1/p' <<< "$RESPONSE")"
+AUTH="Authorization: Bearer $TOKEN"
+
+echo "Warming up with $WARMUP requests"
+for i in $(seq "$WARMUP"); do
+    case $((i % 4)) in
+        0) curl -s -o /dev/null -X POST -H "$AUTH" -H "Content-Type: application/json" \
+               -d "{\"title\":\"Warm-up todo $i\",\"description\":\"Created before the checkpoint\"}" "$BASE/todos" ;;
+        1) curl -s -o /dev/null -H "$AUTH" "$BASE/todos" ;;
+        2) curl -s -o /dev/null -H "$AUTH" "$BASE/todos/search?q=warm" ;;
+        3) curl -s -o /dev/null -H "$AUTH" "$BASE/categories/summary" ;;
+    esac
+done
+
+jcmd "$PID" JDK.checkpoint
+wait "$PID" || true
+if ! grep -q "Deleted warm-up user $USERNAME" target/crac-checkpoint.log; then
+    echo "Warm-up user $USERNAME was not deleted, see target/crac-checkpoint.log" >&2
+    exit 1
+fi
+echo "Created checkpoint in target/crac (log in target/crac-checkpoint.log)"
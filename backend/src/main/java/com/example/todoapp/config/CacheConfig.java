@@ -0,0 +1,83 @@
+package com.example.todoapp.config;
+
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.example.todoapp.service.TodoListCache;
+import com.example.todoapp.web.ResponseBodyCache;
+import com.example.todoapp.web.ResponseCacheFilter;
+import com.github.benmanes.caffeine.cache.Cache;
+
+/**
+ * Cache configuration for the Todo application.
+ * Enables Spring's cache abstraction; the Caffeine-backed cache manager and its
+ * size/expiry limits are configured through the spring.cache.* properties. The
+ * todo list and response body caches are bounded by their own memory budgets and
+ * only registered with the cache manager, so that they are cleared and reported like
+ * the other caches. The response body cache is served by a filter on the list endpoints.
+ *
+ * @author Todo App Team
+ * @version 1.0
+ * @since 2025-01-01
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    /**
+     * Name of the cache holding the per-category todo counts, keyed by username.
+     */
+    public static final String CATEGORY_SUMMARY_CACHE = "categorySummaries";
+
+    /**
+     * Name of the cache holding the todo lists, keyed by username (see {@link TodoListCache}).
+     */
+    public static final String TODO_LIST_CACHE = "todoLists";
+
+    /**
+     * Name of the cache holding the encoded list responses, keyed by username (see {@link ResponseBodyCache}).
+     */
+    public static final String RESPONSE_BODY_CACHE = "responseBodies";
+
+    /**
+     * Registers the todo list and response body caches with the cache manager unless they are disabled.
+     *
+     * @param todoListCache the todo list cache
+     * @param responseBodyCache the response body cache
+     * @return the customizer of the Caffeine cache manager
+     */
+    @Bean
+    public CacheManagerCustomizer<CaffeineCacheManager> customCacheRegistration(TodoListCache todoListCache,
+            ResponseBodyCache responseBodyCache) {
+        return cacheManager -> {
+            register(cacheManager, TODO_LIST_CACHE, todoListCache.getNativeCache());
+            register(cacheManager, RESPONSE_BODY_CACHE, responseBodyCache.getNativeCache());
+        };
+    }
+
+    /**
+     * Registers the filter that serves the list endpoints from the response body cache.
+     * It keeps the default order, after the security filter chain.
+     *
+     * @param responseBodyCache the response body cache
+     * @return the filter registration
+     */
+    @Bean
+    public FilterRegistrationBean<ResponseCacheFilter> responseCacheFilter(ResponseBodyCache responseBodyCache) {
+        FilterRegistrationBean<ResponseCacheFilter> registration =
+                new FilterRegistrationBean<>(new ResponseCacheFilter(responseBodyCache));
+        registration.addUrlPatterns("/api/todos", "/api/categories");
+        return registration;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void register(CaffeineCacheManager cacheManager, String name, Cache<?, ?> cache) {
+        if (cache != null) {
+            cacheManager.registerCustomCache(name, (Cache<Object, Object>) cache);
+        }
+    }
+}
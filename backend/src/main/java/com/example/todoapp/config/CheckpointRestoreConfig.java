@@ -0,0 +1,172 @@
+package com.example.todoapp.config;
+
+import javax.sql.DataSource;
+
+import org.hibernate.SessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.Lifecycle;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.example.todoapp.datasource.RoutedPoolsLifecycle;
+import com.example.todoapp.service.UserService;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Coordinated Restore at Checkpoint (CRaC) support.
+ * On a JVM with CRaC, Spring stops all {@link Lifecycle} beans before a checkpoint and
+ * starts them again after the restore. Besides the beans that handle this themselves
+ * (the web server, the auto-configured connection pool and the search index), this
+ * registers the application's routed connection pools and a reset of all caches, whose
+ * contents would be stale by the time the image is restored. A user created only to warm
+ * up the process ({@code todo.crac.warmup-user}) is deleted with all their data first.
+ * On other JVMs the beans are only stopped on shutdown.
+ *
+ * @author Todo App Team
+ * @version 1.0
+ * @since 2025-01-01
+ */
+@Configuration
+public class CheckpointRestoreConfig {
+
+    /**
+     * Creates the lifecycle of the pools behind the read/write and shard routers.
+     *
+     * @param dataSource the data source used by JPA
+     * @param applicationContext the application context
+     * @return the lifecycle of the routed pools, doing nothing without routing
+     */
+    @Bean
+    public RoutedPoolsLifecycle routedPoolsLifecycle(DataSource dataSource,
+            ConfigurableApplicationContext applicationContext) {
+        return new RoutedPoolsLifecycle(dataSource, applicationContext);
+    }
+
+    /**
+     * Creates the lifecycle that empties the caches when the context is stopped.
+     *
+     * @param cacheManager the Spring cache manager
+     * @param entityManagerFactory the JPA entity manager factory, for the second-level and query caches
+     * @return the cache reset lifecycle
+     */
+    @Bean
+    public CacheResetLifecycle cacheResetLifecycle(CacheManager cacheManager,
+            EntityManagerFactory entityManagerFactory) {
+        return new CacheResetLifecycle(cacheManager, entityManagerFactory);
+    }
+
+    /**
+     * Creates the lifecycle that deletes the warm-up user before a checkpoint.
+     *
+     * @param userService the user service
+     * @param username the name of the warm-up user
+     * @return the warm-up user cleanup lifecycle
+     */
+    @Bean
+    @ConditionalOnProperty("todo.crac.warmup-user")
+    public WarmupUserCleanupLifecycle warmupUserCleanupLifecycle(UserService userService,
+            @Value("${todo.crac.warmup-user}") String username) {
+        return new WarmupUserCleanupLifecycle(userService, username);
+    }
+
+    /**
+     * Deletes the warm-up user with all their data on stop, so that neither the database
+     * nor the checkpoint keeps anything of the warm-up. Stopped after the web server and
+     * before the connection pools and the search index.
+     */
+    public static class WarmupUserCleanupLifecycle implements SmartLifecycle {
+
+        private static final Logger log = LoggerFactory.getLogger(WarmupUserCleanupLifecycle.class);
+
+        private final UserService userService;
+        private final String username;
+        private volatile boolean running;
+
+        /**
+         * Constructor for WarmupUserCleanupLifecycle.
+         *
+         * @param userService the user service
+         * @param username the name of the warm-up user
+         */
+        public WarmupUserCleanupLifecycle(UserService userService, String username) {
+            this.userService = userService;
+            this.username = username;
+        }
+
+        @Override
+        public void start() {
+            running = true;
+        }
+
+        @Override
+        public void stop() {
+            if (userService.deleteUser(username)) {
+                log.info("Deleted warm-up user {}", username);
+            }
+            running = false;
+        }
+
+        @Override
+        public boolean isRunning() {
+            return running;
+        }
+
+        @Override
+        public int getPhase() {
+            // Below the web server's phases, above the plain lifecycles at phase 0
+            return SmartLifecycle.DEFAULT_PHASE / 2;
+        }
+    }
+
+    /**
+     * Clears the Spring caches and Hibernate's second-level and query caches on stop.
+     * Nothing needs to happen on start; the caches fill up again as requests come in.
+     */
+    public static class CacheResetLifecycle implements Lifecycle {
+
+        private final CacheManager cacheManager;
+        private final EntityManagerFactory entityManagerFactory;
+        private volatile boolean running = true;
+
+        /**
+         * Constructor for CacheResetLifecycle.
+         *
+         * @param cacheManager the Spring cache manager
+         * @param entityManagerFactory the JPA entity manager factory
+         */
+        public CacheResetLifecycle(CacheManager cacheManager, EntityManagerFactory entityManagerFactory) {
+            this.cacheManager = cacheManager;
+            this.entityManagerFactory = entityManagerFactory;
+        }
+
+        @Override
+        public void start() {
+            running = true;
+        }
+
+        @Override
+        public void stop() {
+            for (String name : cacheManager.getCacheNames()) {
+                Cache cache = cacheManager.getCache(name);
+                if (cache != null) {
+                    cache.clear();
+                }
+            }
+            entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+            running = false;
+        }
+
+        @Override
+        public boolean isRunning() {
+            return running;
+        }
+    }
+}
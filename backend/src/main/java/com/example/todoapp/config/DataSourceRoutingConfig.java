@@ -0,0 +1,100 @@
+package com.example.todoapp.config;
+
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.example.todoapp.datasource.ReadWriteRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Read/write splitting configuration.
+ * Only active when {@code app.datasource.replica.url} is set; otherwise Spring Boot's
+ * single auto-configured data source is used unchanged. With sharding enabled, replicas
+ * are configured per shard in {@link ShardingConfig} instead.
+ * The primary pool is configured through the usual spring.datasource.* properties,
+ * the replica pool through app.datasource.replica.* (credentials default to the primary's).
+ * Both pools allow suspension so that {@link com.example.todoapp.datasource.RoutedPoolsLifecycle}
+ * can empty them before a CRaC checkpoint.
+ *
+ * @author Todo App Team
+ * @version 1.0
+ * @since 2025-01-01
+ */
+@Configuration
+@ConditionalOnExpression("'${app.datasource.replica.url:}' != '' and !${app.sharding.enabled:false}")
+public class DataSourceRoutingConfig {
+
+    /**
+     * Creates the connection pool of the primary database.
+     *
+     * @param properties the spring.datasource.* properties
+     * @return the primary connection pool
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        dataSource.setAllowPoolSuspension(true);
+        return dataSource;
+    }
+
+    /**
+     * Creates the connection pool of the read replica.
+     *
+     * @param properties the spring.datasource.* properties, used for defaults
+     * @param url the JDBC URL of the replica
+     * @param username the replica user, the primary's by default
+     * @param password the replica password, the primary's by default
+     * @return the replica connection pool
+     */
+    @Bean
+    @ConfigurationProperties("app.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(DataSourceProperties properties,
+            @Value("${app.datasource.replica.url}") String url,
+            @Value("${app.datasource.replica.username:${spring.datasource.username:}}") String username,
+            @Value("${app.datasource.replica.password:${spring.datasource.password:}}") String password) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(properties.determineDriverClassName())
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        dataSource.setAllowPoolSuspension(true);
+        return dataSource;
+    }
+
+    /**
+     * Creates the data source used by JPA, which picks the pool per transaction.
+     *
+     * @param primary the primary connection pool
+     * @param replica the replica connection pool
+     * @param lagWindow how long a user's reads stay on the primary after the user wrote
+     * @param maxTrackedUsers upper bound for the number of recent writers remembered at once
+     * @return the routing data source
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+            @Qualifier("replicaDataSource") DataSource replica,
+            @Value("${app.datasource.replica.lag-window:5s}") Duration lagWindow,
+            @Value("${app.datasource.replica.max-tracked-users:100000}") long maxTrackedUsers) {
+        return new LazyConnectionDataSourceProxy(
+                new ReadWriteRoutingDataSource(primary, replica, lagWindow, maxTrackedUsers));
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.todoapp.config;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+import com.example.todoapp.jfr.CallEventInterceptor;
+import com.example.todoapp.jfr.FlightRecordingEndpoint;
+import com.example.todoapp.jfr.RepositoryCallEvent;
+import com.example.todoapp.jfr.ServiceCallEvent;
+
+/**
+ * Java Flight Recorder support.
+ * Emits the application's JFR events around calls of the todo and category services
+ * and of all repositories (authentication events come from {@link JwtRequestFilter}),
+ * and provides the {@code jfr} actuator endpoint that starts, dumps and stops recordings.
+ * A recording can also be started with the JVM, e.g.
+ * {@code -XX:StartFlightRecording=settings=default,maxage=15m}.
+ *
+ * @author Todo App Team
+ * @version 1.0
+ * @since 2025-01-01
+ */
+@Configuration
+public class FlightRecorderConfig {
+
+    /**
+     * Creates the endpoint that controls recordings.
+     *
+     * @return the jfr endpoint
+     */
+    @Bean
+    public FlightRecordingEndpoint flightRecordingEndpoint() {
+        return new FlightRecordingEndpoint();
+    }
+
+    /**
+     * Adds the service call events to the todo and category services, outside their
+     * transactions so that commits are part of the measured time.
+     *
+     * @return the advising post-processor
+     */
+    @Bean
+    public static ServiceAdvisingPostProcessor serviceCallEventPostProcessor() {
+        return new ServiceAdvisingPostProcessor(new CallEventInterceptor(ServiceCallEvent::new, null, false));
+    }
+
+    /**
+     * Adds the repository call events to every Spring Data repository.
+     *
+     * @return the post-processor customizing the repository factories
+     */
+    @Bean
+    public static BeanPostProcessor repositoryCallEventPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxyFactory, information) -> proxyFactory.addAdvice(new CallEventInterceptor(
+                                    RepositoryCallEvent::new, information.getRepositoryInterface().getSimpleName(), true))));
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -1,5 +0,0 @@
-package com.example.todoapp.config;
-
-public class GlobalExceptionHandler {
-    
-}
@@ -2,6 +2,7 @@ package com.example.todoapp.config;
 
 import java.io.IOException;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -9,9 +10,13 @@ import org.springframework.security.web.authentication.WebAuthenticationDetailsS
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import com.example.todoapp.jfr.JwtAuthenticationEvent;
 import com.example.todoapp.service.CustomUserDetailsService;
 import com.example.todoapp.util.JwtUtil;
 
+import io.jsonwebtoken.Claims;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -30,8 +35,14 @@ import jakarta.servlet.http.HttpServletResponse;
 @Component
 public class JwtRequestFilter extends OncePerRequestFilter {
 
+    /**
+     * Name of the observation (and span) covering the authentication of a request.
+     */
+    public static final String OBSERVATION_NAME = "security.jwt.authentication";
+
     private final CustomUserDetailsService customUserDetailsService;
     private final JwtUtil jwtUtil;
+    private final ObservationRegistry observationRegistry;
 
     /**
      * Constructor for JwtRequestFilter.
@@ -39,10 +50,13 @@ public class JwtRequestFilter extends OncePerRequestFilter {
      *
      * @param customUserDetailsService service for loading user details by username
      * @param jwtUtil utility for JWT token operations (validation, extraction, etc.)
+     * @param observationRegistry the registry for the authentication span, absent in sliced web tests
      */
-    public JwtRequestFilter(CustomUserDetailsService customUserDetailsService, JwtUtil jwtUtil) {
+    public JwtRequestFilter(CustomUserDetailsService customUserDetailsService, JwtUtil jwtUtil,
+            ObjectProvider<ObservationRegistry> observationRegistry) {
         this.customUserDetailsService = customUserDetailsService;
         this.jwtUtil = jwtUtil;
+        this.observationRegistry = observationRegistry.getIfAvailable(() -> ObservationRegistry.NOOP);
     }
 
     /**
@@ -52,6 +66,7 @@ public class JwtRequestFilter extends OncePerRequestFilter {
      * 2. Validates the token and extracts the username
      * 3. Loads user details and sets up the security context if valid
      * 4. Continues the filter chain
+     * Steps 1 to 3 are recorded as a JFR event and observed as {@value #OBSERVATION_NAME}.
      *
      * @param request the HttpServletRequest being processed
      * @param response the HttpServletResponse for the request
@@ -66,24 +81,49 @@ public class JwtRequestFilter extends OncePerRequestFilter {
         final String authorizationHeader = request.getHeader("Authorization");
 
         String username = null;
-        String jwt = null;
+        Claims claims = null;
 
+        JwtAuthenticationEvent event = null;
+        Observation observation = null;
         if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
-            jwt = authorizationHeader.substring(7);
-            username = jwtUtil.extractUsername(jwt);
+            event = new JwtAuthenticationEvent();
+            event.begin();
+            observation = Observation.start(OBSERVATION_NAME, observationRegistry);
         }
+        try (Observation.Scope scope = observation != null ? observation.openScope() : null) {
+            if (observation != null) {
+                // Parsed and verified once; the signature check dominates the cost of authentication
+                claims = jwtUtil.parseToken(authorizationHeader.substring(7));
+                username = claims.getSubject();
+            }
 
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
 
-            UserDetails userDetails = this.customUserDetailsService.loadUserByUsername(username);
+                UserDetails userDetails = this.customUserDetailsService.loadUserByUsername(username);
 
-            if (jwtUtil.validateToken(jwt, userDetails)) {
+                if (jwtUtil.validateToken(claims, userDetails)) {
 
-                UsernamePasswordAuthenticationToken usernamePasswordAuthenticationToken = new UsernamePasswordAuthenticationToken(
-                        userDetails, null, userDetails.getAuthorities());
-                usernamePasswordAuthenticationToken
-                        .setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                SecurityContextHolder.getContext().setAuthentication(usernamePasswordAuthenticationToken);
+                    UsernamePasswordAuthenticationToken usernamePasswordAuthenticationToken = new UsernamePasswordAuthenticationToken(
+                            userDetails, null, userDetails.getAuthorities());
+                    usernamePasswordAuthenticationToken
+                            .setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                    SecurityContextHolder.getContext().setAuthentication(usernamePasswordAuthenticationToken);
+                }
+            }
+        } catch (RuntimeException e) {
+            if (observation != null) {
+                observation.error(e);
+            }
+            throw e;
+        } finally {
+            if (observation != null) {
+                boolean authenticated = SecurityContextHolder.getContext().getAuthentication() != null;
+                observation.lowCardinalityKeyValue("authenticated", Boolean.toString(authenticated)).stop();
+                event.end();
+                if (event.shouldCommit()) {
+                    event.complete(username, authenticated);
+                    event.commit();
+                }
             }
         }
         chain.doFilter(request, response);
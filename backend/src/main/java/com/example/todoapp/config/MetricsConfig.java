@@ -0,0 +1,79 @@
+package com.example.todoapp.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.example.todoapp.datasource.RoutedPoolsLifecycle;
+import com.example.todoapp.service.TodoListCache;
+import com.example.todoapp.web.ResponseBodyCache;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Metrics that Spring Boot does not set up by itself.
+ * Boot instruments HTTP endpoints, repository methods, caches and the connection pools
+ * that are beans, and serves everything in Prometheus format at /actuator/prometheus
+ * (histogram buckets and cache statistics are enabled in application.properties).
+ * The pools of the shard router are not beans, so this binds the hikaricp.* gauges of
+ * every pool behind the routers that is not instrumented yet, and the memory held by the
+ * todo list and response body caches, which are bounded by bytes rather than entries.
+ *
+ * @author Todo App Team
+ * @version 1.0
+ * @since 2025-01-01
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Creates the binder of the routed connection pools' metrics.
+     *
+     * @param routedPoolsLifecycle the lifecycle that knows the routed pools
+     * @return the meter binder
+     */
+    @Bean
+    public MeterBinder routedPoolMetrics(RoutedPoolsLifecycle routedPoolsLifecycle) {
+        return registry -> {
+            for (HikariDataSource pool : routedPoolsLifecycle.getPools()) {
+                if (pool.getMetricRegistry() == null && pool.getMetricsTrackerFactory() == null) {
+                    pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+                }
+            }
+        };
+    }
+
+    /**
+     * Creates the binder of the todo list cache's size gauge; hits, misses and evictions
+     * are exported by Boot's cache metrics under the cache name todoLists.
+     *
+     * @param todoListCache the todo list cache
+     * @return the meter binder
+     */
+    @Bean
+    public MeterBinder todoListCacheMetrics(TodoListCache todoListCache) {
+        return registry -> Gauge.builder("cache.estimated.size", todoListCache, TodoListCache::estimatedSize)
+                .tag("cache", CacheConfig.TODO_LIST_CACHE)
+                .description("The estimated heap size of the cached entries")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    /**
+     * Reports how much of the response cache's off-heap arena holds bodies, including
+     * evicted bodies still being written to responses.
+     *
+     * @param responseBodyCache the response body cache
+     * @return the meter binder
+     */
+    @Bean
+    public MeterBinder responseBodyCacheMetrics(ResponseBodyCache responseBodyCache) {
+        return registry -> Gauge.builder("cache.offheap.used", responseBodyCache, ResponseBodyCache::usedBytes)
+                .tag("cache", CacheConfig.RESPONSE_BODY_CACHE)
+                .description("The size of the off-heap pages holding cached bodies")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.todoapp.config;
+
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+import com.example.todoapp.dto.ArchiveCandidate;
+import com.example.todoapp.dto.CategoryCount;
+import com.example.todoapp.dto.CategoryResponse;
+import com.example.todoapp.dto.CategorySummaryResponse;
+import com.example.todoapp.dto.LoginRequest;
+import com.example.todoapp.dto.RegisterRequest;
+import com.example.todoapp.dto.TodoFilter;
+import com.example.todoapp.dto.TodoPatchRequest;
+import com.example.todoapp.dto.TodoResponse;
+import com.example.todoapp.model.ArchivedTodo;
+import com.example.todoapp.model.Category;
+import com.example.todoapp.model.JwtResponse;
+import com.example.todoapp.model.Todo;
+import com.example.todoapp.model.User;
+import com.example.todoapp.search.TodoDocument;
+
+/**
+ * Runtime hints for the GraalVM native image built by the {@code native} Maven profile.
+ * Spring's AOT processing covers beans and most of JPA on its own; this registers what
+ * it cannot see: classes that JJWT, Jackson and Hibernate reach through reflection, and
+ * resources that are read by name at runtime.
+ * Has no effect on a normal JVM run.
+ *
+ * @author Todo App Team
+ * @version 1.0
+ * @since 2025-01-01
+ */
+@Configuration
+@ImportRuntimeHints(NativeHintsConfig.TodoAppRuntimeHints.class)
+public class NativeHintsConfig {
+
+    /**
+     * Registers the reflection and resource hints of the application.
+     */
+    static class TodoAppRuntimeHints implements RuntimeHintsRegistrar {
+
+        /**
+         * JPA entities, read and written by Hibernate and also serialized to JSON.
+         */
+        static final Class<?>[] ENTITIES = {
+            User.class, Category.class, Todo.class, ArchivedTodo.class
+        };
+
+        /**
+         * Request and response bodies bound by Jackson. Controllers returning
+         * {@code ResponseEntity<?>} hide these from AOT's own inference.
+         */
+        static final Class<?>[] JSON_TYPES = {
+            TodoResponse.class, CategoryResponse.class, CategorySummaryResponse.class, CategoryCount.class,
+            TodoPatchRequest.class, TodoFilter.class, LoginRequest.class, RegisterRequest.class, JwtResponse.class
+        };
+
+        /**
+         * Targets of JPQL constructor expressions, instantiated by Hibernate.
+         */
+        static final Class<?>[] QUERY_RESULTS = {
+            CategoryCount.class, ArchiveCandidate.class, TodoDocument.class
+        };
+
+        /**
+         * JJWT 0.11 keeps the API and implementation in separate jars and instantiates
+         * the implementation by class name; the Jackson (de)serializer is found the same way.
+         */
+        static final String[] JJWT_CLASSES = {
+            "io.jsonwebtoken.impl.DefaultClaims",
+            "io.jsonwebtoken.impl.DefaultHeader",
+            "io.jsonwebtoken.impl.DefaultJwsHeader",
+            "io.jsonwebtoken.impl.DefaultJwtBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtParser",
+            "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+            "io.jsonwebtoken.impl.compression.DeflateCompressionCodec",
+            "io.jsonwebtoken.impl.compression.GzipCompressionCodec",
+            "io.jsonwebtoken.impl.crypto.EllipticCurveProvider",
+            "io.jsonwebtoken.impl.crypto.MacProvider",
+            "io.jsonwebtoken.impl.crypto.RsaProvider",
+            "io.jsonwebtoken.jackson.io.JacksonSerializer",
+            "io.jsonwebtoken.jackson.io.JacksonDeserializer"
+        };
+
+        /**
+         * Files loaded by name: the Caffeine JCache configuration of the Hibernate
+         * second-level cache and the defaults it is merged with.
+         */
+        static final String[] RESOURCES = {
+            "hibernate-cache.conf", "reference.conf", "META-INF/services/io.jsonwebtoken.io.*"
+        };
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            for (Class<?> entity : ENTITIES) {
+                hints.reflection().registerType(entity, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                        MemberCategory.INVOKE_DECLARED_METHODS, MemberCategory.DECLARED_FIELDS);
+            }
+
+            BindingReflectionHintsRegistrar bindingRegistrar = new BindingReflectionHintsRegistrar();
+            bindingRegistrar.registerReflectionHints(hints.reflection(), JSON_TYPES);
+
+            for (Class<?> result : QUERY_RESULTS) {
+                hints.reflection().registerType(result, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+            }
+
+            for (String className : JJWT_CLASSES) {
+                hints.reflection().registerType(TypeReference.of(className),
+                        MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+            }
+
+            for (String pattern : RESOURCES) {
+                hints.resources().registerPattern(pattern);
+            }
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.todoapp.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Scheduling configuration for the Todo application.
+ * Enables {@code @Scheduled} background jobs such as the todo archiver,
+ * which run on Spring Boot's auto-configured task scheduler.
+ *
+ * @author Todo App Team
+ * @version 1.0
+ * @since 2025-01-01
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
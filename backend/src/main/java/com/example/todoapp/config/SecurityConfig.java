@@ -2,9 +2,11 @@ package com.example.todoapp.config;
 
 import java.util.Arrays;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authorization.AuthorizationDecision;
 import static org.springframework.security.config.Customizer.withDefaults;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -16,12 +18,16 @@ import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.security.web.authentication.Http403ForbiddenEntryPoint;
 import org.springframework.security.web.AuthenticationEntryPoint;
+import org.springframework.security.web.util.matcher.IpAddressMatcher;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import com.example.todoapp.metrics.TimedPasswordEncoder;
 import com.example.todoapp.service.CustomUserDetailsService;
 
+import io.micrometer.core.instrument.MeterRegistry;
+
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -31,6 +37,9 @@ import java.io.IOException;
 @EnableWebSecurity
 public class SecurityConfig {
 
+    private static final IpAddressMatcher LOOPBACK_V4 = new IpAddressMatcher("127.0.0.0/8");
+    private static final IpAddressMatcher LOOPBACK_V6 = new IpAddressMatcher("::1");
+
     private final CustomUserDetailsService customUserDetailsService;
     private final JwtRequestFilter jwtRequestFilter;
 
@@ -61,6 +70,10 @@ public class SecurityConfig {
             .cors(withDefaults())
             .authorizeHttpRequests(authorize -> authorize
                 .requestMatchers("/api/auth/**", "/h2-console/**").permitAll()
+                // Metrics and flight recordings reveal internals; only a scraper or operator on the host
+                // (or port-forwarded) may read them, without a token
+                .requestMatchers("/actuator/prometheus", "/actuator/jfr", "/actuator/jfr/**").access(
+                    (authentication, context) -> new AuthorizationDecision(isLoopback(context.getRequest())))
                 .anyRequest().authenticated()
             )
             .sessionManagement(session -> session
@@ -96,13 +109,16 @@ public class SecurityConfig {
 
     /**
      * Creates a password encoder bean for encoding and verifying passwords.
-     * Uses BCrypt hashing algorithm for secure password storage.
+     * Uses BCrypt hashing algorithm for secure password storage, timed when metrics are available.
      *
-     * @return the BCryptPasswordEncoder instance
+     * @param meterRegistry the application's meter registry, absent in sliced web tests
+     * @return the BCryptPasswordEncoder instance, wrapped in a {@link TimedPasswordEncoder}
      */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(ObjectProvider<MeterRegistry> meterRegistry) {
+        PasswordEncoder encoder = new BCryptPasswordEncoder();
+        MeterRegistry meters = meterRegistry.getIfAvailable();
+        return meters != null ? new TimedPasswordEncoder(encoder, meters) : encoder;
     }
 
     /**
@@ -131,9 +147,14 @@ public class SecurityConfig {
         CorsConfiguration config = new CorsConfiguration();
         config.setAllowCredentials(true);
         config.setAllowedOrigins(Arrays.asList("http://localhost:4200")); // Allow your frontend origin
-        config.setAllowedHeaders(Arrays.asList("Origin", "Content-Type", "Accept", "Authorization"));
-        config.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS"));
+        config.setAllowedHeaders(Arrays.asList("Origin", "Content-Type", "Accept", "Authorization", "If-Match"));
+        config.setExposedHeaders(Arrays.asList("ETag"));
+        config.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
         source.registerCorsConfiguration("/**", config);
         return source;
     }
-}
\ No newline at end of file
+
+    private static boolean isLoopback(HttpServletRequest request) {
+        return LOOPBACK_V4.matches(request) || LOOPBACK_V6.matches(request);
+    }
+}
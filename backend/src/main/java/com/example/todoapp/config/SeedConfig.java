@@ -0,0 +1,74 @@
+package com.example.todoapp.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.example.todoapp.datasource.ConsistentHashRing;
+import com.example.todoapp.seed.DatasetGenerator;
+
+/**
+ * Synthetic dataset generation, active with {@code app.seed.enabled=true}.
+ * The application then seeds the database at startup, before the search index is
+ * rebuilt, and exits unless {@code app.seed.exit=false}, e.g.
+ * {@code java -jar todo-app.jar --app.seed.enabled=true --app.seed.users=100000}.
+ *
+ * @author Todo App Team
+ * @version 1.0
+ * @since 2025-01-01
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.seed.enabled", havingValue = "true")
+@EnableConfigurationProperties(SeedProperties.class)
+public class SeedConfig {
+
+    /**
+     * Creates the dataset generator.
+     *
+     * @param dataSource the data source used by JPA
+     * @param transactionManager the JPA transaction manager
+     * @param shardRing the shard ring if sharding is enabled
+     * @param passwordEncoder the encoder for the password of the seeded users
+     * @param properties the generator settings
+     * @return the dataset generator
+     */
+    @Bean
+    public DatasetGenerator datasetGenerator(DataSource dataSource, PlatformTransactionManager transactionManager,
+            ObjectProvider<ConsistentHashRing> shardRing, PasswordEncoder passwordEncoder,
+            SeedProperties properties) {
+        return new DatasetGenerator(new JdbcTemplate(dataSource), transactionManager, shardRing.getIfAvailable(),
+                properties, passwordEncoder.encode(properties.getPassword()));
+    }
+
+    /**
+     * Runs the generator at startup, before the other runners.
+     *
+     * @param datasetGenerator the dataset generator
+     * @param properties the generator settings
+     * @param applicationContext the application context, closed afterwards if requested
+     * @return the runner
+     */
+    @Bean
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public ApplicationRunner datasetSeeder(DatasetGenerator datasetGenerator, SeedProperties properties,
+            ConfigurableApplicationContext applicationContext) {
+        return args -> {
+            datasetGenerator.generate();
+            if (properties.isExit()) {
+                System.exit(SpringApplication.exit(applicationContext));
+            }
+        };
+    }
+}
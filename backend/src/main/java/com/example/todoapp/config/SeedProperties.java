@@ -0,0 +1,188 @@
+package com.example.todoapp.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties of the synthetic dataset generator (app.seed.*).
+ *
+ * <pre>
+ * app.seed.enabled=true
+ * app.seed.users=100000
+ * app.seed.max-todos-per-user=200000
+ * app.seed.todo-skew=1.5
+ * </pre>
+ *
+ * The number of todos and categories of each user follows a Zipf distribution over
+ * 1 to the maximum: with a skew s, a user is 2^s times as likely to have one todo as two.
+ * A skew of 1.5 with a maximum of 200000 gives about 340 todos per user on average,
+ * most users a handful and a few users more than 100000.
+ *
+ * @author Todo App Team
+ * @version 1.0
+ * @since 2025-01-01
+ */
+@ConfigurationProperties("app.seed")
+public class SeedProperties {
+
+    private boolean enabled;
+
+    private int users = 10_000;
+
+    private int maxTodosPerUser = 200_000;
+
+    private double todoSkew = 1.5;
+
+    private int maxCategoriesPerUser = 20;
+
+    private double categorySkew = 2.0;
+
+    private double uncategorizedRatio = 0.3;
+
+    private double completedRatio = 0.5;
+
+    private Duration history = Duration.ofDays(180);
+
+    private String usernamePrefix = "seed";
+
+    private String password = "seed-password";
+
+    private long randomSeed = 42;
+
+    private int batchSize = 1000;
+
+    private int usersPerTransaction = 100;
+
+    private int threads = 4;
+
+    private boolean exit = true;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getUsers() {
+        return users;
+    }
+
+    public void setUsers(int users) {
+        this.users = users;
+    }
+
+    public int getMaxTodosPerUser() {
+        return maxTodosPerUser;
+    }
+
+    public void setMaxTodosPerUser(int maxTodosPerUser) {
+        this.maxTodosPerUser = maxTodosPerUser;
+    }
+
+    public double getTodoSkew() {
+        return todoSkew;
+    }
+
+    public void setTodoSkew(double todoSkew) {
+        this.todoSkew = todoSkew;
+    }
+
+    public int getMaxCategoriesPerUser() {
+        return maxCategoriesPerUser;
+    }
+
+    public void setMaxCategoriesPerUser(int maxCategoriesPerUser) {
+        this.maxCategoriesPerUser = maxCategoriesPerUser;
+    }
+
+    public double getCategorySkew() {
+        return categorySkew;
+    }
+
+    public void setCategorySkew(double categorySkew) {
+        this.categorySkew = categorySkew;
+    }
+
+    public double getUncategorizedRatio() {
+        return uncategorizedRatio;
+    }
+
+    public void setUncategorizedRatio(double uncategorizedRatio) {
+        this.uncategorizedRatio = uncategorizedRatio;
+    }
+
+    public double getCompletedRatio() {
+        return completedRatio;
+    }
+
+    public void setCompletedRatio(double completedRatio) {
+        this.completedRatio = completedRatio;
+    }
+
+    public Duration getHistory() {
+        return history;
+    }
+
+    public void setHistory(Duration history) {
+        this.history = history;
+    }
+
+    public String getUsernamePrefix() {
+        return usernamePrefix;
+    }
+
+    public void setUsernamePrefix(String usernamePrefix) {
+        this.usernamePrefix = usernamePrefix;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    public void setPassword(String password) {
+        this.password = password;
+    }
+
+    public long getRandomSeed() {
+        return randomSeed;
+    }
+
+    public void setRandomSeed(long randomSeed) {
+        this.randomSeed = randomSeed;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public int getUsersPerTransaction() {
+        return usersPerTransaction;
+    }
+
+    public void setUsersPerTransaction(int usersPerTransaction) {
+        this.usersPerTransaction = usersPerTransaction;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    public boolean isExit() {
+        return exit;
+    }
+
+    public void setExit(boolean exit) {
+        this.exit = exit;
+    }
+}
@@ -0,0 +1,194 @@
+package com.example.todoapp.config;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.hibernate.jpa.boot.spi.JpaSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.example.todoapp.datasource.ConsistentHashRing;
+import com.example.todoapp.datasource.ReadWriteRoutingDataSource;
+import com.example.todoapp.datasource.ShardMigrator;
+import com.example.todoapp.datasource.ShardRoutingDataSource;
+import com.example.todoapp.datasource.ShardSchemaIntegrator;
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * User sharding configuration, active with {@code app.sharding.enabled=true}.
+ * Each configured shard gets its own connection pool (and optionally a read replica
+ * routed as in {@link DataSourceRoutingConfig}); users are assigned to shards by a
+ * consistent hash of their username, which is known on every request before any query runs.
+ * The first shard is the default for work that is not tied to a user.
+ * Every shard generates IDs from its own residue class modulo {@code app.sharding.id-stride}
+ * (auto_increment_increment/auto_increment_offset of each MySQL connection), set by the
+ * shard's {@code id-offset}, and {@link ShardMigrator} raises the ID counters of every shard
+ * above the highest ID of all shards at startup, so IDs of rows created before a shard was
+ * added are not generated again. Rows therefore keep their IDs when they are moved between
+ * shards, and ID-keyed caches and the search index never mix users.
+ *
+ * @author Todo App Team
+ * @version 1.0
+ * @since 2025-01-01
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.sharding.enabled", havingValue = "true")
+@EnableConfigurationProperties(ShardingProperties.class)
+public class ShardingConfig {
+
+    /**
+     * Creates the ring assigning users to shards.
+     *
+     * @param properties the sharding properties
+     * @return the consistent hash ring
+     */
+    @Bean
+    public ConsistentHashRing shardRing(ShardingProperties properties) {
+        return new ConsistentHashRing(shardNames(properties), properties.getVirtualNodes());
+    }
+
+    /**
+     * Creates the router over the connection pools of all shards.
+     *
+     * @param properties the sharding properties
+     * @param dataSourceProperties the spring.datasource.* properties, used for defaults
+     * @param ring the ring assigning users to shards
+     * @param lagWindow how long a user's reads stay on a shard's primary after the user wrote
+     * @return the shard routing data source
+     */
+    @Bean
+    public ShardRoutingDataSource shardRoutingDataSource(ShardingProperties properties,
+            DataSourceProperties dataSourceProperties, ConsistentHashRing ring,
+            @Value("${app.datasource.replica.lag-window:5s}") Duration lagWindow) {
+        checkIdOffsets(properties);
+        Map<String, DataSource> shards = new LinkedHashMap<>();
+        for (ShardingProperties.Shard shard : properties.getShards()) {
+            HikariDataSource primary = createPool(dataSourceProperties, shard, shard.getName(), shard.getUrl());
+            interleaveIds(primary, properties.getIdStride(), shard.getIdOffset());
+            if (shard.getReplicaUrl() != null) {
+                HikariDataSource replica = createPool(dataSourceProperties, shard,
+                        shard.getName() + "-replica", shard.getReplicaUrl());
+                replica.setReadOnly(true);
+                shards.put(shard.getName(), new ReadWriteRoutingDataSource(primary, replica, lagWindow, 100_000));
+            } else {
+                shards.put(shard.getName(), primary);
+            }
+        }
+        return new ShardRoutingDataSource(shards, ring, ring.getShards().get(0));
+    }
+
+    /**
+     * Creates the data source used by JPA, which picks the shard per transaction.
+     *
+     * @param shardRoutingDataSource the shard router
+     * @return the lazily connecting data source
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ShardRoutingDataSource shardRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(shardRoutingDataSource);
+    }
+
+    /**
+     * Registers the integrator that creates or updates the schema on every shard.
+     *
+     * @param ring the ring with the shard list
+     * @return the Hibernate properties customizer
+     */
+    @Bean
+    public HibernatePropertiesCustomizer shardSchemaCustomizer(ConsistentHashRing ring) {
+        ShardSchemaIntegrator integrator = new ShardSchemaIntegrator(ring.getShards(), ring.getShards().get(0));
+        return hibernateProperties -> hibernateProperties.put(JpaSettings.INTEGRATOR_PROVIDER,
+                (IntegratorProvider) () -> List.of(integrator));
+    }
+
+    /**
+     * Creates the tool that moves users between shards.
+     *
+     * @param dataSource the shard-routing data source
+     * @param transactionManager the JPA transaction manager
+     * @param ring the ring with the shard list
+     * @param properties the sharding properties
+     * @return the shard migrator
+     */
+    @Bean
+    public ShardMigrator shardMigrator(DataSource dataSource, PlatformTransactionManager transactionManager,
+            ConsistentHashRing ring, ShardingProperties properties) {
+        return new ShardMigrator(new JdbcTemplate(dataSource), transactionManager, ring, properties.isRebalance());
+    }
+
+    private static List<String> shardNames(ShardingProperties properties) {
+        if (properties.getShards().isEmpty()) {
+            throw new IllegalStateException("app.sharding.shards must list at least one shard");
+        }
+        for (int i = 0; i < properties.getShards().size(); i++) {
+            ShardingProperties.Shard shard = properties.getShards().get(i);
+            if (shard.getName() == null) {
+                shard.setName("shard" + i);
+            }
+        }
+        return properties.getShards().stream().map(ShardingProperties.Shard::getName).toList();
+    }
+
+    /**
+     * Checks that every shard has its own ID offset within the stride.
+     *
+     * @param properties the sharding properties
+     * @throws IllegalStateException if an offset is missing, out of range or used by two shards
+     */
+    static void checkIdOffsets(ShardingProperties properties) {
+        Map<Integer, String> owners = new HashMap<>();
+        for (ShardingProperties.Shard shard : properties.getShards()) {
+            Integer offset = shard.getIdOffset();
+            if (offset == null || offset < 1 || offset > properties.getIdStride()) {
+                throw new IllegalStateException("Shard " + shard.getName() + " needs an id-offset between 1 and "
+                        + properties.getIdStride() + " (app.sharding.id-stride)");
+            }
+            String owner = owners.putIfAbsent(offset, shard.getName());
+            if (owner != null) {
+                throw new IllegalStateException("Shards " + owner + " and " + shard.getName()
+                        + " both have the id-offset " + offset);
+            }
+        }
+    }
+
+    /**
+     * Makes every connection of a shard's pool generate IDs offset, offset + stride, ...
+     * Only MySQL supports this per connection; other databases, such as H2 in development,
+     * keep sequential IDs, which {@link ShardMigrator} detects when they collide.
+     */
+    private static void interleaveIds(HikariDataSource pool, int stride, int offset) {
+        if (pool.getJdbcUrl().startsWith("jdbc:mysql:") || pool.getJdbcUrl().startsWith("jdbc:mariadb:")) {
+            pool.setConnectionInitSql("SET SESSION auto_increment_increment = " + stride
+                    + ", auto_increment_offset = " + offset);
+        }
+    }
+
+    private static HikariDataSource createPool(DataSourceProperties defaults, ShardingProperties.Shard shard,
+            String poolName, String url) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName(poolName);
+        dataSource.setDriverClassName(defaults.determineDriverClassName());
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(shard.getUsername() != null ? shard.getUsername() : defaults.determineUsername());
+        dataSource.setPassword(shard.getPassword() != null ? shard.getPassword() : defaults.determinePassword());
+        dataSource.setMaximumPoolSize(shard.getMaximumPoolSize());
+        dataSource.setAllowPoolSuspension(true);
+        return dataSource;
+    }
+}
@@ -0,0 +1,159 @@
+package com.example.todoapp.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties of user sharding (app.sharding.*).
+ *
+ * <pre>
+ * app.sharding.enabled=true
+ * app.sharding.shards[0].name=shard0
+ * app.sharding.shards[0].url=jdbc:mysql://db0:3306/todo_db
+ * app.sharding.shards[0].id-offset=1
+ * app.sharding.shards[1].name=shard1
+ * app.sharding.shards[1].url=jdbc:mysql://db1:3306/todo_db
+ * app.sharding.shards[1].id-offset=2
+ * app.sharding.shards[1].replica-url=jdbc:mysql://db1-replica:3306/todo_db
+ * </pre>
+ *
+ * Shard names determine ring positions: renaming a shard moves its users,
+ * while appending a shard only moves the users it takes over. A shard with the id-offset n
+ * generates the IDs n, n+id-stride, n+2*id-stride, ..., so every shard needs its own
+ * id-offset between 1 and id-stride, which stays with the shard when the list is reordered.
+ *
+ * @author Todo App Team
+ * @version 1.0
+ * @since 2025-01-01
+ */
+@ConfigurationProperties("app.sharding")
+public class ShardingProperties {
+
+    private boolean enabled;
+
+    private int virtualNodes = 160;
+
+    private boolean rebalance;
+
+    private int idStride = 64;
+
+    private List<Shard> shards = new ArrayList<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getVirtualNodes() {
+        return virtualNodes;
+    }
+
+    public void setVirtualNodes(int virtualNodes) {
+        this.virtualNodes = virtualNodes;
+    }
+
+    public boolean isRebalance() {
+        return rebalance;
+    }
+
+    public void setRebalance(boolean rebalance) {
+        this.rebalance = rebalance;
+    }
+
+    public int getIdStride() {
+        return idStride;
+    }
+
+    public void setIdStride(int idStride) {
+        this.idStride = idStride;
+    }
+
+    public List<Shard> getShards() {
+        return shards;
+    }
+
+    public void setShards(List<Shard> shards) {
+        this.shards = shards;
+    }
+
+    /**
+     * Connection settings of one shard. Credentials default to spring.datasource.*.
+     */
+    public static class Shard {
+
+        private String name;
+
+        private String url;
+
+        private String username;
+
+        private String password;
+
+        private String replicaUrl;
+
+        private Integer idOffset;
+
+        private int maximumPoolSize = 10;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public String getUrl() {
+            return url;
+        }
+
+        public void setUrl(String url) {
+            this.url = url;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public void setUsername(String username) {
+            this.username = username;
+        }
+
+        public String getPassword() {
+            return password;
+        }
+
+        public void setPassword(String password) {
+            this.password = password;
+        }
+
+        public String getReplicaUrl() {
+            return replicaUrl;
+        }
+
+        public void setReplicaUrl(String replicaUrl) {
+            this.replicaUrl = replicaUrl;
+        }
+
+        public Integer getIdOffset() {
+            return idOffset;
+        }
+
+        public void setIdOffset(Integer idOffset) {
+            this.idOffset = idOffset;
+        }
+
+        public int getMaximumPoolSize() {
+            return maximumPoolSize;
+        }
+
+        public void setMaximumPoolSize(int maximumPoolSize) {
+            this.maximumPoolSize = maximumPoolSize;
+        }
+    }
+}
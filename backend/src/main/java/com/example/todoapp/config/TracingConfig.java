@@ -0,0 +1,70 @@
+package com.example.todoapp.config;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.support.ContextPropagatingTaskDecorator;
+
+import com.example.todoapp.tracing.JsonFileSpanExporter;
+import com.example.todoapp.tracing.ServiceObservationInterceptor;
+
+import io.micrometer.observation.ObservationRegistry;
+
+/**
+ * Distributed tracing through Micrometer Tracing and OpenTelemetry.
+ * Spring Boot creates a span per HTTP request and, through datasource-micrometer, per
+ * JDBC connection and statement; {@link JwtRequestFilter} adds a span for token
+ * authentication and this configuration one per todo and category service call.
+ * Tasks run by Spring's executors and schedulers carry the trace context of the
+ * code that submitted them. Spans are sampled with {@code management.tracing.sampling.probability}
+ * and, if {@code todo.tracing.file} is set, written to that file as JSON lines.
+ *
+ * @author Todo App Team
+ * @version 1.0
+ * @since 2025-01-01
+ */
+@Configuration
+public class TracingConfig {
+
+    /**
+     * Adds the service spans to the todo and category services.
+     *
+     * @param observationRegistry the observation registry
+     * @return the advising post-processor
+     */
+    @Bean
+    public static ServiceAdvisingPostProcessor serviceObservationPostProcessor(
+            ObjectProvider<ObservationRegistry> observationRegistry) {
+        return new ServiceAdvisingPostProcessor(new ServiceObservationInterceptor(observationRegistry));
+    }
+
+    /**
+     * Creates the task decorator that Spring Boot applies to its task executor and
+     * scheduler, so that the trace context (and other thread-local context) follows tasks
+     * to the threads running them.
+     *
+     * @return the context propagating task decorator
+     */
+    @Bean
+    public ContextPropagatingTaskDecorator contextPropagatingTaskDecorator() {
+        return new ContextPropagatingTaskDecorator();
+    }
+
+    /**
+     * Creates the exporter that writes spans to a local file.
+     *
+     * @param file the file to append the spans to
+     * @return the span exporter, picked up by Spring Boot's OpenTelemetry configuration
+     * @throws IOException if the file cannot be opened
+     */
+    @Bean
+    @ConditionalOnProperty("todo.tracing.file")
+    public JsonFileSpanExporter jsonFileSpanExporter(@Value("${todo.tracing.file}") Path file) throws IOException {
+        return new JsonFileSpanExporter(file);
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.todoapp.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+/**
+ * Web MVC configuration for the Todo application.
+ * Registers the binary Smile encoding of JSON next to plain JSON, so clients that send
+ * {@code Accept: application/x-jackson-smile} receive a compact binary response.
+ *
+ * @author Todo App Team
+ * @version 1.0
+ * @since 2025-01-01
+ */
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    /**
+     * Creates the Smile message converter.
+     * Uses the Jackson builder configured by Spring Boot, so Smile responses follow the
+     * same serialization settings (dates, modules, features) as JSON responses.
+     *
+     * @param builder the application's Jackson object mapper builder
+     * @return the Smile HttpMessageConverter
+     */
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+}
@@ -3,20 +3,23 @@ package com.example.todoapp.controller;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
-import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.example.todoapp.dto.CategoryResponse;
+import com.example.todoapp.dto.CategorySummaryResponse;
 import com.example.todoapp.model.Category;
 import com.example.todoapp.service.CategoryService;
+import com.example.todoapp.util.ETagUtil;
 
 /**
  * REST controller for managing Category operations.
@@ -42,34 +45,58 @@ public class CategoryController {
      * @return List of Category objects belonging to the authenticated user
      */
     @GetMapping
-    public List<Category> getCategories() {
+    public List<CategoryResponse> getCategories() {
         return categoryService.getCategoriesForUser();
     }
 
+    /**
+     * Retrieves the todo counts per category for the currently authenticated user.
+     * Returns total and completed counts for each category plus overall totals,
+     * so clients do not need to download every todo to render them.
+     *
+     * @return the category summary of the authenticated user
+     */
+    @GetMapping("/summary")
+    public CategorySummaryResponse getCategorySummary() {
+        return categoryService.getCategorySummary();
+    }
+
     /**
      * Creates a new category for the authenticated user.
      * The category will be automatically associated with the currently logged-in user.
      *
      * @param category the Category object to be created, containing name, color, and description
-     * @return the created Category object with generated ID and timestamps
+     * @return the created Category object with generated ID and timestamps, and its version as ETag
      */
     @PostMapping
-    public Category createCategory(@RequestBody Category category) {
-        return categoryService.createCategory(category);
+    public ResponseEntity<CategoryResponse> createCategory(@RequestBody Category category) {
+        CategoryResponse created = categoryService.createCategory(category);
+        return ETagUtil.okWithETag(created, created.getVersion());
     }
 
     /**
      * Updates an existing category by its ID.
      * The category must belong to the authenticated user to be updated.
+     * With an If-Match header (or a version in the body) the update is only applied
+     * if the category has not been changed since, otherwise 412 Precondition Failed is returned.
      *
      * @param id the unique identifier of the category to update
      * @param category the Category object containing updated information
-     * @return the updated Category object with modified fields
-     * @throws RuntimeException if the category is not found or doesn't belong to the user
+     * @param ifMatch optional ETag of the version the client has seen
+     * @return the updated Category object with modified fields, and its new version as ETag
+     * @throws com.example.todoapp.exception.ResourceNotFoundException if the category is not found
+     * @throws com.example.todoapp.exception.ForbiddenException if the category belongs to another user
+     * @throws com.example.todoapp.exception.StaleVersionException if the category has been modified
      */
     @PutMapping("/{id}")
-    public Category updateCategory(@PathVariable Long id, @RequestBody Category category) {
-        return categoryService.updateCategory(id, category);
+    public ResponseEntity<CategoryResponse> updateCategory(@PathVariable Long id, @RequestBody Category category,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Long expectedVersion = ETagUtil.parseIfMatch(ifMatch);
+        if (expectedVersion != null) {
+            category.setVersion(expectedVersion);
+        }
+        CategoryResponse updated = categoryService.updateCategory(id, category);
+        return ETagUtil.okWithETag(updated, updated.getVersion());
     }
 
     /**
@@ -78,7 +105,8 @@ public class CategoryController {
      *
      * @param id the unique identifier of the category to delete
      * @return ResponseEntity with OK status if deletion is successful
-     * @throws RuntimeException if the category is not found or doesn't belong to the user
+     * @throws com.example.todoapp.exception.ResourceNotFoundException if the category is not found
+     * @throws com.example.todoapp.exception.ForbiddenException if the category belongs to another user
      */
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deleteCategory(@PathVariable Long id) {
@@ -91,29 +119,13 @@ public class CategoryController {
      * The category must belong to the authenticated user.
      *
      * @param id the unique identifier of the category to retrieve
-     * @return the Category object
-     * @throws RuntimeException if the category is not found or doesn't belong to the user
+     * @return the Category object, with its version as ETag
+     * @throws com.example.todoapp.exception.ResourceNotFoundException if the category is not found
+     * @throws com.example.todoapp.exception.ForbiddenException if the category belongs to another user
      */
     @GetMapping("/{id}")
-    public Category getCategoryById(@PathVariable Long id) {
-        return categoryService.getCategoryById(id);
-    }
-
-    /**
-     * Exception handler for RuntimeExceptions thrown by service methods.
-     * Maps specific error messages to appropriate HTTP status codes.
-     */
-    @ExceptionHandler(RuntimeException.class)
-    public ResponseEntity<String> handleRuntimeException(RuntimeException ex) {
-        String message = ex.getMessage();
-        if (message.contains("not found")) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(message);
-        } else if (message.contains("not authorized")) {
-            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(message);
-        } else if (message.contains("already exists")) {
-            return ResponseEntity.status(HttpStatus.CONFLICT).body(message);
-        } else {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(message);
-        }
+    public ResponseEntity<CategoryResponse> getCategoryById(@PathVariable Long id) {
+        CategoryResponse category = categoryService.getCategoryById(id);
+        return ETagUtil.okWithETag(category, category.getVersion());
     }
 }
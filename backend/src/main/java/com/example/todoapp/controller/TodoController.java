@@ -2,22 +2,30 @@ package com.example.todoapp.controller;
 
 import java.util.List;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.HttpStatus;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
-import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.example.todoapp.dto.TodoFilter;
+import com.example.todoapp.dto.TodoPatchRequest;
+import com.example.todoapp.dto.TodoResponse;
 import com.example.todoapp.model.Todo;
 import com.example.todoapp.service.TodoService;
+import com.example.todoapp.util.ETagUtil;
 
 /**
  * REST controller for managing Todo operations.
@@ -32,6 +40,8 @@ import com.example.todoapp.service.TodoService;
 @RequestMapping("/api/todos")
 public class TodoController {
 
+    private static final Logger log = LoggerFactory.getLogger(TodoController.class);
+
     @Autowired
     private TodoService todoService;
 
@@ -39,44 +49,117 @@ public class TodoController {
      * Retrieves all todos for the currently authenticated user.
      * This endpoint fetches todos specific to the user making the request,
      * ensuring data isolation between different users.
-     * Optionally filters by category if categoryId parameter is provided.
+     * Optionally filters by category, completion status and creation/modification
+     * time, and sorts by the given properties (e.g. sort=createdAt,desc); filtering
+     * and sorting are done by the database.
      *
-     * @param categoryId optional category ID to filter todos by
+     * @param filter optional categoryId, completed, createdAfter, createdBefore and modifiedSince parameters
+     * @param sort optional sort order
      * @return List of Todo objects belonging to the authenticated user
      */
     @GetMapping
-    public List<Todo> getTodos(@RequestParam(required = false) Long categoryId) {
-        if (categoryId != null) {
-            return todoService.getTodosByCategory(categoryId);
+    public List<TodoResponse> getTodos(TodoFilter filter, Sort sort) {
+        if (filter.hasConditions() || sort.isSorted()) {
+            return todoService.findTodos(filter, sort);
+        }
+        if (filter.getCategoryId() != null) {
+            return todoService.getTodosByCategory(filter.getCategoryId());
         }
         return todoService.getTodosForUser();
     }
 
+    /**
+     * Searches the titles and descriptions of the authenticated user's todos.
+     * Results are served from the full-text index and ordered by relevance.
+     *
+     * @param q the search query (terms, "phrases", prefix* and +/- operators)
+     * @param limit the maximum number of results, 50 by default
+     * @return List of matching Todo objects, best match first
+     */
+    @GetMapping("/search")
+    public List<TodoResponse> searchTodos(@RequestParam String q, @RequestParam(defaultValue = "50") int limit) {
+        return todoService.searchTodos(q, limit);
+    }
+
+    /**
+     * Retrieves the archived todos of the authenticated user.
+     * Completed todos that have not been changed for a while are moved to the archive
+     * in the background and are only returned by this endpoint.
+     *
+     * @return List of archived Todo objects, most recently modified first
+     */
+    @GetMapping("/archived")
+    public List<TodoResponse> getArchivedTodos() {
+        return todoService.getArchivedTodos();
+    }
+
     /**
      * Creates a new todo item for the authenticated user.
      * The todo will be automatically associated with the currently logged-in user.
      *
      * @param todo the Todo object to be created, containing title, description, and other details
-     * @return the created Todo object with generated ID and timestamps
+     * @return the created Todo object with generated ID and timestamps, and its version as ETag
      */
     @PostMapping
-    public Todo createTodo(@RequestBody Todo todo) {
-        System.out.println("Received request to create todo: " + todo.getTitle()); // Add this line
-        return todoService.createTodo(todo);
+    public ResponseEntity<TodoResponse> createTodo(@RequestBody Todo todo) {
+        log.debug("Received request to create todo");
+        TodoResponse created = todoService.createTodo(todo);
+        return ETagUtil.okWithETag(created, created.getVersion());
     }
 
     /**
      * Updates an existing todo item by its ID.
      * The todo must belong to the authenticated user to be updated.
+     * With an If-Match header (or a version in the body) the update is only applied
+     * if the todo has not been changed since, otherwise 412 Precondition Failed is returned.
      *
-     * @param id   the unique identifier of the todo to update
-     * @param todo the Todo object containing updated information
-     * @return the updated Todo object with modified fields
-     * @throws RuntimeException if the todo is not found or doesn't belong to the user
+     * @param id      the unique identifier of the todo to update
+     * @param todo    the Todo object containing updated information
+     * @param ifMatch optional ETag of the version the client has seen
+     * @return the updated Todo object with modified fields, and its new version as ETag
+     * @throws com.example.todoapp.exception.ResourceNotFoundException if the todo is not found
+     * @throws com.example.todoapp.exception.ForbiddenException if the todo belongs to another user
+     * @throws com.example.todoapp.exception.StaleVersionException if the todo has been modified
      */
     @PutMapping("/{id}")
-    public Todo updateTodo(@PathVariable Long id, @RequestBody Todo todo) {
-        return todoService.updateTodo(id, todo);
+    public ResponseEntity<TodoResponse> updateTodo(@PathVariable Long id, @RequestBody Todo todo,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Long expectedVersion = ETagUtil.parseIfMatch(ifMatch);
+        if (expectedVersion != null) {
+            todo.setVersion(expectedVersion);
+        }
+        TodoResponse updated = todoService.updateTodo(id, todo);
+        return ETagUtil.okWithETag(updated, updated.getVersion());
+    }
+
+    /**
+     * Partially updates a todo item by its ID.
+     * Only the fields present in the request body are changed, e.g. {"completed": true};
+     * an explicit "description": null clears the description and an explicit "categoryId": null
+     * removes the todo from its category; a null or blank title is rejected.
+     * With an If-Match header (or a version in the body) the update is conditional
+     * and the new version is returned as ETag.
+     *
+     * @param id      the unique identifier of the todo to update
+     * @param patch   the fields to change
+     * @param ifMatch optional ETag of the version the client has seen
+     * @return ResponseEntity with NO_CONTENT status if the update is successful
+     * @throws com.example.todoapp.exception.ResourceNotFoundException if the todo (or the given category) is not found for the user
+     * @throws com.example.todoapp.exception.StaleVersionException if the todo has been modified
+     */
+    @PatchMapping("/{id}")
+    public ResponseEntity<?> patchTodo(@PathVariable Long id, @RequestBody TodoPatchRequest patch,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Long expectedVersion = ETagUtil.parseIfMatch(ifMatch);
+        if (expectedVersion != null) {
+            patch.setVersion(expectedVersion);
+        }
+        Long newVersion = todoService.patchTodo(id, patch);
+        ResponseEntity.HeadersBuilder<?> response = ResponseEntity.noContent();
+        if (newVersion != null) {
+            response.eTag(newVersion.toString());
+        }
+        return response.build();
     }
 
     /**
@@ -85,27 +168,12 @@ public class TodoController {
      *
      * @param id the unique identifier of the todo to delete
      * @return ResponseEntity with OK status if deletion is successful
-     * @throws RuntimeException if the todo is not found or doesn't belong to the user
+     * @throws com.example.todoapp.exception.ResourceNotFoundException if the todo is not found
+     * @throws com.example.todoapp.exception.ForbiddenException if the todo belongs to another user
      */
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deleteTodo(@PathVariable Long id) {
         todoService.deleteTodo(id);
         return ResponseEntity.ok().build();
     }
-
-    /**
-     * Exception handler for RuntimeExceptions thrown by service methods.
-     * Maps specific error messages to appropriate HTTP status codes.
-     */
-    @ExceptionHandler(RuntimeException.class)
-    public ResponseEntity<String> handleRuntimeException(RuntimeException ex) {
-        String message = ex.getMessage();
-        if (message.contains("not found")) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(message);
-        } else if (message.contains("not authorized")) {
-            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(message);
-        } else {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(message);
-        }
-    }
-}
\ No newline at end of file
+}
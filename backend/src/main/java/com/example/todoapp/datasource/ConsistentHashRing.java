@@ -0,0 +1,82 @@
+package com.example.todoapp.datasource;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Consistent hash ring that assigns keys to named shards.
+ * Every shard is placed on the ring at many pseudo-random points (virtual nodes), so keys
+ * spread evenly and adding or removing a shard only moves the keys of the affected ring
+ * segments, roughly 1/N of all keys. Positions depend only on shard names, which keeps
+ * assignments stable across restarts and configuration reorderings.
+ *
+ * @author Todo App Team
+ * @version 1.0
+ * @since 2025-01-01
+ */
+public class ConsistentHashRing {
+
+    private final NavigableMap<Long, String> ring = new TreeMap<>();
+    private final List<String> shards;
+
+    /**
+     * Constructor for ConsistentHashRing.
+     *
+     * @param shards the names of the shards
+     * @param virtualNodes the number of ring positions per shard
+     */
+    public ConsistentHashRing(Collection<String> shards, int virtualNodes) {
+        if (shards.isEmpty()) {
+            throw new IllegalArgumentException("At least one shard is required");
+        }
+        if (virtualNodes < 1) {
+            throw new IllegalArgumentException("Virtual nodes must be positive");
+        }
+        this.shards = List.copyOf(shards);
+        for (String shard : this.shards) {
+            for (int i = 0; i < virtualNodes; i++) {
+                ring.put(hash(shard + "#" + i), shard);
+            }
+        }
+    }
+
+    /**
+     * Returns the shard responsible for a key.
+     *
+     * @param key the routing key, e.g. a username
+     * @return the name of the shard
+     */
+    public String shardFor(String key) {
+        Map.Entry<Long, String> entry = ring.ceilingEntry(hash(key));
+        return (entry != null ? entry : ring.firstEntry()).getValue();
+    }
+
+    /**
+     * Returns the names of all shards on the ring.
+     *
+     * @return the shard names in configuration order
+     */
+    public List<String> getShards() {
+        return shards;
+    }
+
+    private static long hash(String value) {
+        byte[] digest;
+        try {
+            digest = MessageDigest.getInstance("MD5").digest(value.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("MD5 is not available", e);
+        }
+        long hash = 0;
+        for (int i = 0; i < 8; i++) {
+            hash = (hash << 8) | (digest[i] & 0xff);
+        }
+        return hash;
+    }
+}
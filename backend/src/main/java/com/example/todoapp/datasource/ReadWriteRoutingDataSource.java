@@ -0,0 +1,125 @@
+package com.example.todoapp.datasource;
+
+import java.time.Duration;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Routes connections of read-only transactions to a replica and everything else to the primary.
+ * Must be wrapped in a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}
+ * so that the target is chosen on the first statement, after the transaction's read-only flag is set.
+ *
+ * To give users read-your-writes consistency despite replication lag, a user whose read-write
+ * transaction committed less than the configured lag window ago keeps reading from the primary.
+ * Users are identified by the {@link RoutingContext} user or else the name of the authenticated
+ * principal; reads of unknown users always go to the replica. Reads whose results are cached
+ * run in {@link RoutingContext#callOnPrimary(java.util.function.Supplier)} and always go to the primary.
+ *
+ * @author Todo App Team
+ * @version 1.0
+ * @since 2025-01-01
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    /**
+     * Lookup keys of the two target data sources.
+     */
+    public enum Route {
+        PRIMARY,
+        REPLICA
+    }
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final Cache<String, Boolean> recentWriters;
+
+    /**
+     * Constructor for ReadWriteRoutingDataSource.
+     *
+     * @param primary the data source that receives all writes
+     * @param replica the data source that serves read-only transactions
+     * @param lagWindow how long after a write the writing user keeps reading from the primary
+     * @param maxTrackedUsers upper bound for the number of recent writers remembered at once
+     */
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, Duration lagWindow, long maxTrackedUsers) {
+        this.primary = primary;
+        this.replica = replica;
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(lagWindow)
+                .maximumSize(maxTrackedUsers)
+                .build();
+        afterPropertiesSet();
+    }
+
+    /**
+     * Chooses the replica for read-only transactions of users without recent writes.
+     * For read-write transactions, registers a callback that remembers the user as a
+     * recent writer once the transaction commits.
+     *
+     * @return the route of the connection being opened
+     */
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String user = currentUser();
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (RoutingContext.isPrimaryRequired() || user != null && recentWriters.getIfPresent(user) != null) {
+                return Route.PRIMARY;
+            }
+            return Route.REPLICA;
+        }
+        if (user != null && TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    recordWrite(user);
+                }
+            });
+        }
+        return Route.PRIMARY;
+    }
+
+    /**
+     * Remembers that a user has just written to the primary.
+     *
+     * @param user the name of the user
+     */
+    public void recordWrite(String user) {
+        recentWriters.put(user, Boolean.TRUE);
+    }
+
+    /**
+     * Closes both target data sources if they are connection pools.
+     * Only needed when the targets are not managed as beans themselves, as with sharding.
+     *
+     * @throws Exception if a pool cannot be closed
+     */
+    @Override
+    public void close() throws Exception {
+        for (DataSource dataSource : new DataSource[] { primary, replica }) {
+            if (dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    private static String currentUser() {
+        String user = RoutingContext.currentUser();
+        if (user != null) {
+            return user;
+        }
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.isAuthenticated() ? authentication.getName() : null;
+    }
+}
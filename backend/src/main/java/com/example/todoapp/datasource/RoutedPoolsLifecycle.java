@@ -0,0 +1,123 @@
+package com.example.todoapp.datasource;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.jdbc.HikariCheckpointRestoreLifecycle;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.Lifecycle;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Suspends and resumes the connection pools behind the read/write and shard routers
+ * when the context is stopped and started again, as Spring does around a CRaC checkpoint.
+ * Spring Boot only does this for the single auto-configured pool; with routing, the pools
+ * are created by this application and would otherwise take open connections into the
+ * checkpoint image. When the context is being closed the pools are left alone, since
+ * Hibernate may still need a connection while it shuts down.
+ *
+ * @author Todo App Team
+ * @version 1.0
+ * @since 2025-01-01
+ */
+public class RoutedPoolsLifecycle implements Lifecycle {
+
+    private final List<HikariDataSource> pools;
+    private final ConfigurableApplicationContext applicationContext;
+    private final List<HikariCheckpointRestoreLifecycle> delegates = new ArrayList<>();
+    private final List<HikariCheckpointRestoreLifecycle> stopped = new ArrayList<>();
+    private volatile boolean running = true;
+
+    /**
+     * Constructor for RoutedPoolsLifecycle.
+     *
+     * @param dataSource the data source used by JPA, possibly a proxy around the routers
+     * @param applicationContext the application context, to tell a restart from a shutdown
+     */
+    public RoutedPoolsLifecycle(DataSource dataSource, ConfigurableApplicationContext applicationContext) {
+        this.pools = findRoutedPools(dataSource);
+        this.applicationContext = applicationContext;
+        for (HikariDataSource pool : pools) {
+            delegates.add(new HikariCheckpointRestoreLifecycle(pool, applicationContext));
+        }
+    }
+
+    /**
+     * Resumes the pools suspended by {@link #stop()}, which then open connections again on demand.
+     */
+    @Override
+    public synchronized void start() {
+        stopped.forEach(HikariCheckpointRestoreLifecycle::start);
+        stopped.clear();
+        running = true;
+    }
+
+    /**
+     * Suspends every running pool and closes its connections, waiting for active ones
+     * to be returned first. Pools that have not been used yet hold no connections and are skipped.
+     */
+    @Override
+    public synchronized void stop() {
+        running = false;
+        if (applicationContext.isClosed()) {
+            return;
+        }
+        for (HikariCheckpointRestoreLifecycle delegate : delegates) {
+            if (delegate.isRunning()) {
+                delegate.stop();
+                stopped.add(delegate);
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Returns the pools found behind the routers.
+     *
+     * @return the routed connection pools, empty if the data source is not routed
+     */
+    public List<HikariDataSource> getPools() {
+        return pools;
+    }
+
+    private static List<HikariDataSource> findRoutedPools(DataSource dataSource) {
+        List<HikariDataSource> pools = new ArrayList<>();
+        AbstractRoutingDataSource router = unwrapRouter(dataSource);
+        if (router != null) {
+            collectPools(router, pools);
+        }
+        return pools;
+    }
+
+    /**
+     * Finds the router through JDBC unwrapping rather than by following delegating data
+     * sources, so that the lookup also sees through the JDBC tracing proxy.
+     */
+    private static AbstractRoutingDataSource unwrapRouter(DataSource dataSource) {
+        try {
+            return dataSource.isWrapperFor(AbstractRoutingDataSource.class)
+                    ? dataSource.unwrap(AbstractRoutingDataSource.class) : null;
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+
+    private static void collectPools(AbstractRoutingDataSource router, List<HikariDataSource> pools) {
+        for (DataSource dataSource : router.getResolvedDataSources().values()) {
+            if (dataSource instanceof AbstractRoutingDataSource nested) {
+                collectPools(nested, pools);
+            } else if (dataSource instanceof HikariDataSource pool && !pools.contains(pool)) {
+                pools.add(pool);
+            }
+        }
+    }
+}
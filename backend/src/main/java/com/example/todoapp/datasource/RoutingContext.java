@@ -0,0 +1,129 @@
+package com.example.todoapp.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * Thread-bound routing hints for {@link ShardRoutingDataSource} and {@link ReadWriteRoutingDataSource}.
+ * Requests are normally routed by the authenticated user; code that runs before
+ * authentication (login, registration) names the user explicitly, maintenance
+ * jobs (schema setup, migration) address a shard directly, and reads whose results
+ * are cached beyond the replication lag go to the primary.
+ * Without routing data sources configured these hints are set but never read.
+ *
+ * @author Todo App Team
+ * @version 1.0
+ * @since 2025-01-01
+ */
+public final class RoutingContext {
+
+    private static final ThreadLocal<String> SHARD = new ThreadLocal<>();
+    private static final ThreadLocal<String> USER = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> PRIMARY = new ThreadLocal<>();
+
+    private RoutingContext() {
+    }
+
+    /**
+     * Runs an action against the shard that holds the given user's data.
+     *
+     * @param username the user whose shard to use
+     * @param action the action to run
+     * @param <T> the result type
+     * @return the result of the action
+     */
+    public static <T> T callAsUser(String username, Supplier<T> action) {
+        return callWith(USER, username, action);
+    }
+
+    /**
+     * Runs an action against a specific shard, regardless of the current user.
+     *
+     * @param shard the name of the shard
+     * @param action the action to run
+     * @param <T> the result type
+     * @return the result of the action
+     */
+    public static <T> T callOnShard(String shard, Supplier<T> action) {
+        return callWith(SHARD, shard, action);
+    }
+
+    /**
+     * Runs an action against a specific shard, regardless of the current user.
+     *
+     * @param shard the name of the shard
+     * @param action the action to run
+     */
+    public static void runOnShard(String shard, Runnable action) {
+        callOnShard(shard, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * Runs an action that reads from the primary even in a read-only transaction,
+     * for results that outlive the replication lag, such as cache entries.
+     * Only affects connections opened during the action.
+     *
+     * @param action the action to run
+     * @param <T> the result type
+     * @return the result of the action
+     */
+    public static <T> T callOnPrimary(Supplier<T> action) {
+        return callWith(PRIMARY, Boolean.TRUE, action);
+    }
+
+    /**
+     * Runs an action that reads from the primary even in a read-only transaction.
+     *
+     * @param action the action to run
+     * @see #callOnPrimary(Supplier)
+     */
+    public static void runOnPrimary(Runnable action) {
+        callOnPrimary(() -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * Returns the shard explicitly selected for the current thread.
+     *
+     * @return the shard name, or null if none is selected
+     */
+    public static String currentShard() {
+        return SHARD.get();
+    }
+
+    /**
+     * Returns the user explicitly named for the current thread.
+     *
+     * @return the username, or null if none is named
+     */
+    public static String currentUser() {
+        return USER.get();
+    }
+
+    /**
+     * Tells whether the current thread must read from the primary.
+     *
+     * @return true inside {@link #callOnPrimary(Supplier)}
+     */
+    public static boolean isPrimaryRequired() {
+        return PRIMARY.get() != null;
+    }
+
+    private static <V, T> T callWith(ThreadLocal<V> holder, V value, Supplier<T> action) {
+        V previous = holder.get();
+        holder.set(value);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                holder.remove();
+            } else {
+                holder.set(previous);
+            }
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package com.example.todoapp.datasource;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Moves users between shards after the shard list has changed.
+ * A user is copied with all rows (user, categories, todos, archived todos) in one transaction on the
+ * target shard, keeping their IDs, and then deleted from the source shard in a second
+ * transaction once the copied row counts have been checked. IDs must therefore be unique
+ * across shards, which {@link com.example.todoapp.config.ShardingConfig} ensures on MySQL;
+ * a move whose IDs are taken on the target shard fails and leaves the source untouched.
+ * Before the application takes requests, the ID counters of every shard are raised above the
+ * highest ID of all shards, as rows created before a shard was added may use any ID.
+ *
+ * Rebalancing runs at startup with {@code --app.sharding.rebalance=true}. It is meant for
+ * a maintenance window: writes of a user that is being moved would be lost.
+ *
+ * @author Todo App Team
+ * @version 1.0
+ * @since 2025-01-01
+ */
+public class ShardMigrator implements SmartInitializingSingleton, ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(ShardMigrator.class);
+
+    /**
+     * Tables holding a user's rows, in insert order, with the column that links them to the user.
+     */
+    private static final List<String[]> USER_TABLES = List.of(
+            new String[] { "users", "id" },
+            new String[] { "categories", "user_id" },
+            new String[] { "todo", "user_id" },
+            new String[] { "todo_archive", "user_id" });
+
+    /**
+     * Tables with generated IDs, each followed by the tables holding rows with IDs it generated.
+     */
+    private static final List<String[]> ID_TABLES = List.of(
+            new String[] { "users" },
+            new String[] { "categories" },
+            new String[] { "todo", "todo_archive" });
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ConsistentHashRing ring;
+    private final boolean rebalanceOnStartup;
+
+    /**
+     * Constructor for ShardMigrator.
+     *
+     * @param jdbcTemplate a template on the shard-routing data source
+     * @param transactionManager the transaction manager of that data source
+     * @param ring the ring with the current shard list
+     * @param rebalanceOnStartup whether to rebalance when the application starts
+     */
+    public ShardMigrator(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+            ConsistentHashRing ring, boolean rebalanceOnStartup) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.ring = ring;
+        this.rebalanceOnStartup = rebalanceOnStartup;
+    }
+
+    /**
+     * Raises the ID counters once all beans, including the schema on every shard, are ready.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        raiseIdCounters();
+    }
+
+    /**
+     * Rebalances the shards at startup if requested.
+     *
+     * @param args the application arguments
+     */
+    @Override
+    public void run(ApplicationArguments args) {
+        if (rebalanceOnStartup) {
+            rebalance();
+        }
+    }
+
+    /**
+     * Moves every user that is not on the shard the ring assigns them to.
+     *
+     * @return the number of moved users
+     */
+    public int rebalance() {
+        long start = System.currentTimeMillis();
+        int moved = 0;
+        for (String shard : ring.getShards()) {
+            List<String> usernames = RoutingContext.callOnShard(shard,
+                    () -> jdbcTemplate.queryForList("SELECT username FROM users", String.class));
+            for (String username : usernames) {
+                String target = ring.shardFor(username);
+                if (!target.equals(shard)) {
+                    moveUser(username, shard, target);
+                    moved++;
+                }
+            }
+        }
+        log.info("Moved {} users between shards in {} ms", moved, System.currentTimeMillis() - start);
+        return moved;
+    }
+
+    /**
+     * Makes every shard generate IDs above the highest ID of all shards, so a shard added
+     * next to existing data does not generate the IDs of rows on other shards.
+     * Counters that are already higher are left alone.
+     */
+    public void raiseIdCounters() {
+        for (String[] tables : ID_TABLES) {
+            Map<String, Long> maxIds = new LinkedHashMap<>();
+            for (String shard : ring.getShards()) {
+                maxIds.put(shard, RoutingContext.callOnShard(shard, () -> maxId(tables)));
+            }
+            long nextId = Collections.max(maxIds.values()) + 1;
+            maxIds.forEach((shard, maxId) -> {
+                if (maxId + 1 < nextId) {
+                    RoutingContext.runOnShard(shard, () -> restartIds(tables[0], nextId));
+                    log.info("Raised the ID counter of {} on shard {} to {}", tables[0], shard, nextId);
+                }
+            });
+        }
+    }
+
+    /**
+     * Moves one user with all rows from one shard to another.
+     * Resumes an interrupted move: rows already present on the target are not copied again.
+     *
+     * @param username the user to move
+     * @param source the shard currently holding the user
+     * @param target the shard to move the user to
+     * @throws IllegalStateException if the user's IDs collide with other rows on the target
+     *         shard or the target does not hold all of the user's rows after the copy
+     */
+    public void moveUser(String username, String source, String target) {
+        Long userId = RoutingContext.callOnShard(source, () -> jdbcTemplate.queryForList(
+                "SELECT id FROM users WHERE username = ?", Long.class, username)).stream().findFirst().orElse(null);
+        if (userId == null) {
+            return;
+        }
+
+        List<TableRows> rows = RoutingContext.callOnShard(source, () -> transactionTemplate.execute(status -> {
+            List<TableRows> result = new ArrayList<>();
+            for (String[] table : USER_TABLES) {
+                result.add(new TableRows(table[0], jdbcTemplate.queryForList(
+                        "SELECT * FROM " + table[0] + " WHERE " + table[1] + " = ?", userId)));
+            }
+            return result;
+        }));
+
+        RoutingContext.runOnShard(target, () -> transactionTemplate.executeWithoutResult(status -> {
+            Long existingId = jdbcTemplate.queryForList(
+                    "SELECT id FROM users WHERE username = ?", Long.class, username).stream().findFirst().orElse(null);
+            if (existingId != null) {
+                if (!existingId.equals(userId)) {
+                    throw new IllegalStateException("User " + username + " has ID " + userId + " on shard " + source
+                            + " but ID " + existingId + " on shard " + target);
+                }
+                // Copied by an interrupted move
+                return;
+            }
+            if (countOnTarget("users", "id", userId) > 0) {
+                throw new IllegalStateException("ID " + userId + " of user " + username
+                        + " belongs to another user on shard " + target + "; IDs must be unique across shards");
+            }
+            // Rows whose IDs are taken on the target fail the insert and roll the copy back
+            for (TableRows table : rows) {
+                insertAll(table);
+            }
+        }));
+
+        RoutingContext.runOnShard(target, () -> {
+            for (int i = 0; i < USER_TABLES.size(); i++) {
+                String[] table = USER_TABLES.get(i);
+                int copied = countOnTarget(table[0], table[1], userId);
+                if (copied != rows.get(i).rows().size()) {
+                    throw new IllegalStateException("Shard " + target + " holds " + copied + " of the "
+                            + rows.get(i).rows().size() + " rows of user " + username + " in " + table[0]);
+                }
+            }
+        });
+
+        RoutingContext.runOnShard(source, () -> transactionTemplate.executeWithoutResult(status -> {
+            for (int i = USER_TABLES.size() - 1; i >= 0; i--) {
+                String[] table = USER_TABLES.get(i);
+                jdbcTemplate.update("DELETE FROM " + table[0] + " WHERE " + table[1] + " = ?", userId);
+            }
+        }));
+        log.debug("Moved user {} from shard {} to shard {}", username, source, target);
+    }
+
+    private long maxId(String[] tables) {
+        long maxId = 0;
+        for (String table : tables) {
+            Long tableMax = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + table, Long.class);
+            if (tableMax != null) {
+                maxId = Math.max(maxId, tableMax);
+            }
+        }
+        return maxId;
+    }
+
+    private void restartIds(String table, long nextId) {
+        String product = jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        if ("MySQL".equals(product) || "MariaDB".equals(product)) {
+            jdbcTemplate.execute("ALTER TABLE " + table + " AUTO_INCREMENT = " + nextId);
+        } else if ("H2".equals(product)) {
+            jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + nextId);
+        } else {
+            throw new IllegalStateException("Cannot raise the ID counter of " + table + " on " + product);
+        }
+    }
+
+    private int countOnTarget(String table, String column, Long userId) {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM " + table + " WHERE " + column + " = ?", Integer.class, userId);
+        return count != null ? count : 0;
+    }
+
+    private void insertAll(TableRows table) {
+        if (table.rows().isEmpty()) {
+            return;
+        }
+        List<String> columns = new ArrayList<>(table.rows().get(0).keySet());
+        String sql = "INSERT INTO " + table.name() + " (" + String.join(", ", columns) + ") VALUES ("
+                + String.join(", ", columns.stream().map(column -> "?").toList()) + ")";
+        List<Object[]> batch = new ArrayList<>(table.rows().size());
+        for (Map<String, Object> row : table.rows()) {
+            batch.add(columns.stream().map(row::get).toArray());
+        }
+        jdbcTemplate.batchUpdate(sql, batch);
+    }
+
+    private record TableRows(String name, List<Map<String, Object>> rows) {
+    }
+}
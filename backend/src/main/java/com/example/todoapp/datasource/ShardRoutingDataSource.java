@@ -0,0 +1,90 @@
+package com.example.todoapp.datasource;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * Routes connections to the shard that holds the current user's data.
+ * The shard is taken from an explicit {@link RoutingContext} shard, else from the consistent
+ * hash of the {@link RoutingContext} user or the authenticated principal's name, else the
+ * default shard. All of a user's rows (user, categories, todos) live on one shard, so every
+ * query of a request runs against a single database.
+ * Must be wrapped in a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}
+ * so that the shard is chosen on the first statement of a transaction.
+ *
+ * @author Todo App Team
+ * @version 1.0
+ * @since 2025-01-01
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+    private final Map<String, DataSource> shards;
+    private final ConsistentHashRing ring;
+    private final String defaultShard;
+
+    /**
+     * Constructor for ShardRoutingDataSource.
+     *
+     * @param shards the data source of each shard by name
+     * @param ring the ring assigning users to shards
+     * @param defaultShard the shard used when no user is known, e.g. for schema validation
+     */
+    public ShardRoutingDataSource(Map<String, DataSource> shards, ConsistentHashRing ring, String defaultShard) {
+        this.shards = Map.copyOf(shards);
+        this.ring = ring;
+        this.defaultShard = defaultShard;
+        setTargetDataSources(new HashMap<>(shards));
+        setDefaultTargetDataSource(shards.get(defaultShard));
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    /**
+     * Returns the name of the shard for the current thread.
+     *
+     * @return the shard name
+     */
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String shard = RoutingContext.currentShard();
+        if (shard != null) {
+            return shard;
+        }
+        String user = RoutingContext.currentUser();
+        if (user == null) {
+            user = authenticatedUser();
+        }
+        return user != null ? ring.shardFor(user) : defaultShard;
+    }
+
+    /**
+     * Closes the connection pools of all shards.
+     *
+     * @throws Exception if a pool cannot be closed
+     */
+    @Override
+    public void destroy() throws Exception {
+        for (DataSource dataSource : shards.values()) {
+            if (dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    private static String authenticatedUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken
+                || !authentication.isAuthenticated()) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
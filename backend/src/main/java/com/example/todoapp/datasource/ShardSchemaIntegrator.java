@@ -0,0 +1,57 @@
+package com.example.todoapp.datasource;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+import org.hibernate.tool.schema.spi.SchemaManagementToolCoordinator;
+
+/**
+ * Applies Hibernate's schema management (spring.jpa.hibernate.ddl-auto) to every shard.
+ * Hibernate itself only manages the schema of the connection it is given, which the
+ * shard router resolves to the default shard; this integrator repeats the same action
+ * with each other shard selected through {@link RoutingContext}.
+ * Drops scheduled by create-drop are only executed for the default shard.
+ *
+ * @author Todo App Team
+ * @version 1.0
+ * @since 2025-01-01
+ */
+public class ShardSchemaIntegrator implements Integrator {
+
+    private final List<String> shards;
+    private final String defaultShard;
+
+    /**
+     * Constructor for ShardSchemaIntegrator.
+     *
+     * @param shards the names of all shards
+     * @param defaultShard the shard Hibernate manages on its own
+     */
+    public ShardSchemaIntegrator(List<String> shards, String defaultShard) {
+        this.shards = List.copyOf(shards);
+        this.defaultShard = defaultShard;
+    }
+
+    @Override
+    public void integrate(Metadata metadata, BootstrapContext bootstrapContext, SessionFactoryImplementor sessionFactory) {
+        Map<String, Object> settings = new HashMap<>(
+                sessionFactory.getServiceRegistry().requireService(ConfigurationService.class).getSettings());
+        for (String shard : shards) {
+            if (!shard.equals(defaultShard)) {
+                RoutingContext.runOnShard(shard, () -> SchemaManagementToolCoordinator.process(
+                        metadata, sessionFactory.getServiceRegistry(), settings, action -> { }));
+            }
+        }
+    }
+
+    @Override
+    public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.todoapp.dto;
+
+/**
+ * Data Transfer Object identifying a todo item that is due for archiving
+ * together with its owner, whose cached data must be evicted once it has moved.
+ */
+public class ArchiveCandidate {
+
+    private Long id;
+
+    private Long userId;
+
+    // Default constructor
+    public ArchiveCandidate() {}
+
+    // Constructor used by the JPQL query
+    public ArchiveCandidate(Long id, Long userId) {
+        this.id = id;
+        this.userId = userId;
+    }
+
+    // Getters and setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+}
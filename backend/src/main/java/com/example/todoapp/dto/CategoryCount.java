@@ -0,0 +1,57 @@
+package com.example.todoapp.dto;
+
+import java.io.Serializable;
+
+/**
+ * Data Transfer Object holding the todo counts of a single category.
+ * A null category ID stands for the todos that have no category.
+ */
+public class CategoryCount implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long categoryId;
+
+    private long total;
+
+    private long completed;
+
+    // Default constructor
+    public CategoryCount() {}
+
+    // Constructor used by the JPQL aggregate query
+    public CategoryCount(Long categoryId, Long total, Long completed) {
+        this.categoryId = categoryId;
+        this.total = total != null ? total : 0L;
+        this.completed = completed != null ? completed : 0L;
+    }
+
+    // Getters and setters
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public void setCategoryId(Long categoryId) {
+        this.categoryId = categoryId;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public void setTotal(long total) {
+        this.total = total;
+    }
+
+    public long getCompleted() {
+        return completed;
+    }
+
+    public void setCompleted(long completed) {
+        this.completed = completed;
+    }
+
+    public long getOpen() {
+        return total - completed;
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.todoapp.dto;
+
+import java.time.LocalDateTime;
+
+import com.example.todoapp.model.Category;
+
+/**
+ * Data Transfer Object for categories returned by the API.
+ * Built inside the service transaction, so serializing it never touches the database;
+ * the owning user is left out.
+ */
+public class CategoryResponse {
+
+    private Long id;
+
+    private String name;
+
+    private String color;
+
+    private String description;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime lastModified;
+
+    private Long version;
+
+    // Default constructor
+    public CategoryResponse() {}
+
+    /**
+     * Copies the fields of a category.
+     *
+     * @param category the category, or null
+     * @return the response, or null if the category is null
+     */
+    public static CategoryResponse from(Category category) {
+        if (category == null) {
+            return null;
+        }
+        CategoryResponse response = new CategoryResponse();
+        response.id = category.getId();
+        response.name = category.getName();
+        response.color = category.getColor();
+        response.description = category.getDescription();
+        response.createdAt = category.getCreatedAt();
+        response.lastModified = category.getLastModified();
+        response.version = category.getVersion();
+        return response;
+    }
+
+    // Getters and setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getColor() {
+        return color;
+    }
+
+    public void setColor(String color) {
+        this.color = color;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getLastModified() {
+        return lastModified;
+    }
+
+    public void setLastModified(LocalDateTime lastModified) {
+        this.lastModified = lastModified;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.todoapp.dto;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Data Transfer Object for the category summary endpoint.
+ * Contains per-category todo counts plus the overall totals for the user.
+ */
+public class CategorySummaryResponse implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private List<CategoryCount> categories;
+
+    private long total;
+
+    private long completed;
+
+    // Default constructor
+    public CategorySummaryResponse() {}
+
+    // Constructor deriving the totals from the per-category counts
+    public CategorySummaryResponse(List<CategoryCount> categories) {
+        this.categories = categories;
+        for (CategoryCount count : categories) {
+            this.total += count.getTotal();
+            this.completed += count.getCompleted();
+        }
+    }
+
+    // Getters and setters
+    public List<CategoryCount> getCategories() {
+        return categories;
+    }
+
+    public void setCategories(List<CategoryCount> categories) {
+        this.categories = categories;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public void setTotal(long total) {
+        this.total = total;
+    }
+
+    public long getCompleted() {
+        return completed;
+    }
+
+    public void setCompleted(long completed) {
+        this.completed = completed;
+    }
+
+    public long getOpen() {
+        return total - completed;
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.todoapp.dto;
+
+import java.time.LocalDateTime;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+/**
+ * Data Transfer Object for the query parameters of the todo list endpoint.
+ * Every field is optional; a null field does not restrict the result.
+ */
+public class TodoFilter {
+
+    private Long categoryId;
+
+    private Boolean completed;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime createdAfter;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime createdBefore;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime modifiedSince;
+
+    // Default constructor
+    public TodoFilter() {}
+
+    /**
+     * Checks whether any filter besides the category is set.
+     * 
+     * @return true if completion or date filters are present
+     */
+    public boolean hasConditions() {
+        return completed != null || createdAfter != null || createdBefore != null || modifiedSince != null;
+    }
+
+    // Getters and setters
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public void setCategoryId(Long categoryId) {
+        this.categoryId = categoryId;
+    }
+
+    public Boolean getCompleted() {
+        return completed;
+    }
+
+    public void setCompleted(Boolean completed) {
+        this.completed = completed;
+    }
+
+    public LocalDateTime getCreatedAfter() {
+        return createdAfter;
+    }
+
+    public void setCreatedAfter(LocalDateTime createdAfter) {
+        this.createdAfter = createdAfter;
+    }
+
+    public LocalDateTime getCreatedBefore() {
+        return createdBefore;
+    }
+
+    public void setCreatedBefore(LocalDateTime createdBefore) {
+        this.createdBefore = createdBefore;
+    }
+
+    public LocalDateTime getModifiedSince() {
+        return modifiedSince;
+    }
+
+    public void setModifiedSince(LocalDateTime modifiedSince) {
+        this.modifiedSince = modifiedSince;
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.todoapp.dto;
+
+/**
+ * Data Transfer Object for partial todo updates.
+ * Fields that are absent from the request body stay null and are left unchanged.
+ * Title, description and category are tracked separately so that an explicit
+ * {@code "description": null} clears the description and an explicit {@code "categoryId": null}
+ * removes the todo from its category, while absent fields are left as is; an explicit
+ * null title is rejected, as every todo needs one.
+ * An optional version makes the update conditional on the todo being unchanged.
+ */
+public class TodoPatchRequest {
+
+    private String title;
+
+    private boolean titlePresent;
+
+    private String description;
+
+    private boolean descriptionPresent;
+
+    private Boolean completed;
+
+    private Long categoryId;
+
+    private boolean categoryIdPresent;
+
+    private Long version;
+
+    // Default constructor
+    public TodoPatchRequest() {}
+
+    /**
+     * Checks whether the request changes a field that is part of the search index.
+     *
+     * @return true if the title or description is present
+     */
+    public boolean changesSearchableFields() {
+        return titlePresent || descriptionPresent;
+    }
+
+    // Getters and setters
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+        this.titlePresent = true;
+    }
+
+    public boolean isTitlePresent() {
+        return titlePresent;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+        this.descriptionPresent = true;
+    }
+
+    public boolean isDescriptionPresent() {
+        return descriptionPresent;
+    }
+
+    public Boolean getCompleted() {
+        return completed;
+    }
+
+    public void setCompleted(Boolean completed) {
+        this.completed = completed;
+    }
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public void setCategoryId(Long categoryId) {
+        this.categoryId = categoryId;
+        this.categoryIdPresent = true;
+    }
+
+    public boolean isCategoryIdPresent() {
+        return categoryIdPresent;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.todoapp.dto;
+
+import java.time.LocalDateTime;
+
+import com.example.todoapp.model.ArchivedTodo;
+import com.example.todoapp.model.Todo;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Data Transfer Object for todo items returned by the API.
+ * Built inside the service transaction with the category already loaded, so the
+ * database connection is released before the response is serialized; the owning
+ * user is left out. Archived todo items additionally carry their archiving time.
+ */
+public class TodoResponse {
+
+    private Long id;
+
+    private String title;
+
+    private String description;
+
+    private boolean completed;
+
+    private CategoryResponse category;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime lastModified;
+
+    private Long version;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private LocalDateTime archivedAt;
+
+    // Default constructor
+    public TodoResponse() {}
+
+    /**
+     * Copies the fields of a todo item and its category.
+     *
+     * @param todo the todo item
+     * @return the response
+     */
+    public static TodoResponse from(Todo todo) {
+        TodoResponse response = new TodoResponse();
+        response.id = todo.getId();
+        response.title = todo.getTitle();
+        response.description = todo.getDescription();
+        response.completed = todo.isCompleted();
+        response.category = CategoryResponse.from(todo.getCategory());
+        response.createdAt = todo.getCreatedAt();
+        response.lastModified = todo.getLastModified();
+        response.version = todo.getVersion();
+        return response;
+    }
+
+    /**
+     * Copies the fields of an archived todo item and its category.
+     *
+     * @param todo the archived todo item
+     * @return the response
+     */
+    public static TodoResponse from(ArchivedTodo todo) {
+        TodoResponse response = new TodoResponse();
+        response.id = todo.getId();
+        response.title = todo.getTitle();
+        response.description = todo.getDescription();
+        response.completed = todo.isCompleted();
+        response.category = CategoryResponse.from(todo.getCategory());
+        response.createdAt = todo.getCreatedAt();
+        response.lastModified = todo.getLastModified();
+        response.archivedAt = todo.getArchivedAt();
+        return response;
+    }
+
+    // Getters and setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    public void setCompleted(boolean completed) {
+        this.completed = completed;
+    }
+
+    public CategoryResponse getCategory() {
+        return category;
+    }
+
+    public void setCategory(CategoryResponse category) {
+        this.category = category;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getLastModified() {
+        return lastModified;
+    }
+
+    public void setLastModified(LocalDateTime lastModified) {
+        this.lastModified = lastModified;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public LocalDateTime getArchivedAt() {
+        return archivedAt;
+    }
+
+    public void setArchivedAt(LocalDateTime archivedAt) {
+        this.archivedAt = archivedAt;
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.todoapp.exception;
+
+/**
+ * Thrown when a change conflicts with the stored state, e.g. a duplicate category name.
+ *
+ * @author Todo App Team
+ * @version 1.0
+ * @since 1.0
+ */
+public class ConflictException extends TodoAppException {
+
+    /**
+     * Constructor for ConflictException.
+     *
+     * @param message the message returned to the client
+     */
+    public ConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.todoapp.exception;
+
+/**
+ * Thrown when the current user accesses a resource that belongs to another user.
+ *
+ * @author Todo App Team
+ * @version 1.0
+ * @since 1.0
+ */
+public class ForbiddenException extends TodoAppException {
+
+    /**
+     * Constructor for ForbiddenException.
+     *
+     * @param message the message returned to the client
+     */
+    public ForbiddenException(String message) {
+        super(message);
+    }
+}
@@ -1,6 +1,9 @@
 package com.example.todoapp.exception;
 
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -11,7 +14,9 @@ import java.util.Map;
 
 /**
  * Global exception handler for the Todo application.
- * Handles validation errors and provides consistent error responses.
+ * Handles validation errors and the application's {@link TodoAppException}s and
+ * provides consistent error responses: the message as plain text with a status
+ * that depends on the type of the exception.
  * 
  * @author Todo App Team
  * @version 1.0
@@ -40,4 +45,76 @@ public class GlobalExceptionHandler {
         String firstError = errors.values().iterator().next();
         return ResponseEntity.badRequest().body(firstError);
     }
+
+    /**
+     * Handles invalid request parameters, such as unknown filter or sort values and malformed If-Match headers.
+     *
+     * @param ex the exception
+     * @return ResponseEntity with BAD_REQUEST status and the message
+     */
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleIllegalArgumentException(IllegalArgumentException ex) {
+        return ResponseEntity.badRequest().body(ex.getMessage());
+    }
+
+    /**
+     * Handles references to missing resources.
+     *
+     * @param ex the exception
+     * @return ResponseEntity with NOT_FOUND status and the message
+     */
+    @ExceptionHandler(ResourceNotFoundException.class)
+    public ResponseEntity<String> handleResourceNotFound(ResourceNotFoundException ex) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ex.getMessage());
+    }
+
+    /**
+     * Handles access to resources of other users.
+     *
+     * @param ex the exception
+     * @return ResponseEntity with FORBIDDEN status and the message
+     */
+    @ExceptionHandler(ForbiddenException.class)
+    public ResponseEntity<String> handleForbidden(ForbiddenException ex) {
+        return ResponseEntity.status(HttpStatus.FORBIDDEN).body(ex.getMessage());
+    }
+
+    /**
+     * Handles changes that conflict with the stored state.
+     *
+     * @param ex the exception
+     * @return ResponseEntity with CONFLICT status and the message
+     */
+    @ExceptionHandler(ConflictException.class)
+    public ResponseEntity<String> handleConflict(ConflictException ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(ex.getMessage());
+    }
+
+    /**
+     * Handles conditional updates against a version that is no longer current.
+     *
+     * @param ex the exception
+     * @return ResponseEntity with PRECONDITION_FAILED status and the message
+     */
+    @ExceptionHandler(StaleVersionException.class)
+    public ResponseEntity<String> handleStaleVersion(StaleVersionException ex) {
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(ex.getMessage());
+    }
+
+    /**
+     * Handles concurrent updates detected by Hibernate's version check on write.
+     *
+     * @param ex the exception
+     * @return ResponseEntity with PRECONDITION_FAILED status and a message naming the modified entity
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<String> handleOptimisticLockingFailure(OptimisticLockingFailureException ex) {
+        String entity = "Resource";
+        if (ex instanceof ObjectOptimisticLockingFailureException objectFailure
+                && objectFailure.getPersistentClassName() != null) {
+            String className = objectFailure.getPersistentClassName();
+            entity = className.substring(className.lastIndexOf('.') + 1);
+        }
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(entity + " has been modified by another request");
+    }
 }
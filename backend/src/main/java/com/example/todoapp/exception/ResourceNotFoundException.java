@@ -0,0 +1,20 @@
+package com.example.todoapp.exception;
+
+/**
+ * Thrown when a requested resource, or one it refers to, does not exist.
+ *
+ * @author Todo App Team
+ * @version 1.0
+ * @since 1.0
+ */
+public class ResourceNotFoundException extends TodoAppException {
+
+    /**
+     * Constructor for ResourceNotFoundException.
+     *
+     * @param message the message returned to the client, e.g. "Todo not found"
+     */
+    public ResourceNotFoundException(String message) {
+        super(message);
+    }
+}
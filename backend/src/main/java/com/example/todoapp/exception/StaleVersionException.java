@@ -0,0 +1,21 @@
+package com.example.todoapp.exception;
+
+/**
+ * Thrown when a conditional update names a version that is no longer the stored one,
+ * i.e. the resource has been modified since the client read it.
+ *
+ * @author Todo App Team
+ * @version 1.0
+ * @since 1.0
+ */
+public class StaleVersionException extends ConflictException {
+
+    /**
+     * Constructor for StaleVersionException.
+     *
+     * @param message the message returned to the client
+     */
+    public StaleVersionException(String message) {
+        super(message);
+    }
+}
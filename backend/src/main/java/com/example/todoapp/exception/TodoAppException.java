@@ -0,0 +1,24 @@
+package com.example.todoapp.exception;
+
+/**
+ * Base class of the errors that the services report to clients, such as a missing todo
+ * item or a category of another user. These are expected outcomes of a request rather
+ * than bugs, so the exceptions do not capture a stack trace: filling one in is the most
+ * expensive part of throwing, and nothing ever prints it. Each subclass is mapped to an
+ * HTTP status by {@link GlobalExceptionHandler}.
+ *
+ * @author Todo App Team
+ * @version 1.0
+ * @since 1.0
+ */
+public abstract class TodoAppException extends RuntimeException {
+
+    /**
+     * Constructor for TodoAppException.
+     *
+     * @param message the message returned to the client
+     */
+    protected TodoAppException(String message) {
+        super(message, null, false, false);
+    }
+}
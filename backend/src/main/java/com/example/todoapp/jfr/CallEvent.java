@@ -0,0 +1,42 @@
+package com.example.todoapp.jfr;
+
+import jdk.jfr.Label;
+
+/**
+ * Base class of the events measuring one method call of a component.
+ * The fields are protected because JFR ignores private fields of event superclasses.
+ *
+ * @author Todo App Team
+ * @version 1.0
+ * @since 2025-01-01
+ */
+public abstract class CallEvent extends TodoAppEvent {
+
+    @Label("Component")
+    protected String component;
+
+    @Label("Method")
+    protected String method;
+
+    @Label("Rows")
+    protected long rows = -1;
+
+    @Label("Exception")
+    protected String exception;
+
+    /**
+     * Records the call and its outcome.
+     *
+     * @param component the name of the called component
+     * @param method the name of the called method
+     * @param rows the number of rows returned or changed, -1 if the result is not a set of rows
+     * @param exception the simple class name of the exception thrown, null on success
+     */
+    public void complete(String component, String method, long rows, String exception) {
+        captureRequest();
+        this.component = component;
+        this.method = method;
+        this.rows = rows;
+        this.exception = exception;
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.todoapp.jfr;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.data.domain.Slice;
+
+/**
+ * Emits a {@link CallEvent} around every intercepted method call.
+ * The number of rows is taken from the result: the size of a collection, map or
+ * page, 0 or 1 for an optional, and for repositories the count returned by
+ * modifying queries. The result is only inspected if the event is recorded.
+ *
+ * @author Todo App Team
+ * @version 1.0
+ * @since 2025-01-01
+ */
+public class CallEventInterceptor implements MethodInterceptor {
+
+    private final Supplier<? extends CallEvent> eventFactory;
+    private final String component;
+    private final boolean countsReturned;
+
+    /**
+     * Constructor for CallEventInterceptor.
+     *
+     * @param eventFactory creates the event of each call
+     * @param component the name of the intercepted component, null for the simple name of the called object's class
+     * @param countsReturned whether a returned number is a row count, as for modifying repository queries
+     */
+    public CallEventInterceptor(Supplier<? extends CallEvent> eventFactory, String component, boolean countsReturned) {
+        this.eventFactory = eventFactory;
+        this.component = component;
+        this.countsReturned = countsReturned;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        CallEvent event = eventFactory.get();
+        if (!event.isEnabled()) {
+            return invocation.proceed();
+        }
+        event.begin();
+        Object result = null;
+        Throwable failure = null;
+        try {
+            result = invocation.proceed();
+            return result;
+        } catch (Throwable e) {
+            failure = e;
+            throw e;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                String name = component != null ? component : invocation.getMethod().getDeclaringClass().getSimpleName();
+                event.complete(name, invocation.getMethod().getName(), countRows(result),
+                        failure != null ? failure.getClass().getSimpleName() : null);
+                event.commit();
+            }
+        }
+    }
+
+    private long countRows(Object result) {
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        } else if (result instanceof Slice<?> slice) {
+            return slice.getNumberOfElements();
+        } else if (result instanceof Map<?, ?> map) {
+            return map.size();
+        } else if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        } else if (countsReturned && result instanceof Number count) {
+            return count.longValue();
+        }
+        return -1;
+    }
+}
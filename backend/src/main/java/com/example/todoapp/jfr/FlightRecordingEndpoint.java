@@ -0,0 +1,170 @@
+package com.example.todoapp.jfr;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+
+/**
+ * Actuator endpoint that controls a Java Flight Recorder recording of the running backend.
+ * <ul>
+ * <li>{@code GET /actuator/jfr} shows the state of the recording</li>
+ * <li>{@code POST /actuator/jfr} starts a new recording, optionally with
+ * {@code {"settings": "profile", "maxAge": "PT30M"}}</li>
+ * <li>{@code GET /actuator/jfr/dump} downloads what has been recorded so far, for JDK Mission Control</li>
+ * <li>{@code DELETE /actuator/jfr} stops the recording and discards it</li>
+ * </ul>
+ * The recording uses one of the JDK's settings ("default" unless specified, which is
+ * meant for production) plus the application's events, and keeps at most
+ * {@code maxAge} (15 minutes by default) and {@value #MAX_SIZE} bytes of data.
+ *
+ * @author Todo App Team
+ * @version 1.0
+ * @since 2025-01-01
+ */
+@Endpoint(id = "jfr")
+public class FlightRecordingEndpoint {
+
+    /**
+     * Name of the recording.
+     */
+    public static final String RECORDING_NAME = "todo-app";
+
+    private static final long MAX_SIZE = 256L * 1024 * 1024;
+    private static final Duration DEFAULT_MAX_AGE = Duration.ofMinutes(15);
+
+    private Recording recording;
+    private String settings;
+
+    /**
+     * Describes the current recording.
+     *
+     * @return the state of the recording, "NONE" if there is none, and its settings, start time and size
+     */
+    @ReadOperation
+    public synchronized Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("state", recording != null ? recording.getState().name() : "NONE");
+        if (recording != null) {
+            status.put("settings", settings);
+            status.put("startTime", recording.getStartTime());
+            status.put("maxAge", recording.getMaxAge());
+            status.put("size", recording.getSize());
+        }
+        return status;
+    }
+
+    /**
+     * Starts a new recording, replacing the current one.
+     *
+     * @param settings the name of a JDK settings file, "default" or "profile"; "default" if null
+     * @param maxAge how long recorded data is kept; 15 minutes if null
+     * @return the state of the new recording
+     */
+    @WriteOperation
+    public synchronized Map<String, Object> start(@Nullable String settings, @Nullable Duration maxAge) {
+        String name = settings != null ? settings : "default";
+        Configuration configuration;
+        try {
+            configuration = Configuration.getConfiguration(name);
+        } catch (IOException | ParseException e) {
+            throw new InvalidEndpointRequestException("Unknown JFR settings '" + name + "'", "Unknown JFR settings");
+        }
+        discard();
+        recording = new Recording(configuration);
+        recording.setName(RECORDING_NAME);
+        recording.enable(JwtAuthenticationEvent.class);
+        recording.enable(ServiceCallEvent.class);
+        recording.enable(RepositoryCallEvent.class);
+        recording.setMaxAge(maxAge != null ? maxAge : DEFAULT_MAX_AGE);
+        recording.setMaxSize(MAX_SIZE);
+        recording.setToDisk(true);
+        recording.start();
+        this.settings = name;
+        return status();
+    }
+
+    /**
+     * Writes the data recorded so far to a file that is deleted once it has been sent.
+     *
+     * @param file must be "dump"
+     * @return the recording file, or 404 if there is no recording
+     * @throws IOException if the recording cannot be written
+     */
+    @ReadOperation(produces = "application/octet-stream")
+    public synchronized WebEndpointResponse<Resource> dump(@Selector String file) throws IOException {
+        if (!"dump".equals(file) || recording == null) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        Path dump = Files.createTempFile(RECORDING_NAME + "-", ".jfr");
+        recording.dump(dump);
+        return new WebEndpointResponse<>(new TemporaryFileResource(dump));
+    }
+
+    /**
+     * Stops the recording and discards its data.
+     *
+     * @return the state afterwards
+     */
+    @DeleteOperation
+    public synchronized Map<String, Object> stop() {
+        discard();
+        return status();
+    }
+
+    private void discard() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+            settings = null;
+        }
+    }
+
+    /**
+     * File resource that deletes the file when the stream reading it is closed.
+     */
+    private static final class TemporaryFileResource extends FileSystemResource {
+
+        TemporaryFileResource(Path path) {
+            super(path);
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return new FilterInputStream(super.getInputStream()) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        Files.deleteIfExists(getFile().toPath());
+                    }
+                }
+            };
+        }
+
+        @Override
+        public boolean isFile() {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.todoapp.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Authentication of a request by its JWT token: parsing and verifying the token and
+ * loading the user it names. Emitted by {@link com.example.todoapp.config.JwtRequestFilter}
+ * for requests that carry a bearer token.
+ *
+ * @author Todo App Team
+ * @version 1.0
+ * @since 2025-01-01
+ */
+@Name("com.example.todoapp.JwtAuthentication")
+@Label("JWT Authentication")
+@Description("Verification of a request's bearer token")
+public class JwtAuthenticationEvent extends TodoAppEvent {
+
+    @Label("Authenticated")
+    protected boolean authenticated;
+
+    /**
+     * Records the request and whether the token was accepted.
+     *
+     * @param username the user named by the token, null if the token could not be parsed
+     * @param authenticated whether the request was authenticated
+     */
+    public void complete(String username, boolean authenticated) {
+        captureRequest();
+        this.user = username;
+        this.authenticated = authenticated;
+    }
+}
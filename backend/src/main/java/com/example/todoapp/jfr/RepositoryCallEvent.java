@@ -0,0 +1,18 @@
+package com.example.todoapp.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Call of a Spring Data repository method.
+ *
+ * @author Todo App Team
+ * @version 1.0
+ * @since 2025-01-01
+ */
+@Name("com.example.todoapp.RepositoryCall")
+@Label("Repository Call")
+@Description("Call of a Spring Data repository method")
+public class RepositoryCallEvent extends CallEvent {
+}
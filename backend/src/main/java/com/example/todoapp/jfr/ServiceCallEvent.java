@@ -0,0 +1,18 @@
+package com.example.todoapp.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Call of a service method, including its transaction.
+ *
+ * @author Todo App Team
+ * @version 1.0
+ * @since 2025-01-01
+ */
+@Name("com.example.todoapp.ServiceCall")
+@Label("Service Call")
+@Description("Call of a TodoService or CategoryService method, including its transaction")
+public class ServiceCallEvent extends CallEvent {
+}
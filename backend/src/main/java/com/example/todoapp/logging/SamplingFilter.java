@@ -0,0 +1,107 @@
+package com.example.todoapp.logging;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.filter.Filter;
+import ch.qos.logback.core.spi.FilterReply;
+
+/**
+ * Logback filter that passes only every n-th event of a logger category below WARN.
+ * Rates are configured as comma-separated {@code category=n} pairs, where a category is a
+ * logger name or a prefix of logger names (a package); the longest matching category applies
+ * and loggers outside all categories are not sampled. Warnings and errors always pass.
+ * Events of a category share one counter, so a rate of 10 keeps exactly one event in ten
+ * regardless of how many loggers the category covers.
+ *
+ * @author Todo App Team
+ * @version 1.0
+ * @since 2025-01-01
+ */
+public class SamplingFilter extends Filter<ILoggingEvent> {
+
+    private static final Sampler UNSAMPLED = new Sampler(1);
+
+    private final Map<String, Sampler> samplersByCategory = new LinkedHashMap<>();
+    private final Map<String, Sampler> samplersByLogger = new ConcurrentHashMap<>();
+    private String rates = "";
+
+    /**
+     * Sets the sampling rates, e.g. {@code com.example.todoapp.service.TodoService=10}.
+     *
+     * @param rates comma-separated {@code category=n} pairs, empty to disable sampling
+     */
+    public void setRates(String rates) {
+        this.rates = rates;
+    }
+
+    @Override
+    public void start() {
+        samplersByCategory.clear();
+        samplersByLogger.clear();
+        for (String entry : rates.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            int separator = entry.indexOf('=');
+            if (separator < 0) {
+                addError("Sampling rate '" + entry.trim() + "' is not of the form category=n");
+                continue;
+            }
+            String category = entry.substring(0, separator).trim();
+            String rateText = entry.substring(separator + 1).trim();
+            int rate = rateText.matches("\\d{1,9}") ? Integer.parseInt(rateText) : 0;
+            if (rate < 1) {
+                addError("Sampling rate of " + category + " must be a whole number of at least 1");
+                continue;
+            }
+            samplersByCategory.put(category, new Sampler(rate));
+        }
+        super.start();
+    }
+
+    @Override
+    public FilterReply decide(ILoggingEvent event) {
+        if (!isStarted() || event.getLevel().isGreaterOrEqual(Level.WARN)) {
+            return FilterReply.NEUTRAL;
+        }
+        Sampler sampler = samplersByLogger.computeIfAbsent(event.getLoggerName(), this::findSampler);
+        return sampler.sample() ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    private Sampler findSampler(String loggerName) {
+        String category = loggerName;
+        while (true) {
+            Sampler sampler = samplersByCategory.get(category);
+            if (sampler != null) {
+                return sampler;
+            }
+            int dot = category.lastIndexOf('.');
+            if (dot < 0) {
+                return UNSAMPLED;
+            }
+            category = category.substring(0, dot);
+        }
+    }
+
+    /**
+     * Keeps one event out of every {@code rate}, starting with the first.
+     */
+    private static final class Sampler {
+
+        private final int rate;
+        private final AtomicLong count = new AtomicLong();
+
+        Sampler(int rate) {
+            this.rate = rate;
+        }
+
+        boolean sample() {
+            return rate == 1 || count.getAndIncrement() % rate == 0;
+        }
+    }
+}
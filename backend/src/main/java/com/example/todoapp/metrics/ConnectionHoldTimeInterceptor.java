@@ -0,0 +1,55 @@
+package com.example.todoapp.metrics;
+
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Records the database connection hold time of each request as the
+ * {@code db.connection.hold} timer, tagged with the HTTP method and the URI pattern
+ * of the endpoint. Runs after the response has been written, so it includes
+ * connections held during serialization, e.g. by lazy loading in an open session.
+ * Requests that did not use a connection are not recorded.
+ *
+ * @author Todo App Team
+ * @version 1.0
+ * @since 2025-01-01
+ */
+public class ConnectionHoldTimeInterceptor implements HandlerInterceptor {
+
+    /**
+     * Name of the timer.
+     */
+    public static final String METRIC_NAME = "db.connection.hold";
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Constructor for ConnectionHoldTimeInterceptor.
+     *
+     * @param meterRegistry the registry to record the timer in
+     */
+    public ConnectionHoldTimeInterceptor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (!(request.getAttribute(ConnectionHoldTimeListener.HOLD_NANOS_ATTRIBUTE) instanceof Long held)) {
+            return;
+        }
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        Timer.builder(METRIC_NAME)
+                .description("Time database connections were held while serving a request")
+                .tag("method", request.getMethod())
+                .tag("uri", pattern != null ? pattern.toString() : "UNKNOWN")
+                .register(meterRegistry)
+                .record(held, TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.todoapp.metrics;
+
+import org.hibernate.SessionEventListener;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Hibernate session listener that measures how long each session holds a JDBC connection.
+ * Hibernate creates one instance per session. The hold times of all sessions of an HTTP
+ * request are added up in a request attribute and reported per endpoint by
+ * {@link ConnectionHoldTimeInterceptor}; sessions outside requests are not measured.
+ *
+ * @author Todo App Team
+ * @version 1.0
+ * @since 2025-01-01
+ */
+public class ConnectionHoldTimeListener implements SessionEventListener {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Request attribute holding the total connection hold time of the request in nanoseconds.
+     */
+    public static final String HOLD_NANOS_ATTRIBUTE = ConnectionHoldTimeListener.class.getName() + ".holdNanos";
+
+    private long acquiredAt;
+
+    @Override
+    public void jdbcConnectionAcquisitionEnd() {
+        acquiredAt = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcConnectionReleaseEnd() {
+        if (acquiredAt == 0) {
+            return;
+        }
+        long held = System.nanoTime() - acquiredAt;
+        acquiredAt = 0;
+
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            Object total = attributes.getAttribute(HOLD_NANOS_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+            attributes.setAttribute(HOLD_NANOS_ATTRIBUTE, total instanceof Long previous ? previous + held : held,
+                    RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+}
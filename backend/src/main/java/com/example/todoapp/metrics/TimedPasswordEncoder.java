@@ -0,0 +1,66 @@
+package com.example.todoapp.metrics;
+
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Password encoder that records the time spent hashing and verifying passwords.
+ * With BCrypt both are deliberately slow, so they are a large part of every login
+ * and registration; the timers are {@code security.password.encode} and
+ * {@code security.password.verify}, the latter tagged with whether the password matched.
+ *
+ * @author Todo App Team
+ * @version 1.0
+ * @since 2025-01-01
+ */
+public class TimedPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final Timer encodeTimer;
+    private final Timer matchTimer;
+    private final Timer mismatchTimer;
+
+    /**
+     * Constructor for TimedPasswordEncoder.
+     *
+     * @param delegate the encoder doing the work
+     * @param meterRegistry the registry to record the timers in
+     */
+    public TimedPasswordEncoder(PasswordEncoder delegate, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.encodeTimer = Timer.builder("security.password.encode")
+                .description("Time spent hashing passwords")
+                .register(meterRegistry);
+        this.matchTimer = verifyTimer(meterRegistry, "match");
+        this.mismatchTimer = verifyTimer(meterRegistry, "mismatch");
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return encodeTimer.record(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        long start = System.nanoTime();
+        boolean matches = delegate.matches(rawPassword, encodedPassword);
+        (matches ? matchTimer : mismatchTimer).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return matches;
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private static Timer verifyTimer(MeterRegistry meterRegistry, String result) {
+        return Timer.builder("security.password.verify")
+                .description("Time spent verifying passwords against their hashes")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
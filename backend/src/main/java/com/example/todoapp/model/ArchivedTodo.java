@@ -0,0 +1,83 @@
+package com.example.todoapp.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.ToString;
+
+/**
+ * Entity class representing a completed todo item that has been moved out of the
+ * "todo" table by the archiver. This class maps to the "todo_archive" table, which
+ * keeps the ID and timestamps of the original todo item. Archived todo items are
+ * read-only and only returned when explicitly requested.
+ * 
+ * @author Todo App Team
+ * @version 1.0
+ * @since 1.0
+ */
+@Data
+@Entity
+@Table(name = "todo_archive", indexes = {
+    @Index(name = "idx_todo_archive_user_last_modified", columnList = "user_id, last_modified")
+})
+@ToString(exclude = {"user", "category"})
+public class ArchivedTodo {
+
+    /**
+     * Identifier of the todo item, taken over from the "todo" table.
+     */
+    @Id
+    private Long id;
+
+    /**
+     * Title of the todo item.
+     */
+    private String title;
+
+    /**
+     * Detailed description of the todo item.
+     */
+    @Column(columnDefinition = "TEXT")
+    private String description;
+
+    /**
+     * Completion status of the todo item; always true for archived items.
+     */
+    private boolean completed;
+
+    /**
+     * The user who owns this todo item.
+     */
+    @ManyToOne
+    @JoinColumn(name = "user_id")
+    private User user;
+
+    /**
+     * The category the todo item belonged to when it was archived, if any.
+     */
+    @ManyToOne
+    @JoinColumn(name = "category_id")
+    private Category category;
+
+    /**
+     * The date and time when the todo item was created.
+     */
+    private LocalDateTime createdAt;
+
+    /**
+     * The date and time when the todo item was last modified before it was archived.
+     */
+    private LocalDateTime lastModified;
+
+    /**
+     * The date and time when the todo item was moved to the archive.
+     */
+    private LocalDateTime archivedAt;
+}
@@ -3,11 +3,15 @@ package com.example.todoapp.model;
 import java.time.LocalDateTime;
 import java.util.List;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
@@ -17,6 +21,7 @@ import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
@@ -24,6 +29,10 @@ import lombok.ToString;
 /**
  * Entity class representing a category for todo items.
  * Categories allow users to organize and filter their todos.
+ * Categories change rarely, so they are held in the Hibernate second-level cache.
+ * With a read replica, {@link com.example.todoapp.service.CategoryService} reads categories
+ * from the primary so that a lagging replica does not fill the cache; categories loaded with
+ * todo items from the replica cannot replace a cached newer version, as the entity is versioned.
  * 
  * @author Todo App Team
  * @version 1.0
@@ -32,8 +41,10 @@ import lombok.ToString;
 @Data
 @Entity
 @Table(name = "categories")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "category")
 @EqualsAndHashCode(exclude = "todos")
-@ToString(exclude = "todos")
+@ToString(exclude = {"todos", "user"})
 public class Category {
     
     /**
@@ -93,4 +104,12 @@ public class Category {
      */
     @UpdateTimestamp
     private LocalDateTime lastModified;
+
+    /**
+     * Version number used for optimistic locking.
+     * Incremented on every update and exposed to clients as the ETag of the category.
+     */
+    @Version
+    @ColumnDefault("0")
+    private Long version;
 }
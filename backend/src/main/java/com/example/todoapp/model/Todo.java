@@ -2,6 +2,7 @@ package com.example.todoapp.model;
 
 import java.time.LocalDateTime;
 
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -10,14 +11,20 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.Data;
+import lombok.ToString;
 
 /**
  * Entity class representing a todo item in the Todo application.
  * This class maps to the "todo" table in the database and contains
  * todo item information with a many-to-one relationship to User.
+ * The composite indexes lead with user_id so that the filtered and sorted
+ * list queries only touch the rows of a single user.
  * 
  * @author Todo App Team
  * @version 1.0
@@ -25,6 +32,12 @@ import lombok.Data;
  */
 @Data
 @Entity
+@Table(name = "todo", indexes = {
+    @Index(name = "idx_todo_user_completed", columnList = "user_id, completed"),
+    @Index(name = "idx_todo_user_created_at", columnList = "user_id, created_at"),
+    @Index(name = "idx_todo_user_last_modified", columnList = "user_id, last_modified")
+})
+@ToString(exclude = {"user", "category"})
 public class Todo {
     
     /**
@@ -85,4 +98,12 @@ public class Todo {
      */
     @UpdateTimestamp
     private LocalDateTime lastModified;
+
+    /**
+     * Version number used for optimistic locking.
+     * Incremented on every update and exposed to clients as the ETag of the todo item.
+     */
+    @Version
+    @ColumnDefault("0")
+    private Long version;
 }
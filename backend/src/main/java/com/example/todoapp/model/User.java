@@ -7,6 +7,7 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
 import lombok.Data;
+import lombok.ToString;
 
 /**
  * Entity class representing a user in the Todo application.
@@ -20,6 +21,7 @@ import lombok.Data;
 @Data
 @Entity
 @Table(name = "users")
+@ToString(exclude = "password")
 public class User {
     
     /**
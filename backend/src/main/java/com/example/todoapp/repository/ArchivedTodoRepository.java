@@ -0,0 +1,76 @@
+package com.example.todoapp.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.todoapp.model.ArchivedTodo;
+
+import jakarta.persistence.QueryHint;
+
+/**
+ * Repository interface for archived todo items.
+ * Archived items are only written by the bulk copy from the todo table.
+ * 
+ * @author Todo App Team
+ * @version 1.0
+ * @since 1.0
+ */
+public interface ArchivedTodoRepository extends JpaRepository<ArchivedTodo, Long> {
+
+    /**
+     * Finds all archived todo items of a user, most recently modified first.
+     * 
+     * @param userId the ID of the user whose archived todos to retrieve
+     * @return a list of archived todo items belonging to the specified user
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<ArchivedTodo> findByUserIdOrderByLastModifiedDesc(Long userId);
+
+    /**
+     * Copies todo items into the archive with a single INSERT ... SELECT statement,
+     * keeping their IDs and timestamps.
+     * 
+     * @param ids the IDs of the todo items to copy
+     * @param archivedAt the archiving time to record
+     * @return the number of copied todo items
+     */
+    @Modifying(flushAutomatically = true)
+    @Transactional
+    @Query("INSERT INTO ArchivedTodo (id, title, description, completed, user, category, createdAt, lastModified, archivedAt) "
+            + "SELECT t.id, t.title, t.description, t.completed, t.user, t.category, t.createdAt, t.lastModified, :archivedAt "
+            + "FROM Todo t WHERE t.id IN :ids")
+    int copyFromTodos(@Param("ids") Collection<Long> ids, @Param("archivedAt") LocalDateTime archivedAt);
+
+    /**
+     * Removes a category from all archived todo items of a user with a single bulk UPDATE,
+     * so that the category itself can be deleted without violating the foreign key.
+     * 
+     * @param categoryId the ID of the category to detach
+     * @param userId the ID of the user whose archived todos to update
+     * @return the number of updated archived todo items
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Transactional
+    @Query("UPDATE ArchivedTodo t SET t.category = null WHERE t.category.id = :categoryId AND t.user.id = :userId")
+    int clearCategoryForUser(@Param("categoryId") Long categoryId, @Param("userId") Long userId);
+
+    /**
+     * Deletes all archived todo items of a user with a single DELETE statement.
+     * 
+     * @param userId the ID of the user
+     * @return the number of deleted rows
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Transactional
+    @Query("DELETE FROM ArchivedTodo t WHERE t.user.id = :userId")
+    int deleteAllByUserId(@Param("userId") Long userId);
+}
@@ -2,7 +2,15 @@ package com.example.todoapp.repository;
 
 import java.util.List;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.persistence.QueryHint;
 
 import com.example.todoapp.model.Category;
 
@@ -18,10 +26,19 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
     
     /**
      * Finds all categories belonging to a specific user.
+     * The result is kept in the Hibernate query cache until the categories table changes,
+     * and the categories are loaded read-only because the list is never modified.
+     * With a read replica, it must run on the primary
+     * ({@link com.example.todoapp.datasource.RoutingContext#callOnPrimary}), or a lagging
+     * result stays cached.
      * 
      * @param userId the ID of the user whose categories to retrieve
      * @return a list of categories belonging to the specified user
      */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
     List<Category> findByUserId(Long userId);
 
     /**
@@ -32,4 +49,29 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
      * @return the category if found, null otherwise
      */
     Category findByNameAndUserId(String name, Long userId);
+
+    /**
+     * Deletes a category if it belongs to the given user, in a single DELETE statement.
+     * Todo items must be detached from the category first.
+     * 
+     * @param id the ID of the category to delete
+     * @param userId the ID of the user who must own the category
+     * @return the number of deleted rows, 0 if the category does not exist or belongs to another user
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Transactional
+    @Query("DELETE FROM Category c WHERE c.id = :id AND c.user.id = :userId")
+    int deleteByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+
+    /**
+     * Deletes all categories of a user with a single DELETE statement.
+     * The user's todo items must be deleted first.
+     * 
+     * @param userId the ID of the user
+     * @return the number of deleted rows
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Transactional
+    @Query("DELETE FROM Category c WHERE c.user.id = :userId")
+    int deleteAllByUserId(@Param("userId") Long userId);
 }
@@ -1,20 +1,41 @@
 package com.example.todoapp.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.example.todoapp.dto.ArchiveCandidate;
+import com.example.todoapp.dto.CategoryCount;
 import com.example.todoapp.model.Todo;
+import com.example.todoapp.search.TodoDocument;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 
 /**
  * Repository interface for Todo entity data access operations.
- * Extends JpaRepository to provide basic CRUD operations and custom query methods.
+ * Extends JpaRepository to provide basic CRUD operations and custom query methods,
+ * JpaSpecificationExecutor for the filtered queries built by {@link TodoSpecifications},
+ * and {@link TodoRepositoryCustom} for single-statement partial updates.
+ * The list queries only serve reads and load their todo items read-only, so Hibernate
+ * keeps no snapshots of them for dirty checking.
  * 
  * @author Todo App Team
  * @version 1.0
  * @since 1.0
  */
-public interface TodoRepository extends JpaRepository<Todo, Long> {
+public interface TodoRepository extends JpaRepository<Todo, Long>, JpaSpecificationExecutor<Todo>, TodoRepositoryCustom {
     
     /**
      * Finds all todo items belonging to a specific user.
@@ -22,6 +43,7 @@ public interface TodoRepository extends JpaRepository<Todo, Long> {
      * @param userId the ID of the user whose todos to retrieve
      * @return a list of todo items belonging to the specified user
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
     List<Todo> findByUserId(Long userId);
 
     /**
@@ -31,6 +53,7 @@ public interface TodoRepository extends JpaRepository<Todo, Long> {
      * @param categoryId the ID of the category to filter by
      * @return a list of todo items belonging to the specified user and category
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
     List<Todo> findByUserIdAndCategoryId(Long userId, Long categoryId);
 
     /**
@@ -39,5 +62,104 @@ public interface TodoRepository extends JpaRepository<Todo, Long> {
      * @param userId the ID of the user whose todos to retrieve
      * @return a list of todo items belonging to the specified user with no category
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
     List<Todo> findByUserIdAndCategoryIsNull(Long userId);
+
+    /**
+     * Counts the total and completed todo items per category for a specific user.
+     * Runs as a single GROUP BY over the todo table; uncategorized todos are
+     * reported with a null category ID.
+     * 
+     * @param userId the ID of the user whose todos to count
+     * @return a list of per-category counts for categories that contain todos
+     */
+    @Query("SELECT new com.example.todoapp.dto.CategoryCount(t.category.id, COUNT(t), "
+            + "SUM(CASE WHEN t.completed = true THEN 1L ELSE 0L END)) "
+            + "FROM Todo t WHERE t.user.id = :userId GROUP BY t.category.id")
+    List<CategoryCount> countByCategoryForUser(@Param("userId") Long userId);
+
+    /**
+     * Reads the searchable fields of todo items in ID order, starting after the given ID.
+     * Used to page through the whole table with keyset pagination when rebuilding the search index.
+     * 
+     * @param afterId the last ID of the previous page, or 0 for the first page
+     * @param pageable the page size; the page number is ignored in favour of afterId
+     * @return the next page of search documents
+     */
+    @Query("SELECT new com.example.todoapp.search.TodoDocument(t.id, t.user.id, t.title, t.description) "
+            + "FROM Todo t WHERE t.id > :afterId ORDER BY t.id")
+    List<TodoDocument> findSearchDocumentsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Deletes a todo item if it belongs to the given user, in a single DELETE statement.
+     * 
+     * @param id the ID of the todo item to delete
+     * @param userId the ID of the user who must own the todo item
+     * @return the number of deleted rows, 0 if the todo item does not exist or belongs to another user
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Transactional
+    @Query("DELETE FROM Todo t WHERE t.id = :id AND t.user.id = :userId")
+    int deleteByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+
+    /**
+     * Removes a category from all todo items of a user with a single bulk UPDATE,
+     * so that the category itself can be deleted without violating the foreign key.
+     * 
+     * @param categoryId the ID of the category to detach
+     * @param userId the ID of the user whose todos to update
+     * @param now the modification time to record on the updated todos
+     * @return the number of updated todo items
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Transactional
+    @Query("UPDATE Todo t SET t.category = null, t.lastModified = :now "
+            + "WHERE t.category.id = :categoryId AND t.user.id = :userId")
+    int clearCategoryForUser(@Param("categoryId") Long categoryId, @Param("userId") Long userId,
+            @Param("now") LocalDateTime now);
+
+    /**
+     * Finds completed todo items last modified before the cutoff, in ID order, and locks
+     * them so that they cannot be changed while they are being moved to the archive.
+     * Must be called in a transaction.
+     * 
+     * @param cutoff the time before which completed todos are archived
+     * @param pageable the batch size
+     * @return the next batch of todo items to archive with their owners
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT new com.example.todoapp.dto.ArchiveCandidate(t.id, t.user.id) FROM Todo t "
+            + "WHERE t.completed = true AND t.lastModified < :cutoff ORDER BY t.id")
+    List<ArchiveCandidate> findArchiveCandidates(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+
+    /**
+     * Finds the IDs of all todo items of a user.
+     * 
+     * @param userId the ID of the user
+     * @return the IDs of the user's todo items
+     */
+    @Query("SELECT t.id FROM Todo t WHERE t.user.id = :userId")
+    List<Long> findIdsByUserId(@Param("userId") Long userId);
+
+    /**
+     * Deletes all todo items of a user with a single DELETE statement.
+     * 
+     * @param userId the ID of the user
+     * @return the number of deleted rows
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Transactional
+    @Query("DELETE FROM Todo t WHERE t.user.id = :userId")
+    int deleteAllByUserId(@Param("userId") Long userId);
+
+    /**
+     * Deletes todo items by ID with a single DELETE statement.
+     * 
+     * @param ids the IDs of the todo items to delete
+     * @return the number of deleted rows
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Transactional
+    @Query("DELETE FROM Todo t WHERE t.id IN :ids")
+    int deleteAllByIdIn(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,29 @@
+package com.example.todoapp.repository;
+
+import com.example.todoapp.dto.TodoPatchRequest;
+
+/**
+ * Custom data access operations for Todo entities that cannot be expressed
+ * as derived or annotated queries.
+ * 
+ * @author Todo App Team
+ * @version 1.0
+ * @since 1.0
+ */
+public interface TodoRepositoryCustom {
+
+    /**
+     * Applies a partial update to a todo item with a single UPDATE statement.
+     * Only the fields present in the patch are written, together with the modification time.
+     * Ownership of the todo item, and of the new category if one is assigned, is part of
+     * the WHERE clause, so a todo item of another user is never touched.
+     * The version is always incremented; if the patch carries an expected version,
+     * the row is only updated while it still has that version.
+     * 
+     * @param id the ID of the todo item to update
+     * @param userId the ID of the user who must own the todo item and the category
+     * @param patch the fields to change
+     * @return the number of updated rows, 0 if no matching todo item, category or version was found
+     */
+    int patchForUser(Long id, Long userId, TodoPatchRequest patch);
+}
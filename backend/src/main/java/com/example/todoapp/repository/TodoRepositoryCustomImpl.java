@@ -0,0 +1,85 @@
+package com.example.todoapp.repository;
+
+import java.time.LocalDateTime;
+
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.todoapp.dto.TodoPatchRequest;
+import com.example.todoapp.model.Category;
+import com.example.todoapp.model.Todo;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+
+/**
+ * Criteria API implementation of {@link TodoRepositoryCustom}.
+ * 
+ * @author Todo App Team
+ * @version 1.0
+ * @since 1.0
+ */
+public class TodoRepositoryCustomImpl implements TodoRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional
+    public int patchForUser(Long id, Long userId, TodoPatchRequest patch) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Todo> update = cb.createCriteriaUpdate(Todo.class);
+        Root<Todo> todo = update.from(Todo.class);
+
+        if (patch.getTitle() != null) {
+            update.set(todo.<String>get("title"), patch.getTitle());
+        }
+        if (patch.isDescriptionPresent()) {
+            if (patch.getDescription() == null) {
+                update.set(todo.<String>get("description"), cb.nullLiteral(String.class));
+            } else {
+                update.set(todo.<String>get("description"), patch.getDescription());
+            }
+        }
+        if (patch.getCompleted() != null) {
+            update.set(todo.<Boolean>get("completed"), patch.getCompleted());
+        }
+        // Bulk updates bypass @UpdateTimestamp, so the modification time is set explicitly
+        update.set(todo.<LocalDateTime>get("lastModified"), LocalDateTime.now());
+        update.set(todo.<Long>get("version"), cb.sum(todo.<Long>get("version"), 1L));
+
+        Predicate owned = cb.and(
+                cb.equal(todo.get("id"), id),
+                cb.equal(todo.get("user").get("id"), userId));
+        if (patch.getVersion() != null) {
+            owned = cb.and(owned, cb.equal(todo.get("version"), patch.getVersion()));
+        }
+
+        if (patch.isCategoryIdPresent()) {
+            if (patch.getCategoryId() == null) {
+                update.set(todo.<Category>get("category"), cb.nullLiteral(Category.class));
+            } else {
+                update.set(todo.<Category>get("category"),
+                        entityManager.getReference(Category.class, patch.getCategoryId()));
+
+                Subquery<Long> ownedCategory = update.subquery(Long.class);
+                Root<Category> category = ownedCategory.from(Category.class);
+                ownedCategory.select(category.get("id")).where(
+                        cb.equal(category.get("id"), patch.getCategoryId()),
+                        cb.equal(category.get("user").get("id"), userId));
+                owned = cb.and(owned, cb.exists(ownedCategory));
+            }
+        }
+
+        update.where(owned);
+        // Like @Modifying(flushAutomatically, clearAutomatically): no stale managed copies survive the bulk update
+        entityManager.flush();
+        int updated = entityManager.createQuery(update).executeUpdate();
+        entityManager.clear();
+        return updated;
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.todoapp.repository;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.example.todoapp.dto.TodoFilter;
+import com.example.todoapp.model.Todo;
+
+/**
+ * Factory for JPA specifications used to filter todo items.
+ * Every specification built here is scoped to a single user so that the
+ * generated queries can use the (user_id, ...) composite indexes on the todo table.
+ * 
+ * @author Todo App Team
+ * @version 1.0
+ * @since 1.0
+ */
+public final class TodoSpecifications {
+
+    private TodoSpecifications() {
+    }
+
+    /**
+     * Builds a specification matching the todos of a user that satisfy the given filter.
+     * 
+     * @param userId the ID of the user whose todos to match
+     * @param filter the optional filter criteria
+     * @return the combined specification
+     */
+    public static Specification<Todo> matching(Long userId, TodoFilter filter) {
+        return belongsToUser(userId)
+                .and(inCategory(filter.getCategoryId()))
+                .and(hasCompleted(filter.getCompleted()))
+                .and(createdAfter(filter.getCreatedAfter()))
+                .and(createdBefore(filter.getCreatedBefore()))
+                .and(modifiedSince(filter.getModifiedSince()));
+    }
+
+    /**
+     * Matches todos owned by the given user.
+     * 
+     * @param userId the ID of the owning user
+     * @return the specification
+     */
+    public static Specification<Todo> belongsToUser(Long userId) {
+        return (root, query, cb) -> cb.equal(root.get("user").get("id"), userId);
+    }
+
+    /**
+     * Matches todos in the given category, or all todos if the category is null.
+     * 
+     * @param categoryId the ID of the category
+     * @return the specification, or null if no restriction applies
+     */
+    public static Specification<Todo> inCategory(Long categoryId) {
+        if (categoryId == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.equal(root.get("category").get("id"), categoryId);
+    }
+
+    /**
+     * Matches todos with the given completion status.
+     * 
+     * @param completed the completion status, or null for any status
+     * @return the specification, or null if no restriction applies
+     */
+    public static Specification<Todo> hasCompleted(Boolean completed) {
+        if (completed == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.equal(root.get("completed"), completed);
+    }
+
+    /**
+     * Matches todos created at or after the given time.
+     * 
+     * @param time the lower bound, inclusive
+     * @return the specification, or null if no restriction applies
+     */
+    public static Specification<Todo> createdAfter(LocalDateTime time) {
+        if (time == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("createdAt"), time);
+    }
+
+    /**
+     * Matches todos created strictly before the given time.
+     * 
+     * @param time the upper bound, exclusive
+     * @return the specification, or null if no restriction applies
+     */
+    public static Specification<Todo> createdBefore(LocalDateTime time) {
+        if (time == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.lessThan(root.get("createdAt"), time);
+    }
+
+    /**
+     * Matches todos modified at or after the given time.
+     * 
+     * @param time the lower bound, inclusive
+     * @return the specification, or null if no restriction applies
+     */
+    public static Specification<Todo> modifiedSince(LocalDateTime time) {
+        if (time == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("lastModified"), time);
+    }
+}
@@ -1,8 +1,12 @@
 package com.example.todoapp.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.example.todoapp.model.User;
 
@@ -31,4 +35,13 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * @return an Optional containing the user if found, empty otherwise
      */
     Optional<User> findByUsername(String username);
+
+    /**
+     * Finds the usernames of the given users.
+     * 
+     * @param ids the IDs of the users
+     * @return the usernames of the users that exist, in no particular order
+     */
+    @Query("SELECT u.username FROM User u WHERE u.id IN :ids")
+    List<String> findUsernamesByIdIn(@Param("ids") Collection<Long> ids);
 }
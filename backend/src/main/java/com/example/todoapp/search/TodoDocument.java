@@ -0,0 +1,51 @@
+package com.example.todoapp.search;
+
+/**
+ * The searchable fields of a todo item as stored in the full-text index.
+ * Used to (re)index todos without loading the full entity graph.
+ * 
+ * @author Todo App Team
+ * @version 1.0
+ * @since 1.0
+ */
+public class TodoDocument {
+
+    private final Long id;
+
+    private final Long userId;
+
+    private final String title;
+
+    private final String description;
+
+    /**
+     * Creates a search document for a todo item.
+     * 
+     * @param id the ID of the todo item
+     * @param userId the ID of the user who owns the todo item
+     * @param title the title of the todo item
+     * @param description the description of the todo item
+     */
+    public TodoDocument(Long id, Long userId, String title, String description) {
+        this.id = id;
+        this.userId = userId;
+        this.title = title;
+        this.description = description;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+}
@@ -0,0 +1,314 @@
+package com.example.todoapp.search;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.simple.SimpleQueryParser;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.ControlledRealTimeReopenThread;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.Lifecycle;
+import org.springframework.stereotype.Component;
+
+import com.example.todoapp.model.Todo;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Embedded full-text index over todo titles and descriptions.
+ * Backed by a Lucene index on local disk (or in memory when no directory is configured).
+ * Writes are applied incrementally by the todo service; searches see them after a
+ * near-real-time refresh, which happens at most {@code todo.search.max-stale-seconds} later.
+ * Stopping the context, as Spring does before a CRaC checkpoint, releases the index files
+ * and threads; starting it again reopens them.
+ *
+ * @author Todo App Team
+ * @version 1.0
+ * @since 2025-01-01
+ */
+@Component
+public class TodoSearchIndex implements Lifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(TodoSearchIndex.class);
+
+    private static final String FIELD_ID = "id";
+    private static final String FIELD_USER_ID = "userId";
+    private static final String FIELD_TITLE = "title";
+    private static final String FIELD_DESCRIPTION = "description";
+
+    /**
+     * Title matches weigh twice as much as description matches.
+     */
+    private static final Map<String, Float> SEARCH_FIELDS = Map.of(FIELD_TITLE, 2.0f, FIELD_DESCRIPTION, 1.0f);
+
+    @Value("${todo.search.index-dir:}")
+    private String indexDir;
+
+    @Value("${todo.search.max-stale-seconds:1.0}")
+    private double maxStaleSeconds;
+
+    @Value("${todo.search.commit-interval-seconds:30}")
+    private long commitIntervalSeconds;
+
+    private final Analyzer analyzer = new StandardAnalyzer();
+
+    private Directory directory;
+    private IndexWriter writer;
+    private SearcherManager searcherManager;
+    private ControlledRealTimeReopenThread<IndexSearcher> reopenThread;
+    private ScheduledExecutorService committer;
+    private volatile boolean running;
+
+    /**
+     * Opens the index writer, the near-real-time searcher and the background
+     * threads that refresh the searcher and commit the index.
+     *
+     * @throws IOException if the index directory cannot be opened
+     */
+    @PostConstruct
+    public void open() throws IOException {
+        if (directory == null) {
+            directory = indexDir.isBlank() ? new ByteBuffersDirectory() : FSDirectory.open(Paths.get(indexDir));
+        }
+        writer = new IndexWriter(directory, new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+        searcherManager = new SearcherManager(writer, null);
+
+        reopenThread = new ControlledRealTimeReopenThread<>(writer, searcherManager, maxStaleSeconds, 0.025);
+        reopenThread.setName("todo-search-reopen");
+        reopenThread.setDaemon(true);
+        reopenThread.start();
+
+        committer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "todo-search-commit");
+            thread.setDaemon(true);
+            return thread;
+        });
+        committer.scheduleWithFixedDelay(() -> {
+            try {
+                commit();
+            } catch (UncheckedIOException e) {
+                log.warn("Periodic search index commit failed, retrying on next run", e);
+            }
+        }, commitIntervalSeconds, commitIntervalSeconds, TimeUnit.SECONDS);
+        running = true;
+    }
+
+    /**
+     * Commits pending changes and releases the index.
+     *
+     * @throws IOException if the index cannot be closed cleanly
+     */
+    @PreDestroy
+    public void close() throws IOException {
+        if (running) {
+            release();
+        }
+        if (directory != null) {
+            directory.close();
+            directory = null;
+        }
+    }
+
+    /**
+     * Reopens the index after {@link #stop()}.
+     */
+    @Override
+    public void start() {
+        if (!running) {
+            try {
+                open();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to reopen the search index", e);
+            }
+        }
+    }
+
+    /**
+     * Commits pending changes and closes the writer, the searcher and the background
+     * threads. An index on disk is closed as well, so that no file stays open;
+     * an in-memory index is kept, since closing it would discard its contents.
+     */
+    @Override
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        try {
+            release();
+            if (directory instanceof FSDirectory) {
+                directory.close();
+                directory = null;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to close the search index", e);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Adds or replaces the index entry of a todo item.
+     *
+     * @param todo the todo item to index, with its owning user set
+     */
+    public void index(Todo todo) {
+        index(new TodoDocument(todo.getId(), todo.getUser().getId(), todo.getTitle(), todo.getDescription()));
+    }
+
+    /**
+     * Adds or replaces the index entry of a todo item.
+     *
+     * @param todo the searchable fields of the todo item
+     */
+    public void index(TodoDocument todo) {
+        Document document = new Document();
+        document.add(new StringField(FIELD_ID, todo.getId().toString(), Field.Store.YES));
+        document.add(new StringField(FIELD_USER_ID, todo.getUserId().toString(), Field.Store.NO));
+        if (todo.getTitle() != null) {
+            document.add(new TextField(FIELD_TITLE, todo.getTitle(), Field.Store.NO));
+        }
+        if (todo.getDescription() != null) {
+            document.add(new TextField(FIELD_DESCRIPTION, todo.getDescription(), Field.Store.NO));
+        }
+        try {
+            writer.updateDocument(new Term(FIELD_ID, todo.getId().toString()), document);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to index todo " + todo.getId(), e);
+        }
+    }
+
+    /**
+     * Removes the index entry of a todo item.
+     *
+     * @param id the ID of the todo item to remove
+     */
+    public void delete(Long id) {
+        try {
+            writer.deleteDocuments(new Term(FIELD_ID, id.toString()));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to remove todo " + id + " from the search index", e);
+        }
+    }
+
+    /**
+     * Removes every entry from the index, typically before a rebuild.
+     */
+    public void deleteAll() {
+        try {
+            writer.deleteAll();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to clear the search index", e);
+        }
+    }
+
+    /**
+     * Searches the todo items of a user.
+     * The query uses the simple query syntax (terms, "phrases", prefix*, +/- and |)
+     * and never fails on malformed input.
+     *
+     * @param userId the ID of the user whose todos to search
+     * @param queryText the query entered by the user
+     * @param limit the maximum number of results
+     * @return the IDs of the matching todo items, best match first
+     */
+    public List<Long> search(Long userId, String queryText, int limit) {
+        Query textQuery = new SimpleQueryParser(analyzer, SEARCH_FIELDS).parse(queryText);
+        Query query = new BooleanQuery.Builder()
+                .add(textQuery, BooleanClause.Occur.MUST)
+                .add(new TermQuery(new Term(FIELD_USER_ID, userId.toString())), BooleanClause.Occur.FILTER)
+                .build();
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                TopDocs topDocs = searcher.search(query, limit);
+                StoredFields storedFields = searcher.storedFields();
+                List<Long> ids = new ArrayList<>(topDocs.scoreDocs.length);
+                for (ScoreDoc scoreDoc : topDocs.scoreDocs) {
+                    ids.add(Long.valueOf(storedFields.document(scoreDoc.doc, Set.of(FIELD_ID)).get(FIELD_ID)));
+                }
+                return ids;
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to search todos", e);
+        }
+    }
+
+    /**
+     * Makes all changes visible to searches immediately instead of within the
+     * configured staleness window.
+     */
+    public void refresh() {
+        try {
+            searcherManager.maybeRefreshBlocking();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to refresh the search index", e);
+        }
+    }
+
+    /**
+     * Durably commits pending changes to the index directory.
+     */
+    public void commit() {
+        try {
+            if (writer.hasUncommittedChanges()) {
+                writer.commit();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to commit the search index", e);
+        }
+    }
+
+    /**
+     * Returns the number of todo items in the index.
+     *
+     * @return the number of indexed documents
+     */
+    public int size() {
+        return writer.getDocStats().numDocs;
+    }
+
+    private void release() throws IOException {
+        running = false;
+        committer.shutdown();
+        reopenThread.close();
+        searcherManager.close();
+        writer.close();
+    }
+}
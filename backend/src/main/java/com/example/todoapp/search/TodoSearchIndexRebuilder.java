@@ -0,0 +1,109 @@
+package com.example.todoapp.search;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import com.example.todoapp.datasource.ConsistentHashRing;
+import com.example.todoapp.datasource.RoutingContext;
+import com.example.todoapp.repository.TodoRepository;
+
+/**
+ * Rebuilds the full-text index from the todo table.
+ * Runs at startup when the index is empty, or on demand when the application is
+ * started with {@code --todo.search.rebuild=true}.
+ *
+ * @author Todo App Team
+ * @version 1.0
+ * @since 2025-01-01
+ */
+@Component
+public class TodoSearchIndexRebuilder implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(TodoSearchIndexRebuilder.class);
+
+    private final TodoRepository todoRepository;
+    private final TodoSearchIndex todoSearchIndex;
+    private final ObjectProvider<ConsistentHashRing> shardRing;
+
+    @Value("${todo.search.rebuild:false}")
+    private boolean rebuildOnStartup;
+
+    @Value("${todo.search.rebuild-batch-size:1000}")
+    private int batchSize;
+
+    /**
+     * Constructor for TodoSearchIndexRebuilder.
+     *
+     * @param todoRepository the repository to read todos from
+     * @param todoSearchIndex the index to rebuild
+     * @param shardRing the shard ring if sharding is enabled
+     */
+    public TodoSearchIndexRebuilder(TodoRepository todoRepository, TodoSearchIndex todoSearchIndex,
+            ObjectProvider<ConsistentHashRing> shardRing) {
+        this.todoRepository = todoRepository;
+        this.todoSearchIndex = todoSearchIndex;
+        this.shardRing = shardRing;
+    }
+
+    /**
+     * Rebuilds the index at startup if requested or if the index is empty.
+     *
+     * @param args the application arguments
+     */
+    @Override
+    public void run(ApplicationArguments args) {
+        if (rebuildOnStartup || todoSearchIndex.size() == 0) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Replaces the index contents with every todo in the database, or in every shard.
+     * Reads the table in ID order with keyset pagination so that memory use
+     * stays bounded by the batch size.
+     *
+     * @return the number of indexed todos
+     */
+    public long rebuild() {
+        long start = System.currentTimeMillis();
+        todoSearchIndex.deleteAll();
+
+        long count = 0;
+        ConsistentHashRing ring = shardRing.getIfAvailable();
+        if (ring == null) {
+            count = indexAll();
+        } else {
+            for (String shard : ring.getShards()) {
+                count += RoutingContext.callOnShard(shard, this::indexAll);
+            }
+        }
+
+        todoSearchIndex.commit();
+        todoSearchIndex.refresh();
+        log.info("Rebuilt todo search index with {} todos in {} ms", count, System.currentTimeMillis() - start);
+        return count;
+    }
+
+    private long indexAll() {
+        long count = 0;
+        long lastId = 0;
+        List<TodoDocument> batch;
+        do {
+            batch = todoRepository.findSearchDocumentsAfter(lastId, PageRequest.ofSize(batchSize));
+            for (TodoDocument document : batch) {
+                todoSearchIndex.index(document);
+                lastId = document.getId();
+            }
+            count += batch.size();
+        } while (batch.size() == batchSize);
+        return count;
+    }
+}
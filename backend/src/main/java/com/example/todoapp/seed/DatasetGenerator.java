@@ -0,0 +1,333 @@
+package com.example.todoapp.seed;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.random.RandomGenerator;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.todoapp.config.SeedProperties;
+import com.example.todoapp.datasource.ConsistentHashRing;
+import com.example.todoapp.datasource.RoutingContext;
+
+/**
+ * Bulk-loads synthetic users with categories and todos for benchmarks and index tests.
+ * The number of todos and categories per user follows the Zipf distributions of
+ * {@link SeedProperties}, so that most users have a few todos and a few have a great many,
+ * as in production. Rows are written with multi-row INSERT statements of up to
+ * {@code batch-size} rows, bypassing JPA, by several threads in parallel.
+ *
+ * Users are seeded in chunks of {@code users-per-transaction}, each in one transaction
+ * (per shard if sharding is enabled) and with its own random sequence, so the data
+ * only depends on the settings and the random seed. A chunk whose first user exists already
+ * is skipped, which makes an interrupted run resumable. Seeded users are named
+ * {@code <prefix>-000000000} and so on and can log in with the configured password.
+ *
+ * @author Todo App Team
+ * @version 1.0
+ * @since 2025-01-01
+ */
+public class DatasetGenerator {
+
+    private static final Logger log = LoggerFactory.getLogger(DatasetGenerator.class);
+
+    private static final String[] VERBS = { "Review", "Write", "Call", "Buy", "Fix", "Plan", "Book", "Clean",
+        "Prepare", "Send", "Update", "Read", "Schedule", "Pay", "Organize", "Check" };
+    private static final String[] NOUNS = { "report", "groceries", "invoice", "presentation", "car", "dentist",
+        "garden", "budget", "newsletter", "flight", "documentation", "birthday gift", "taxes", "backlog",
+        "kitchen", "meeting notes" };
+    private static final String[] CATEGORY_NAMES = { "Work", "Personal", "Shopping", "Health", "Finance",
+        "Home", "Travel", "Learning", "Family", "Errands" };
+    private static final String[] COLORS = { "#e53935", "#8e24aa", "#3949ab", "#039be5", "#00897b", "#7cb342",
+        "#fdd835", "#fb8c00", "#6d4c41", "#546e7a" };
+
+    private static final String[] USER_COLUMNS = { "username", "name", "email", "password", "provider" };
+    private static final String[] CATEGORY_COLUMNS = { "name", "color", "description", "user_id", "created_at",
+        "last_modified", "version" };
+    private static final String[] TODO_COLUMNS = { "title", "description", "completed", "user_id", "category_id",
+        "created_at", "last_modified", "version" };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ConsistentHashRing ring;
+    private final SeedProperties properties;
+    private final String passwordHash;
+    private final ZipfDistribution todoCounts;
+    private final ZipfDistribution categoryCounts;
+
+    /**
+     * Constructor for DatasetGenerator.
+     *
+     * @param jdbcTemplate a template on the data source used by JPA
+     * @param transactionManager the transaction manager of that data source
+     * @param ring the shard ring, or null without sharding
+     * @param properties the generator settings
+     * @param passwordHash the encoded password of every seeded user
+     */
+    public DatasetGenerator(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+            ConsistentHashRing ring, SeedProperties properties, String passwordHash) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.ring = ring;
+        this.properties = properties;
+        this.passwordHash = passwordHash;
+        this.todoCounts = new ZipfDistribution(properties.getMaxTodosPerUser(), properties.getTodoSkew());
+        this.categoryCounts = new ZipfDistribution(properties.getMaxCategoriesPerUser(), properties.getCategorySkew());
+    }
+
+    /**
+     * Seeds all users that do not exist yet.
+     *
+     * @return the number of rows written per table and the time it took
+     */
+    public Result generate() {
+        int users = properties.getUsers();
+        int chunks = (users + properties.getUsersPerTransaction() - 1) / properties.getUsersPerTransaction();
+        log.info("Seeding {} users with about {} todos in {} chunks on {} threads", users,
+                Math.round(todoCounts.mean() * users), chunks, properties.getThreads());
+
+        long start = System.currentTimeMillis();
+        Totals totals = new Totals();
+        AtomicInteger completedChunks = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(properties.getThreads());
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int chunk = 0; chunk < chunks; chunk++) {
+                int current = chunk;
+                futures.add(executor.submit(() -> {
+                    seedChunk(current, totals);
+                    int completed = completedChunks.incrementAndGet();
+                    if (completed * 10 / chunks > (completed - 1) * 10 / chunks) {
+                        log.info("Seeded {} of {} chunks, {} todos so far", completed, chunks, totals.todos.sum());
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Seeding failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Seeding was interrupted", e);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        long millis = System.currentTimeMillis() - start;
+        Result result = new Result(totals.users.sum(), totals.categories.sum(), totals.todos.sum(), millis);
+        log.info("Seeded {} users, {} categories and {} todos in {} ms ({} rows/s)", result.users(),
+                result.categories(), result.todos(), millis, result.rows() * 1000 / Math.max(1, millis));
+        return result;
+    }
+
+    /**
+     * Returns the name of the seeded user with the given number, zero-padded so that
+     * the names of a chunk are a contiguous range.
+     *
+     * @param number the number of the user, starting at 0
+     * @return the username
+     */
+    public String username(int number) {
+        return String.format("%s-%09d", properties.getUsernamePrefix(), number);
+    }
+
+    private void seedChunk(int chunk, Totals totals) {
+        int first = chunk * properties.getUsersPerTransaction();
+        int last = Math.min(properties.getUsers(), first + properties.getUsersPerTransaction());
+        RandomGenerator random = new SplittableRandom(properties.getRandomSeed() + chunk);
+
+        Map<String, List<String>> usernamesByShard = new LinkedHashMap<>();
+        for (int number = first; number < last; number++) {
+            String username = username(number);
+            String shard = ring != null ? ring.shardFor(username) : "";
+            usernamesByShard.computeIfAbsent(shard, key -> new ArrayList<>()).add(username);
+        }
+        usernamesByShard.forEach((shard, usernames) -> {
+            if (ring == null) {
+                seedUsers(usernames, random, totals);
+            } else {
+                RoutingContext.runOnShard(shard, () -> seedUsers(usernames, random, totals));
+            }
+        });
+    }
+
+    private void seedUsers(List<String> usernames, RandomGenerator random, Totals totals) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Integer existing = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM users WHERE username = ?", Integer.class, usernames.get(0));
+            if (existing != null && existing > 0) {
+                return;
+            }
+
+            MultiRowInsert users = new MultiRowInsert("users", USER_COLUMNS);
+            for (String username : usernames) {
+                users.add(username, "Seed user " + username.substring(username.lastIndexOf('-') + 1),
+                        username + "@seed.example.com", passwordHash, "local");
+            }
+            users.flush();
+            Map<Long, String> userIds = new LinkedHashMap<>();
+            jdbcTemplate.query("SELECT id, username FROM users WHERE username BETWEEN ? AND ? ORDER BY id",
+                    (RowCallbackHandler) row -> userIds.put(row.getLong(1), row.getString(2)),
+                    usernames.get(0), usernames.get(usernames.size() - 1));
+            userIds.values().retainAll(usernames);
+
+            LocalDateTime now = LocalDateTime.now();
+            long historySeconds = Math.max(1, properties.getHistory().toSeconds());
+            MultiRowInsert categories = new MultiRowInsert("categories", CATEGORY_COLUMNS);
+            for (Long userId : userIds.keySet()) {
+                int count = categoryCounts.sample(random);
+                for (int i = 0; i < count; i++) {
+                    LocalDateTime created = now.minusSeconds(random.nextLong(historySeconds));
+                    String name = CATEGORY_NAMES[i % CATEGORY_NAMES.length]
+                            + (i < CATEGORY_NAMES.length ? "" : " " + (i / CATEGORY_NAMES.length + 1));
+                    categories.add(name, COLORS[random.nextInt(COLORS.length)], null, userId, created, created, 0L);
+                }
+            }
+            categories.flush();
+            Map<Long, List<Long>> categoryIds = new HashMap<>();
+            long minUserId = userIds.keySet().stream().mapToLong(Long::longValue).min().orElse(0);
+            long maxUserId = userIds.keySet().stream().mapToLong(Long::longValue).max().orElse(0);
+            jdbcTemplate.query("SELECT id, user_id FROM categories WHERE user_id BETWEEN ? AND ? ORDER BY id",
+                    row -> {
+                        long userId = row.getLong(2);
+                        if (userIds.containsKey(userId)) {
+                            categoryIds.computeIfAbsent(userId, key -> new ArrayList<>()).add(row.getLong(1));
+                        }
+                    }, minUserId, maxUserId);
+
+            MultiRowInsert todos = new MultiRowInsert("todo", TODO_COLUMNS);
+            for (Long userId : userIds.keySet()) {
+                List<Long> userCategories = categoryIds.getOrDefault(userId, List.of());
+                ZipfDistribution categoryChoice = userCategories.isEmpty() ? null
+                        : new ZipfDistribution(userCategories.size(), 1.0);
+                int count = todoCounts.sample(random);
+                for (int i = 0; i < count; i++) {
+                    LocalDateTime created = now.minusSeconds(random.nextLong(historySeconds));
+                    long age = Duration.between(created, now).toSeconds();
+                    LocalDateTime modified = created.plusSeconds(age > 0 ? random.nextLong(age) : 0);
+                    Long categoryId = categoryChoice == null || random.nextDouble() < properties.getUncategorizedRatio()
+                            ? null : userCategories.get(categoryChoice.sample(random) - 1);
+                    todos.add(VERBS[random.nextInt(VERBS.length)] + " " + NOUNS[random.nextInt(NOUNS.length)],
+                            random.nextBoolean() ? null : "Generated todo " + (i + 1) + " of " + count,
+                            random.nextDouble() < properties.getCompletedRatio(), userId, categoryId,
+                            created, modified, 0L);
+                }
+            }
+            todos.flush();
+
+            totals.users.add(users.getRows());
+            totals.categories.add(categories.getRows());
+            totals.todos.add(todos.getRows());
+        });
+    }
+
+    /**
+     * Collects rows of one table and writes them with one INSERT statement per batch.
+     */
+    private class MultiRowInsert {
+
+        private final String prefix;
+        private final String rowPlaceholders;
+        private final int columns;
+        private final List<Object> values = new ArrayList<>();
+        private String fullBatchSql;
+        private int pending;
+        private long rows;
+
+        MultiRowInsert(String table, String[] columns) {
+            this.prefix = "INSERT INTO " + table + " (" + String.join(", ", columns) + ") VALUES ";
+            this.rowPlaceholders = "(" + "?, ".repeat(columns.length - 1) + "?)";
+            this.columns = columns.length;
+        }
+
+        void add(Object... row) {
+            if (row.length != columns) {
+                throw new IllegalArgumentException("Expected " + columns + " values but got " + row.length);
+            }
+            Collections.addAll(values, row);
+            if (++pending == properties.getBatchSize()) {
+                flush();
+            }
+        }
+
+        void flush() {
+            if (pending == 0) {
+                return;
+            }
+            String sql;
+            if (pending == properties.getBatchSize()) {
+                if (fullBatchSql == null) {
+                    fullBatchSql = sql(pending);
+                }
+                sql = fullBatchSql;
+            } else {
+                sql = sql(pending);
+            }
+            jdbcTemplate.update(sql, values.toArray());
+            rows += pending;
+            values.clear();
+            pending = 0;
+        }
+
+        long getRows() {
+            return rows;
+        }
+
+        private String sql(int rowCount) {
+            StringBuilder sql = new StringBuilder(prefix.length() + rowCount * (rowPlaceholders.length() + 2));
+            sql.append(prefix);
+            for (int i = 0; i < rowCount; i++) {
+                if (i > 0) {
+                    sql.append(", ");
+                }
+                sql.append(rowPlaceholders);
+            }
+            return sql.toString();
+        }
+    }
+
+    private static final class Totals {
+        private final LongAdder users = new LongAdder();
+        private final LongAdder categories = new LongAdder();
+        private final LongAdder todos = new LongAdder();
+    }
+
+    /**
+     * Rows written by one run of the generator.
+     *
+     * @param users the number of seeded users
+     * @param categories the number of seeded categories
+     * @param todos the number of seeded todos
+     * @param millis the duration of the run in milliseconds
+     */
+    public record Result(long users, long categories, long todos, long millis) {
+
+        /**
+         * Returns the number of rows written to all tables.
+         *
+         * @return the total number of rows
+         */
+        public long rows() {
+            return users + categories + todos;
+        }
+    }
+}
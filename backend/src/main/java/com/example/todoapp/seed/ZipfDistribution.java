@@ -0,0 +1,112 @@
+package com.example.todoapp.seed;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Zipf distribution over the integers 1 to n, where k is drawn with a probability
+ * proportional to 1 / k^exponent. Sampling takes constant time and memory, whatever n,
+ * using the rejection-inversion method of Hörmann and Derflinger ("Rejection-inversion
+ * to generate variates from monotone discrete distributions", 1996).
+ *
+ * @author Todo App Team
+ * @version 1.0
+ * @since 2025-01-01
+ */
+public class ZipfDistribution {
+
+    private final int n;
+    private final double exponent;
+    private final double hIntegralX1;
+    private final double hIntegralN;
+    private final double s;
+
+    /**
+     * Constructor for ZipfDistribution.
+     *
+     * @param n the largest value, at least 1
+     * @param exponent the skew, greater than 0; larger values favour small numbers more
+     * @throws IllegalArgumentException if n or the exponent is out of range
+     */
+    public ZipfDistribution(int n, double exponent) {
+        if (n < 1) {
+            throw new IllegalArgumentException("n must be at least 1 but was " + n);
+        }
+        if (!(exponent > 0)) {
+            throw new IllegalArgumentException("exponent must be greater than 0 but was " + exponent);
+        }
+        this.n = n;
+        this.exponent = exponent;
+        this.hIntegralX1 = hIntegral(1.5) - 1;
+        this.hIntegralN = hIntegral(n + 0.5);
+        this.s = 2 - hIntegralInverse(hIntegral(2.5) - h(2));
+    }
+
+    /**
+     * Draws a value.
+     *
+     * @param random the source of randomness
+     * @return a value between 1 and n
+     */
+    public int sample(RandomGenerator random) {
+        while (true) {
+            double u = hIntegralN + random.nextDouble() * (hIntegralX1 - hIntegralN);
+            double x = hIntegralInverse(u);
+            int k = (int) (x + 0.5);
+            if (k < 1) {
+                k = 1;
+            } else if (k > n) {
+                k = n;
+            }
+            if (k - x <= s || u >= hIntegral(k + 0.5) - h(k)) {
+                return k;
+            }
+        }
+    }
+
+    /**
+     * Returns the expected value, summing over all values; meant for logging, not for hot paths.
+     *
+     * @return the mean of the distribution
+     */
+    public double mean() {
+        double weights = 0;
+        double weighted = 0;
+        for (int k = 1; k <= n; k++) {
+            double weight = h(k);
+            weights += weight;
+            weighted += k * weight;
+        }
+        return weighted / weights;
+    }
+
+    private double h(double x) {
+        return Math.exp(-exponent * Math.log(x));
+    }
+
+    private double hIntegral(double x) {
+        double logX = Math.log(x);
+        return expm1OverX((1 - exponent) * logX) * logX;
+    }
+
+    private double hIntegralInverse(double x) {
+        double t = x * (1 - exponent);
+        if (t < -1) {
+            t = -1;
+        }
+        return Math.exp(log1pOverX(t) * x);
+    }
+
+    /**
+     * log(1 + x) / x, continued to 1 at x = 0.
+     */
+    private static double log1pOverX(double x) {
+        return Math.abs(x) > 1e-8 ? Math.log1p(x) / x : 1 - x * (0.5 - x * (1.0 / 3 - 0.25 * x));
+    }
+
+    /**
+     * (e^x - 1) / x, continued to 1 at x = 0.
+     */
+    private static double expm1OverX(double x) {
+        return Math.abs(x) > 1e-8 ? Math.expm1(x) / x : 1 + x * 0.5 * (1 + x / 3 * (1 + 0.25 * x));
+    }
+}
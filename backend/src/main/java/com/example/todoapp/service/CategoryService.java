@@ -1,15 +1,32 @@
 package com.example.todoapp.service;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.example.todoapp.config.CacheConfig;
+import com.example.todoapp.datasource.RoutingContext;
+import com.example.todoapp.dto.CategoryResponse;
+import com.example.todoapp.dto.CategorySummaryResponse;
+import com.example.todoapp.exception.ConflictException;
+import com.example.todoapp.exception.ForbiddenException;
+import com.example.todoapp.exception.ResourceNotFoundException;
+import com.example.todoapp.exception.StaleVersionException;
 import com.example.todoapp.model.Category;
 import com.example.todoapp.model.User;
+import com.example.todoapp.repository.ArchivedTodoRepository;
 import com.example.todoapp.repository.CategoryRepository;
+import com.example.todoapp.repository.TodoRepository;
 import com.example.todoapp.repository.UserRepository;
+import com.example.todoapp.util.TransactionUtil;
+import com.example.todoapp.web.ResponseBodyCache;
 
 /**
  * Service class for managing Category operations.
@@ -28,16 +45,38 @@ public class CategoryService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private ArchivedTodoRepository archivedTodoRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private TodoListCache todoListCache;
+
+    @Autowired
+    private ResponseBodyCache responseBodyCache;
+
     /**
      * Retrieves all categories for the currently authenticated user.
+     * Read from the primary, as the list is kept in the query cache: a list read from a
+     * lagging replica would stay cached until the categories table next changes.
      * 
      * @return List of categories belonging to the authenticated user
      */
-    public List<Category> getCategoriesForUser() {
+    @Transactional(readOnly = true)
+    public List<CategoryResponse> getCategoriesForUser() {
         String username = SecurityContextHolder.getContext().getAuthentication().getName();
-        User user = userRepository.findByUsername(username)
-            .orElseThrow(() -> new RuntimeException("User not found"));
-        return categoryRepository.findByUserId(user.getId());
+        return RoutingContext.callOnPrimary(() -> {
+            User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+            return categoryRepository.findByUserId(user.getId()).stream()
+                .map(CategoryResponse::from)
+                .collect(Collectors.toList());
+        });
     }
 
     /**
@@ -45,48 +84,63 @@ public class CategoryService {
      * 
      * @param category the Category object to be created
      * @return the created Category object with generated ID and timestamps
+     * @throws ConflictException if the user already has a category with this name
      */
-    public Category createCategory(Category category) {
+    @Transactional
+    public CategoryResponse createCategory(Category category) {
         String username = SecurityContextHolder.getContext().getAuthentication().getName();
         User user = userRepository.findByUsername(username)
-            .orElseThrow(() -> new RuntimeException("User not found"));
+            .orElseThrow(() -> new ResourceNotFoundException("User not found"));
         
         // Check if category with same name already exists for this user
         Category existingCategory = categoryRepository.findByNameAndUserId(category.getName(), user.getId());
         if (existingCategory != null) {
-            throw new RuntimeException("Category with name '" + category.getName() + "' already exists");
+            throw new ConflictException("Category with name '" + category.getName() + "' already exists");
         }
         
         category.setUser(user);
-        return categoryRepository.save(category);
+        category.setVersion(null);
+        CategoryResponse response = CategoryResponse.from(categoryRepository.save(category));
+        responseBodyCache.evict(username);
+        return response;
     }
 
     /**
      * Updates an existing category by its ID.
      * The category must belong to the authenticated user to be updated.
+     * If the given category carries a version, the update only succeeds while the
+     * stored category still has that version.
      * 
      * @param id the unique identifier of the category to update
-     * @param category the Category object containing updated information
+     * @param category the Category object containing updated information and optionally the expected version
      * @return the updated Category object
-     * @throws RuntimeException if the category is not found or doesn't belong to the user
+     * @throws ResourceNotFoundException if the category or user is not found
+     * @throws ForbiddenException if the category belongs to another user
+     * @throws StaleVersionException if the category has been modified since the expected version
+     * @throws ConflictException if the user already has another category with the new name
      */
-    public Category updateCategory(Long id, Category category) {
+    @Transactional
+    public CategoryResponse updateCategory(Long id, Category category) {
         String username = SecurityContextHolder.getContext().getAuthentication().getName();
         User user = userRepository.findByUsername(username)
-            .orElseThrow(() -> new RuntimeException("User not found"));
+            .orElseThrow(() -> new ResourceNotFoundException("User not found"));
         
         Category existingCategory = categoryRepository.findById(id)
-            .orElseThrow(() -> new RuntimeException("Category not found"));
+            .orElseThrow(() -> new ResourceNotFoundException("Category not found"));
         
         if (!existingCategory.getUser().getId().equals(user.getId())) {
-            throw new RuntimeException("User not authorized to update this category");
+            throw new ForbiddenException("User not authorized to update this category");
+        }
+        
+        if (category.getVersion() != null && !category.getVersion().equals(existingCategory.getVersion())) {
+            throw new StaleVersionException("Category has been modified by another request");
         }
         
         // Check if new name conflicts with existing category (excluding current one)
         if (!existingCategory.getName().equals(category.getName())) {
             Category nameConflict = categoryRepository.findByNameAndUserId(category.getName(), user.getId());
             if (nameConflict != null && !nameConflict.getId().equals(id)) {
-                throw new RuntimeException("Category with name '" + category.getName() + "' already exists");
+                throw new ConflictException("Category with name '" + category.getName() + "' already exists");
             }
         }
         
@@ -94,51 +148,116 @@ public class CategoryService {
         existingCategory.setColor(category.getColor());
         existingCategory.setDescription(category.getDescription());
         
-        return categoryRepository.save(existingCategory);
+        // Flushed so that the response carries the incremented version
+        CategoryResponse response = CategoryResponse.from(categoryRepository.saveAndFlush(existingCategory));
+        // The cached todo items embed the category
+        todoListCache.evict(username);
+        responseBodyCache.evict(username);
+        return response;
     }
 
     /**
      * Deletes a category by its ID.
      * The category must belong to the authenticated user to be deleted.
+     * Its todos, including archived ones, are kept and become uncategorized; the bulk updates
+     * of the todos and the ownership-scoped delete run in one transaction.
      * 
      * @param id the unique identifier of the category to delete
-     * @throws RuntimeException if the category is not found or doesn't belong to the user
+     * @throws ResourceNotFoundException if the category or user is not found
+     * @throws ForbiddenException if the category belongs to another user
      */
+    @Transactional
     public void deleteCategory(Long id) {
         String username = SecurityContextHolder.getContext().getAuthentication().getName();
         User user = userRepository.findByUsername(username)
-            .orElseThrow(() -> new RuntimeException("User not found"));
+            .orElseThrow(() -> new ResourceNotFoundException("User not found"));
         
-        Category category = categoryRepository.findById(id)
-            .orElseThrow(() -> new RuntimeException("Category not found"));
-        
-        if (!category.getUser().getId().equals(user.getId())) {
-            throw new RuntimeException("User not authorized to delete this category");
+        todoRepository.clearCategoryForUser(id, user.getId(), LocalDateTime.now());
+        archivedTodoRepository.clearCategoryForUser(id, user.getId());
+        if (categoryRepository.deleteByIdAndUserId(id, user.getId()) == 0) {
+            // Only failed deletes pay for the extra lookup that tells the two cases apart
+            if (categoryRepository.existsById(id)) {
+                throw new ForbiddenException("User not authorized to delete this category");
+            }
+            throw new ResourceNotFoundException("Category not found");
         }
-        
-        categoryRepository.delete(category);
+        evictCategorySummary(username);
+        todoListCache.evict(username);
+        responseBodyCache.evict(username);
     }
 
     /**
      * Retrieves a category by its ID.
      * The category must belong to the authenticated user.
+     * Read from the primary, as a miss puts the category into the second-level cache.
      * 
      * @param id the unique identifier of the category to retrieve
      * @return the Category object
-     * @throws RuntimeException if the category is not found or doesn't belong to the user
+     * @throws ResourceNotFoundException if the category or user is not found
+     * @throws ForbiddenException if the category belongs to another user
      */
-    public Category getCategoryById(Long id) {
+    @Transactional(readOnly = true)
+    public CategoryResponse getCategoryById(Long id) {
         String username = SecurityContextHolder.getContext().getAuthentication().getName();
-        User user = userRepository.findByUsername(username)
-            .orElseThrow(() -> new RuntimeException("User not found"));
-        
-        Category category = categoryRepository.findById(id)
-            .orElseThrow(() -> new RuntimeException("Category not found"));
-        
-        if (!category.getUser().getId().equals(user.getId())) {
-            throw new RuntimeException("User not authorized to access this category");
+        return RoutingContext.callOnPrimary(() -> {
+            User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+            
+            Category category = categoryRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Category not found"));
+            
+            if (!category.getUser().getId().equals(user.getId())) {
+                throw new ForbiddenException("User not authorized to access this category");
+            }
+            
+            return CategoryResponse.from(category);
+        });
+    }
+
+    /**
+     * Retrieves the per-category todo counts for the currently authenticated user.
+     * The counts come from a single aggregate query and are cached per user until
+     * a todo write evicts them. The cache is checked before anything is read, and a miss
+     * is loaded from the primary: counts read from a lagging replica would miss writes whose
+     * eviction has already happened, and stay cached until the user's next write.
+     * 
+     * @return the per-category counts together with the overall totals
+     * @throws ResourceNotFoundException if the current user is not found
+     */
+    @Transactional(readOnly = true)
+    public CategorySummaryResponse getCategorySummary() {
+        String username = SecurityContextHolder.getContext().getAuthentication().getName();
+        Cache cache = cacheManager.getCache(CacheConfig.CATEGORY_SUMMARY_CACHE);
+        if (cache == null) {
+            return loadCategorySummary(username);
         }
-        
-        return category;
+        try {
+            return cache.get(username, () -> RoutingContext.callOnPrimary(() -> loadCategorySummary(username)));
+        } catch (Cache.ValueRetrievalException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Evicts the cached category summary of a user.
+     * Must be called after any write that changes the user's todo counts; inside a
+     * transaction the entry is evicted once the transaction has committed.
+     * 
+     * @param username the name of the user whose summary is stale
+     */
+    public void evictCategorySummary(String username) {
+        Cache cache = cacheManager.getCache(CacheConfig.CATEGORY_SUMMARY_CACHE);
+        if (cache != null) {
+            TransactionUtil.afterCommit(() -> cache.evict(username));
+        }
+    }
+
+    private CategorySummaryResponse loadCategorySummary(String username) {
+        User user = userRepository.findByUsername(username)
+            .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        return new CategorySummaryResponse(todoRepository.countByCategoryForUser(user.getId()));
     }
 }
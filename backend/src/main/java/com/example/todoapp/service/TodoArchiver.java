@@ -0,0 +1,156 @@
+package com.example.todoapp.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.todoapp.datasource.ConsistentHashRing;
+import com.example.todoapp.datasource.RoutingContext;
+import com.example.todoapp.dto.ArchiveCandidate;
+import com.example.todoapp.repository.ArchivedTodoRepository;
+import com.example.todoapp.repository.TodoRepository;
+import com.example.todoapp.repository.UserRepository;
+import com.example.todoapp.search.TodoSearchIndex;
+import com.example.todoapp.web.ResponseBodyCache;
+
+/**
+ * Moves completed todo items that have not been modified for a while from the todo
+ * table to the todo_archive table, keeping the hot table and its indexes small.
+ * Runs periodically in the background (every {@code todo.archive.interval}) and moves
+ * the todo items in batches of {@code todo.archive.batch-size}, each in its own short
+ * transaction, so that locks are held briefly and a failure only rolls back one batch.
+ * Archived todo items are removed from the search index, and the cached category
+ * summaries, todo lists and response bodies of their owners are evicted after every batch.
+ *
+ * @author Todo App Team
+ * @version 1.0
+ * @since 2025-01-01
+ */
+@Component
+public class TodoArchiver {
+
+    private static final Logger log = LoggerFactory.getLogger(TodoArchiver.class);
+
+    private final TodoRepository todoRepository;
+    private final ArchivedTodoRepository archivedTodoRepository;
+    private final UserRepository userRepository;
+    private final CategoryService categoryService;
+    private final TodoListCache todoListCache;
+    private final ResponseBodyCache responseBodyCache;
+    private final TodoSearchIndex todoSearchIndex;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectProvider<ConsistentHashRing> shardRing;
+
+    @Value("${todo.archive.enabled:true}")
+    private boolean enabled;
+
+    @Value("${todo.archive.age:P30D}")
+    private Duration age;
+
+    @Value("${todo.archive.batch-size:500}")
+    private int batchSize;
+
+    /**
+     * Constructor for TodoArchiver.
+     *
+     * @param todoRepository the repository to move todos from
+     * @param archivedTodoRepository the repository to move todos to
+     * @param userRepository the repository to look up the usernames of affected users
+     * @param categoryService the service whose summaries are evicted for affected users
+     * @param todoListCache the cache of todo lists, evicted for affected users
+     * @param responseBodyCache the cache of response bodies, evicted for affected users
+     * @param todoSearchIndex the index to remove archived todos from
+     * @param transactionManager the transaction manager used for the batches
+     * @param shardRing the shard ring if sharding is enabled
+     */
+    public TodoArchiver(TodoRepository todoRepository, ArchivedTodoRepository archivedTodoRepository,
+            UserRepository userRepository, CategoryService categoryService, TodoListCache todoListCache, ResponseBodyCache responseBodyCache,
+            TodoSearchIndex todoSearchIndex, PlatformTransactionManager transactionManager,
+            ObjectProvider<ConsistentHashRing> shardRing) {
+        this.todoRepository = todoRepository;
+        this.archivedTodoRepository = archivedTodoRepository;
+        this.userRepository = userRepository;
+        this.categoryService = categoryService;
+        this.todoListCache = todoListCache;
+        this.responseBodyCache = responseBodyCache;
+        this.todoSearchIndex = todoSearchIndex;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.shardRing = shardRing;
+    }
+
+    /**
+     * Archives due todo items periodically unless disabled with {@code todo.archive.enabled=false}.
+     */
+    @Scheduled(initialDelayString = "${todo.archive.interval:PT1H}", fixedDelayString = "${todo.archive.interval:PT1H}")
+    public void archiveScheduled() {
+        if (enabled) {
+            archive();
+        }
+    }
+
+    /**
+     * Moves all completed todo items last modified more than the configured age ago
+     * to the archive, in the database or in every shard.
+     *
+     * @return the number of archived todo items
+     */
+    public long archive() {
+        long start = System.currentTimeMillis();
+        LocalDateTime cutoff = LocalDateTime.now().minus(age);
+
+        long count = 0;
+        ConsistentHashRing ring = shardRing.getIfAvailable();
+        if (ring == null) {
+            count = archiveBefore(cutoff);
+        } else {
+            for (String shard : ring.getShards()) {
+                count += RoutingContext.callOnShard(shard, () -> archiveBefore(cutoff));
+            }
+        }
+
+        log.info("Archived {} completed todos in {} ms", count, System.currentTimeMillis() - start);
+        return count;
+    }
+
+    private long archiveBefore(LocalDateTime cutoff) {
+        long count = 0;
+        List<ArchiveCandidate> batch;
+        do {
+            batch = transactionTemplate.execute(status -> archiveBatch(cutoff));
+            for (ArchiveCandidate candidate : batch) {
+                todoSearchIndex.delete(candidate.getId());
+            }
+            List<Long> userIds = batch.stream().map(ArchiveCandidate::getUserId).distinct().toList();
+            if (!userIds.isEmpty()) {
+                // The caches are keyed by username, which never changes
+                for (String username : userRepository.findUsernamesByIdIn(userIds)) {
+                    categoryService.evictCategorySummary(username);
+                    todoListCache.evict(username);
+                    responseBodyCache.evict(username);
+                }
+            }
+            count += batch.size();
+        } while (batch.size() == batchSize);
+        return count;
+    }
+
+    private List<ArchiveCandidate> archiveBatch(LocalDateTime cutoff) {
+        List<ArchiveCandidate> batch = todoRepository.findArchiveCandidates(cutoff, PageRequest.ofSize(batchSize));
+        if (!batch.isEmpty()) {
+            List<Long> ids = batch.stream().map(ArchiveCandidate::getId).toList();
+            archivedTodoRepository.copyFromTodos(ids, LocalDateTime.now());
+            todoRepository.deleteAllByIdIn(ids);
+        }
+        return batch;
+    }
+}
@@ -0,0 +1,230 @@
+package com.example.todoapp.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import com.example.todoapp.datasource.RoutingContext;
+import com.example.todoapp.dto.CategoryResponse;
+import com.example.todoapp.dto.TodoResponse;
+import com.example.todoapp.util.TransactionUtil;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Per-user cache of the full todo list returned by {@link TodoService#getTodosForUser()},
+ * keyed by username. The cache is bounded by the estimated heap size of the cached lists
+ * ({@code todo.cache.lists.max-size}, 0 disables it) rather than by their number, since
+ * list lengths vary by orders of magnitude between users; when full, Caffeine evicts the
+ * entries least likely to be used again.
+ * <p>
+ * Writes keep the cached lists current after commit: created and updated todo items are
+ * patched into the list, deleted ones are removed, and every other change evicts it.
+ * Lists are loaded and patched atomically per user, so a write that commits while a list
+ * is being loaded is applied once the load has finished. Lists are loaded from the primary,
+ * even though the calling transaction is read-only: a list read from a lagging replica would
+ * miss writes whose cache updates have already been applied, and stay cached without them
+ * until the user's next write. The cache is registered with the
+ * Spring cache manager (see {@link com.example.todoapp.config.CacheConfig}), which exports
+ * its hit, miss and eviction statistics.
+ *
+ * @author Todo App Team
+ * @version 1.0
+ * @since 2025-01-01
+ */
+@Component
+public class TodoListCache {
+
+    /**
+     * Estimated sizes in bytes of the objects making up a cached list, assuming compressed
+     * object pointers and Latin-1 strings.
+     */
+    private static final int LIST_BYTES = 64;
+    private static final int TODO_BYTES = 48 + 16 + 16;
+    private static final int CATEGORY_BYTES = 48 + 16 + 16;
+    private static final int STRING_BYTES = 24 + 16;
+    private static final int DATE_TIME_BYTES = 24 + 24 + 24;
+
+    private final Cache<String, List<TodoResponse>> cache;
+
+    /**
+     * Constructor for TodoListCache.
+     *
+     * @param maxSize the upper bound for the estimated size of all cached lists
+     */
+    public TodoListCache(@Value("${todo.cache.lists.max-size:64MB}") DataSize maxSize) {
+        this.cache = maxSize.toBytes() > 0
+                ? Caffeine.newBuilder()
+                        .maximumWeight(maxSize.toBytes())
+                        .weigher(TodoListCache::weigh)
+                        .recordStats()
+                        .build()
+                : null;
+    }
+
+    /**
+     * Returns the cached todo list of a user, loading it from the primary on a miss.
+     * Must be called before the transaction reads anything, so that the loader opens the
+     * transaction's connection and sees every write whose cache update has already been applied.
+     *
+     * @param username the name of the user
+     * @param loader loads the user's todo items
+     * @return the user's todo items, unmodifiable
+     */
+    public List<TodoResponse> get(String username, Supplier<List<TodoResponse>> loader) {
+        if (cache == null) {
+            return loader.get();
+        }
+        return cache.get(username, key -> Collections.unmodifiableList(
+                new ArrayList<>(RoutingContext.callOnPrimary(loader))));
+    }
+
+    /**
+     * Adds a created todo item to the cached list of a user after commit.
+     *
+     * @param username the name of the owner
+     * @param todo the created todo item
+     */
+    public void added(String username, TodoResponse todo) {
+        patch(username, todo, true);
+    }
+
+    /**
+     * Replaces an updated todo item in the cached list of a user after commit.
+     * An older version arriving after a newer one is ignored.
+     *
+     * @param username the name of the owner
+     * @param todo the updated todo item
+     */
+    public void updated(String username, TodoResponse todo) {
+        patch(username, todo, false);
+    }
+
+    /**
+     * Removes a deleted todo item from the cached list of a user after commit.
+     *
+     * @param username the name of the owner
+     * @param todoId the ID of the deleted todo item
+     */
+    public void removed(String username, Long todoId) {
+        if (cache != null) {
+            TransactionUtil.afterCommit(() -> cache.asMap().computeIfPresent(username, (key, todos) -> {
+                List<TodoResponse> remaining = new ArrayList<>(todos.size());
+                for (TodoResponse todo : todos) {
+                    if (!todo.getId().equals(todoId)) {
+                        remaining.add(todo);
+                    }
+                }
+                return Collections.unmodifiableList(remaining);
+            }));
+        }
+    }
+
+    /**
+     * Evicts the cached list of a user after commit.
+     * Must be called after any other write that changes the user's todo items or their categories.
+     *
+     * @param username the name of the user
+     */
+    public void evict(String username) {
+        if (cache != null) {
+            TransactionUtil.afterCommit(() -> cache.invalidate(username));
+        }
+    }
+
+    /**
+     * Evicts all cached lists after commit, for writes that span users.
+     */
+    public void evictAll() {
+        if (cache != null) {
+            TransactionUtil.afterCommit(cache::invalidateAll);
+        }
+    }
+
+    /**
+     * Returns the underlying Caffeine cache.
+     *
+     * @return the cache, or null if caching is disabled
+     */
+    public Cache<String, List<TodoResponse>> getNativeCache() {
+        return cache;
+    }
+
+    /**
+     * Returns the estimated heap size of all cached lists.
+     *
+     * @return the estimated size in bytes
+     */
+    public long estimatedSize() {
+        return cache == null ? 0 : cache.policy().eviction()
+                .map(eviction -> eviction.weightedSize().orElse(0))
+                .orElse(0L);
+    }
+
+    private void patch(String username, TodoResponse todo, boolean insert) {
+        if (cache == null) {
+            return;
+        }
+        TransactionUtil.afterCommit(() -> cache.asMap().computeIfPresent(username, (key, todos) -> {
+            List<TodoResponse> patched = new ArrayList<>(todos.size() + 1);
+            boolean found = false;
+            for (TodoResponse existing : todos) {
+                if (existing.getId().equals(todo.getId())) {
+                    found = true;
+                    patched.add(isNewer(todo, existing) ? todo : existing);
+                } else {
+                    patched.add(existing);
+                }
+            }
+            if (!found && !insert) {
+                // Deleted in the meantime
+                return todos;
+            }
+            if (!found) {
+                patched.add(todo);
+            }
+            return Collections.unmodifiableList(patched);
+        }));
+    }
+
+    private static boolean isNewer(TodoResponse todo, TodoResponse existing) {
+        return todo.getVersion() == null || existing.getVersion() == null
+                || todo.getVersion() >= existing.getVersion();
+    }
+
+    /**
+     * Estimates the heap size of a cached list.
+     *
+     * @param username the key
+     * @param todos the cached list
+     * @return the estimated size in bytes, capped at {@link Integer#MAX_VALUE}
+     */
+    static int weigh(String username, List<TodoResponse> todos) {
+        long bytes = LIST_BYTES + sizeOf(username) + 4L * todos.size();
+        for (TodoResponse todo : todos) {
+            bytes += TODO_BYTES + sizeOf(todo.getTitle()) + sizeOf(todo.getDescription())
+                    + sizeOf(todo.getCreatedAt()) + sizeOf(todo.getLastModified());
+            CategoryResponse category = todo.getCategory();
+            if (category != null) {
+                bytes += CATEGORY_BYTES + sizeOf(category.getName()) + sizeOf(category.getColor())
+                        + sizeOf(category.getDescription()) + sizeOf(category.getCreatedAt())
+                        + sizeOf(category.getLastModified());
+            }
+        }
+        return (int) Math.min(bytes, Integer.MAX_VALUE);
+    }
+
+    private static long sizeOf(String value) {
+        return value == null ? 0 : STRING_BYTES + value.length();
+    }
+
+    private static long sizeOf(LocalDateTime value) {
+        return value == null ? 0 : DATE_TIME_BYTES;
+    }
+}
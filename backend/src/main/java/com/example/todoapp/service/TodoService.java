@@ -1,22 +1,49 @@
 package com.example.todoapp.service;
 
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.example.todoapp.dto.TodoFilter;
+import com.example.todoapp.dto.TodoPatchRequest;
+import com.example.todoapp.dto.TodoResponse;
+import com.example.todoapp.exception.ForbiddenException;
+import com.example.todoapp.exception.ResourceNotFoundException;
+import com.example.todoapp.exception.StaleVersionException;
 import com.example.todoapp.model.Category;
 import com.example.todoapp.model.Todo;
 import com.example.todoapp.model.User;
+import com.example.todoapp.repository.ArchivedTodoRepository;
 import com.example.todoapp.repository.CategoryRepository;
 import com.example.todoapp.repository.TodoRepository;
+import com.example.todoapp.repository.TodoSpecifications;
 import com.example.todoapp.repository.UserRepository;
+import com.example.todoapp.search.TodoSearchIndex;
+import com.example.todoapp.util.TransactionUtil;
+import com.example.todoapp.web.ResponseBodyCache;
 
 /**
  * Service class for todo-related business logic.
  * Handles CRUD operations for todo items with user authorization checks.
+ * Every public method runs in a single transaction, so a request checks out one
+ * connection; reads use read-only transactions, in which Hibernate neither keeps
+ * snapshots for dirty checking nor flushes. Search index updates are applied after commit.
+ * Todo items are returned as {@link TodoResponse}s built inside the transaction, so the
+ * connection is released before the controller serializes the response. The full todo
+ * list of a user is served from the {@link TodoListCache}, which writes keep up to date;
+ * writes also evict the user's cached response bodies from the {@link ResponseBodyCache}.
  * 
  * @author Todo App Team
  * @version 1.0
@@ -25,6 +52,18 @@ import com.example.todoapp.repository.UserRepository;
 @Service
 public class TodoService {
 
+    private static final Logger log = LoggerFactory.getLogger(TodoService.class);
+
+    /**
+     * Todo properties that clients are allowed to sort by.
+     */
+    private static final Set<String> SORTABLE_PROPERTIES = Set.of("id", "title", "completed", "createdAt", "lastModified");
+
+    /**
+     * Upper bound for the number of search results returned at once.
+     */
+    private static final int MAX_SEARCH_RESULTS = 1000;
+
     @Autowired
     private TodoRepository todoRepository;
 
@@ -34,15 +73,33 @@ public class TodoService {
     @Autowired
     private CategoryRepository categoryRepository;
 
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private TodoSearchIndex todoSearchIndex;
+
+    @Autowired
+    private ArchivedTodoRepository archivedTodoRepository;
+
+    @Autowired
+    private TodoListCache todoListCache;
+
+    @Autowired
+    private ResponseBodyCache responseBodyCache;
+
     /**
      * Retrieves all todo items for the currently authenticated user.
+     * The list is cached per user; only a cache miss queries the database.
      * 
      * @return a list of todo items belonging to the current user
-     * @throws RuntimeException if the current user is not found
+     * @throws ResourceNotFoundException if the current user is not found
      */
-    public List<Todo> getTodosForUser() {
-        User user = getCurrentUser();
-        return todoRepository.findByUserId(user.getId());
+    @Transactional(readOnly = true)
+    public List<TodoResponse> getTodosForUser() {
+        // Keyed by username, so that a miss is detected before the transaction reads anything
+        return todoListCache.get(getCurrentUsername(),
+                () -> toResponses(todoRepository.findByUserId(getCurrentUser().getId())));
     }
 
     /**
@@ -50,58 +107,148 @@ public class TodoService {
      * 
      * @param categoryId the ID of the category to filter by, or null for uncategorized todos
      * @return a list of todo items belonging to the current user and category
-     * @throws RuntimeException if the current user is not found
+     * @throws ResourceNotFoundException if the current user is not found
      */
-    public List<Todo> getTodosByCategory(Long categoryId) {
+    @Transactional(readOnly = true)
+    public List<TodoResponse> getTodosByCategory(Long categoryId) {
         User user = getCurrentUser();
         if (categoryId == null) {
-            return todoRepository.findByUserIdAndCategoryIsNull(user.getId());
+            return toResponses(todoRepository.findByUserIdAndCategoryIsNull(user.getId()));
         } else {
-            return todoRepository.findByUserIdAndCategoryId(user.getId(), categoryId);
+            return toResponses(todoRepository.findByUserIdAndCategoryId(user.getId(), categoryId));
+        }
+    }
+
+    /**
+     * Retrieves the todo items of the currently authenticated user that match the given filter.
+     * Filtering and sorting are executed by the database so that only the requested rows are returned.
+     * 
+     * @param filter the optional completion, category and date criteria
+     * @param sort the requested sort order, or unsorted
+     * @return a list of matching todo items belonging to the current user
+     * @throws IllegalArgumentException if the sort order references an unsupported property
+     * @throws ResourceNotFoundException if the current user is not found
+     */
+    @Transactional(readOnly = true)
+    public List<TodoResponse> findTodos(TodoFilter filter, Sort sort) {
+        for (Sort.Order order : sort) {
+            if (!SORTABLE_PROPERTIES.contains(order.getProperty())) {
+                throw new IllegalArgumentException("Invalid sort property: " + order.getProperty());
+            }
+        }
+        User user = getCurrentUser();
+        return toResponses(todoRepository.findAll(TodoSpecifications.matching(user.getId(), filter), sort));
+    }
+
+    /**
+     * Retrieves the archived todo items of the currently authenticated user.
+     * Completed todo items are moved to the archive by the {@link TodoArchiver}
+     * and no longer appear in the regular todo lists.
+     * 
+     * @return a list of archived todo items, most recently modified first
+     * @throws ResourceNotFoundException if the current user is not found
+     */
+    @Transactional(readOnly = true)
+    public List<TodoResponse> getArchivedTodos() {
+        User user = getCurrentUser();
+        return archivedTodoRepository.findByUserIdOrderByLastModifiedDesc(user.getId()).stream()
+                .map(TodoResponse::from)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Searches the titles and descriptions of the current user's todo items.
+     * The full-text index returns the matching IDs, which are then loaded in one query.
+     * 
+     * @param query the search query in simple query syntax
+     * @param limit the maximum number of results, capped at 1000
+     * @return the matching todo items, best match first
+     * @throws IllegalArgumentException if the query is blank or the limit is not positive
+     * @throws ResourceNotFoundException if the current user is not found
+     */
+    @Transactional(readOnly = true)
+    public List<TodoResponse> searchTodos(String query, int limit) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query must not be blank");
+        }
+        if (limit < 1) {
+            throw new IllegalArgumentException("Search limit must be positive");
         }
+        User user = getCurrentUser();
+        List<Long> ids = todoSearchIndex.search(user.getId(), query, Math.min(limit, MAX_SEARCH_RESULTS));
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Integer> rank = new HashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            rank.put(ids.get(i), i);
+        }
+        return todoRepository.findAllById(ids).stream()
+                .filter(todo -> todo.getUser().getId().equals(user.getId()))
+                .sorted(Comparator.comparing(todo -> rank.get(todo.getId())))
+                .map(TodoResponse::from)
+                .collect(Collectors.toList());
     }
 
     /**
      * Creates a new todo item for the currently authenticated user.
      * 
      * @param todo the todo item to create
-     * @return the saved todo item with generated ID and user association
-     * @throws RuntimeException if the current user is not found
+     * @return the saved todo item with generated ID and version
+     * @throws ResourceNotFoundException if the current user is not found
      */
-    public Todo createTodo(Todo todo) {
+    @Transactional
+    public TodoResponse createTodo(Todo todo) {
         User user = getCurrentUser();
         todo.setUser(user);
+        todo.setVersion(null);
         
         // Handle category assignment
         if (todo.getCategory() != null && todo.getCategory().getId() != null) {
             Category category = categoryRepository.findById(todo.getCategory().getId())
-                .orElseThrow(() -> new RuntimeException("Category not found"));
+                .orElseThrow(() -> new ResourceNotFoundException("Category not found"));
             if (!category.getUser().getId().equals(user.getId())) {
-                throw new RuntimeException("You are not authorized to use this category");
+                throw new ForbiddenException("You are not authorized to use this category");
             }
             todo.setCategory(category);
         }
         
         Todo savedTodo = todoRepository.save(todo);
-        System.out.println("Saved Todo: " + savedTodo); // Add this line
-        return savedTodo;
+        categoryService.evictCategorySummary(user.getUsername());
+        TransactionUtil.afterCommit(() -> todoSearchIndex.index(savedTodo));
+        TodoResponse response = TodoResponse.from(savedTodo);
+        todoListCache.added(user.getUsername(), response);
+        responseBodyCache.evict(user.getUsername());
+        log.atInfo()
+                .addKeyValue("todoId", savedTodo.getId())
+                .addKeyValue("userId", user.getId())
+                .log("Todo created");
+        return response;
     }
 
     /**
      * Updates an existing todo item.
-     * Only the owner of the todo item can update it.
+     * Only the owner of the todo item can update it. If todoDetails carries a version,
+     * the update only succeeds while the stored todo item still has that version;
+     * concurrent updates that slip past this check are rejected by Hibernate's version check.
      * 
      * @param id the ID of the todo item to update
-     * @param todoDetails the updated todo information
+     * @param todoDetails the updated todo information and optionally the expected version
      * @return the updated todo item
-     * @throws RuntimeException if todo is not found, user is not found, or user is not authorized
+     * @throws ResourceNotFoundException if the todo item, user or category is not found
+     * @throws ForbiddenException if the todo item or category belongs to another user
+     * @throws StaleVersionException if the todo item has been modified since the expected version
      */
-    public Todo updateTodo(Long id, Todo todoDetails) {
+    @Transactional
+    public TodoResponse updateTodo(Long id, Todo todoDetails) {
         User user = getCurrentUser();
         Todo todo = todoRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Todo not found"));
+                .orElseThrow(() -> new ResourceNotFoundException("Todo not found"));
         if (!todo.getUser().getId().equals(user.getId())) {
-            throw new RuntimeException("You are not authorized to update this todo");
+            throw new ForbiddenException("You are not authorized to update this todo");
+        }
+        if (todoDetails.getVersion() != null && !todoDetails.getVersion().equals(todo.getVersion())) {
+            throw new StaleVersionException("Todo has been modified by another request");
         }
         todo.setTitle(todoDetails.getTitle());
         todo.setDescription(todoDetails.getDescription());
@@ -110,50 +257,119 @@ public class TodoService {
         // Handle category assignment
         if (todoDetails.getCategory() != null) {
             Category category = categoryRepository.findById(todoDetails.getCategory().getId())
-                .orElseThrow(() -> new RuntimeException("Category not found"));
+                .orElseThrow(() -> new ResourceNotFoundException("Category not found"));
             if (!category.getUser().getId().equals(user.getId())) {
-                throw new RuntimeException("You are not authorized to use this category");
+                throw new ForbiddenException("You are not authorized to use this category");
             }
             todo.setCategory(category);
         } else {
             todo.setCategory(null);
         }
         
-        return todoRepository.save(todo);
+        // Flushed so that the response carries the incremented version
+        Todo savedTodo = todoRepository.saveAndFlush(todo);
+        categoryService.evictCategorySummary(user.getUsername());
+        TransactionUtil.afterCommit(() -> todoSearchIndex.index(savedTodo));
+        TodoResponse response = TodoResponse.from(savedTodo);
+        todoListCache.updated(user.getUsername(), response);
+        responseBodyCache.evict(user.getUsername());
+        return response;
+    }
+
+    /**
+     * Partially updates a todo item with a single UPDATE statement.
+     * Only the owner of the todo item can update it, and a new category must belong
+     * to the same user; both checks, and the optional version check, are part of the
+     * statement's WHERE clause.
+     * 
+     * @param id the ID of the todo item to update
+     * @param patch the fields to change and optionally the expected version
+     * @return the new version if an expected version was given, null otherwise
+     * @throws IllegalArgumentException if the patch sets the title to null or blank
+     * @throws ResourceNotFoundException if the todo item or category is not found for the user
+     * @throws StaleVersionException if the todo item has been modified since the expected version
+     */
+    @Transactional
+    public Long patchTodo(Long id, TodoPatchRequest patch) {
+        if (patch.isTitlePresent() && (patch.getTitle() == null || patch.getTitle().isBlank())) {
+            throw new IllegalArgumentException("Title must not be blank");
+        }
+        User user = getCurrentUser();
+        if (todoRepository.patchForUser(id, user.getId(), patch) == 0) {
+            // Only failed updates pay for the lookup that explains the failure
+            Todo todo = todoRepository.findById(id)
+                    .filter(existing -> existing.getUser().getId().equals(user.getId()))
+                    .orElseThrow(() -> new ResourceNotFoundException("Todo not found"));
+            if (patch.getVersion() != null && !patch.getVersion().equals(todo.getVersion())) {
+                throw new StaleVersionException("Todo has been modified by another request");
+            }
+            throw new ResourceNotFoundException("Category not found");
+        }
+        categoryService.evictCategorySummary(user.getUsername());
+        todoListCache.evict(user.getUsername());
+        responseBodyCache.evict(user.getUsername());
+        if (patch.changesSearchableFields()) {
+            todoRepository.findById(id).ifPresent(todo -> TransactionUtil.afterCommit(() -> todoSearchIndex.index(todo)));
+        }
+        return patch.getVersion() != null ? patch.getVersion() + 1 : null;
     }
 
     /**
      * Deletes a todo item.
-     * Only the owner of the todo item can delete it.
+     * Only the owner of the todo item can delete it; the ownership check is part
+     * of the DELETE statement, so the todo item is not loaded first.
      * 
      * @param id the ID of the todo item to delete
-     * @throws RuntimeException if todo is not found, user is not found, or user is not authorized
+     * @throws ResourceNotFoundException if the todo item or user is not found
+     * @throws ForbiddenException if the todo item belongs to another user
      */
+    @Transactional
     public void deleteTodo(Long id) {
         User user = getCurrentUser();
-        Todo todo = todoRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Todo not found"));
-        if (!todo.getUser().getId().equals(user.getId())) {
-            throw new RuntimeException("You are not authorized to delete this todo");
+        if (todoRepository.deleteByIdAndUserId(id, user.getId()) == 0) {
+            // Only failed deletes pay for the extra lookup that tells the two cases apart
+            if (todoRepository.existsById(id)) {
+                throw new ForbiddenException("You are not authorized to delete this todo");
+            }
+            throw new ResourceNotFoundException("Todo not found");
         }
-        todoRepository.delete(todo);
+        categoryService.evictCategorySummary(user.getUsername());
+        todoListCache.removed(user.getUsername(), id);
+        responseBodyCache.evict(user.getUsername());
+        TransactionUtil.afterCommit(() -> todoSearchIndex.delete(id));
+    }
+
+    /**
+     * Converts loaded todo items to responses while the transaction is still open.
+     * 
+     * @param todos the todo items
+     * @return the responses in the same order
+     */
+    private static List<TodoResponse> toResponses(List<Todo> todos) {
+        return todos.stream().map(TodoResponse::from).collect(Collectors.toList());
     }
 
     /**
      * Retrieves the currently authenticated user from the security context.
      * 
      * @return the current authenticated user
-     * @throws RuntimeException if the current user is not found in the database
+     * @throws ResourceNotFoundException if the current user is not found in the database
      */
     private User getCurrentUser() {
+        return userRepository.findByUsername(getCurrentUsername())
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+    }
+
+    /**
+     * Retrieves the name of the currently authenticated user without querying the database.
+     * 
+     * @return the username from the security context
+     */
+    private String getCurrentUsername() {
         Object principal = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
-        String username;
         if (principal instanceof UserDetails) {
-            username = ((UserDetails)principal).getUsername();
-        } else {
-            username = principal.toString();
+            return ((UserDetails)principal).getUsername();
         }
-        return userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        return principal.toString();
     }
 }
\ No newline at end of file
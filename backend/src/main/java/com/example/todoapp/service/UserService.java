@@ -1,15 +1,28 @@
 package com.example.todoapp.service;
 
+import java.util.List;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.example.todoapp.datasource.RoutingContext;
+import com.example.todoapp.exception.ResourceNotFoundException;
 import com.example.todoapp.model.User;
+import com.example.todoapp.repository.ArchivedTodoRepository;
+import com.example.todoapp.repository.CategoryRepository;
+import com.example.todoapp.repository.TodoRepository;
 import com.example.todoapp.repository.UserRepository;
+import com.example.todoapp.search.TodoSearchIndex;
+import com.example.todoapp.util.TransactionUtil;
+import com.example.todoapp.web.ResponseBodyCache;
 
 /**
  * Service class for user-related business logic.
  * Handles user registration and management operations.
+ * Lookups name the user explicitly so that they are routed to the user's shard
+ * before the user is authenticated.
  * 
  * @author Todo App Team
  * @version 1.0
@@ -24,6 +37,27 @@ public class UserService {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private ArchivedTodoRepository archivedTodoRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private TodoListCache todoListCache;
+
+    @Autowired
+    private ResponseBodyCache responseBodyCache;
+
+    @Autowired
+    private TodoSearchIndex todoSearchIndex;
+
     /**
      * Registers a new user in the system.
      * Encodes the user's password using BCrypt and sets the provider to "local".
@@ -32,10 +66,11 @@ public class UserService {
      * @return the saved user entity with encoded password and generated ID
      * @throws RuntimeException if user registration fails
      */
+    @Transactional
     public User registerUser(User user) {
         user.setPassword(passwordEncoder.encode(user.getPassword()));
         user.setProvider("local");
-        return userRepository.save(user);
+        return RoutingContext.callAsUser(user.getUsername(), () -> userRepository.save(user));
     }
     
     /**
@@ -43,10 +78,35 @@ public class UserService {
      * 
      * @param username the username to search for
      * @return the user entity if found
-     * @throws RuntimeException if user is not found
+     * @throws ResourceNotFoundException if user is not found
      */
+    @Transactional(readOnly = true)
     public User findByUsername(String username) {
-        return userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("User not found with username: " + username));
+        return RoutingContext.callAsUser(username, () -> userRepository.findByUsername(username))
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with username: " + username));
+    }
+
+    /**
+     * Deletes a user with all their todo items, archived todo items and categories.
+     * 
+     * @param username the name of the user to delete
+     * @return true if the user existed
+     */
+    @Transactional
+    public boolean deleteUser(String username) {
+        return RoutingContext.callAsUser(username, () -> userRepository.findByUsername(username)
+                .map(user -> {
+                    List<Long> todoIds = todoRepository.findIdsByUserId(user.getId());
+                    archivedTodoRepository.deleteAllByUserId(user.getId());
+                    todoRepository.deleteAllByUserId(user.getId());
+                    categoryRepository.deleteAllByUserId(user.getId());
+                    userRepository.deleteById(user.getId());
+                    categoryService.evictCategorySummary(username);
+                    todoListCache.evict(username);
+                    responseBodyCache.evict(username);
+                    TransactionUtil.afterCommit(() -> todoIds.forEach(todoSearchIndex::delete));
+                    return true;
+                })
+                .orElse(false));
     }
 }
@@ -0,0 +1,54 @@
+package com.example.todoapp.tracing;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+
+/**
+ * Observes every intercepted service method as {@code todo.service}, which becomes a
+ * span named after the class and method (e.g. {@code todo-service.get-todos-for-user})
+ * inside the span of the current request, and a timer tagged with class and method.
+ *
+ * @author Todo App Team
+ * @version 1.0
+ * @since 2025-01-01
+ */
+public class ServiceObservationInterceptor implements MethodInterceptor {
+
+    /**
+     * Name of the observation.
+     */
+    public static final String OBSERVATION_NAME = "todo.service";
+
+    private final ObjectProvider<ObservationRegistry> observationRegistry;
+    private volatile ObservationRegistry registry;
+
+    /**
+     * Constructor for ServiceObservationInterceptor.
+     *
+     * @param observationRegistry the observation registry, looked up on first use since
+     *        the interceptor is created together with the bean post-processors
+     */
+    public ServiceObservationInterceptor(ObjectProvider<ObservationRegistry> observationRegistry) {
+        this.observationRegistry = observationRegistry;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        ObservationRegistry current = registry;
+        if (current == null) {
+            current = observationRegistry.getIfAvailable(() -> ObservationRegistry.NOOP);
+            registry = current;
+        }
+        String service = invocation.getMethod().getDeclaringClass().getSimpleName();
+        String method = invocation.getMethod().getName();
+        Observation observation = Observation.createNotStarted(OBSERVATION_NAME, current)
+                .contextualName(service + "." + method)
+                .lowCardinalityKeyValue("class", service)
+                .lowCardinalityKeyValue("method", method);
+        return observation.observeChecked(invocation::proceed);
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.todoapp.util;
+
+import org.springframework.http.ResponseEntity;
+
+import com.example.todoapp.exception.StaleVersionException;
+
+/**
+ * Helpers for exposing entity versions as HTTP entity tags.
+ * The ETag of a todo item or category is its quoted version number, e.g. {@code "3"};
+ * clients send it back in {@code If-Match} to make an update conditional.
+ *
+ * @author Todo App Team
+ * @version 1.0
+ * @since 2025-01-01
+ */
+public final class ETagUtil {
+
+    private ETagUtil() {
+    }
+
+    /**
+     * Builds a 200 OK response carrying the entity tag of the given version.
+     *
+     * @param body the response body
+     * @param version the entity version, or null to omit the ETag header
+     * @param <T> the body type
+     * @return the response entity
+     */
+    public static <T> ResponseEntity<T> okWithETag(T body, Long version) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+        if (version != null) {
+            builder.eTag(version.toString());
+        }
+        return builder.body(body);
+    }
+
+    /**
+     * Extracts the expected entity version from an If-Match header.
+     * If-Match uses strong comparison (RFC 9110, section 13.1.1), so a weak tag never
+     * matches and the update fails as if the version were stale.
+     *
+     * @param ifMatch the header value, may be null
+     * @return the expected version, or null if the header is absent or "*"
+     * @throws StaleVersionException if the header is a weak entity tag
+     * @throws IllegalArgumentException if the header is not a single entity tag of a version
+     */
+    public static Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank()) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.equals("*")) {
+            return null;
+        }
+        if (tag.startsWith("W/")) {
+            throw new StaleVersionException("Weak entity tags never match If-Match");
+        }
+        if (tag.length() < 3 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+            throw new IllegalArgumentException("Invalid If-Match header: " + ifMatch);
+        }
+        try {
+            return Long.valueOf(tag.substring(1, tag.length() - 1));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid If-Match header: " + ifMatch);
+        }
+    }
+}
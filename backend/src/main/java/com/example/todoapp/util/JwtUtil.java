@@ -4,8 +4,10 @@ import java.security.Key;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
@@ -15,6 +17,8 @@ import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 
 /**
  * Utility class for JSON Web Token (JWT) operations.
@@ -34,6 +38,21 @@ public class JwtUtil {
     @Value("${jwt.expiration}")
     private Long expiration;
 
+    private Timer validTimer;
+    private Timer invalidTimer;
+
+    /**
+     * Registers the {@code security.jwt.validation} timers, tagged with whether the token was valid.
+     * Without a registry, as in unit tests, nothing is recorded.
+     *
+     * @param meterRegistry the registry to record the timers in
+     */
+    @Autowired(required = false)
+    public void setMeterRegistry(MeterRegistry meterRegistry) {
+        this.validTimer = validationTimer(meterRegistry, "valid");
+        this.invalidTimer = validationTimer(meterRegistry, "invalid");
+    }
+
     /**
      * Extracts the username (subject) from the JWT token.
      *
@@ -64,31 +83,44 @@ public class JwtUtil {
      * @return the extracted claim of type T
      */
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
+        final Claims claims = parseToken(token);
         return claimsResolver.apply(claims);
     }
 
     /**
-     * Extracts all claims from the JWT token.
-     * This method parses the token and returns the complete Claims object.
+     * Parses the JWT token and returns all of its claims.
+     * This method parses the token, verifying its signature and expiration, and returns
+     * the complete Claims object. The time taken is recorded as {@code security.jwt.validation}.
+     * Callers that need several claims or validate the token should parse it once with
+     * this method rather than calling the other extractors, which parse it again each.
      *
      * @param token the JWT token to parse
      * @return the Claims object containing all token claims
      * @throws io.jsonwebtoken.JwtException if the token is invalid or malformed
      */
-    private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder().setSigningKey(getSignKey()).build().parseClaimsJws(token).getBody();
+    public Claims parseToken(String token) {
+        long start = System.nanoTime();
+        boolean valid = false;
+        try {
+            Claims claims = Jwts.parserBuilder().setSigningKey(getSignKey()).build().parseClaimsJws(token).getBody();
+            valid = true;
+            return claims;
+        } finally {
+            if (validTimer != null) {
+                (valid ? validTimer : invalidTimer).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
     }
 
     /**
      * Checks if the JWT token has expired.
      * Compares the token's expiration date with the current date.
      *
-     * @param token the JWT token to check for expiration
+     * @param claims the parsed claims of the JWT token
      * @return true if the token has expired, false otherwise
      */
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    private Boolean isTokenExpired(Claims claims) {
+        return claims.getExpiration().before(new Date());
     }
 
     /**
@@ -129,8 +161,27 @@ public class JwtUtil {
      * @return true if the token is valid for the given user, false otherwise
      */
     public Boolean validateToken(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        return validateToken(parseToken(token), userDetails);
+    }
+
+    /**
+     * Validates the claims of an already parsed JWT token against the provided user details,
+     * without verifying the signature again.
+     *
+     * @param claims the claims returned by {@link #parseToken(String)}
+     * @param userDetails the UserDetails to validate against
+     * @return true if the token is valid for the given user, false otherwise
+     */
+    public Boolean validateToken(Claims claims, UserDetails userDetails) {
+        final String username = claims.getSubject();
+        return (username.equals(userDetails.getUsername()) && !isTokenExpired(claims));
+    }
+
+    private static Timer validationTimer(MeterRegistry meterRegistry, String result) {
+        return Timer.builder("security.jwt.validation")
+                .description("Time spent parsing and verifying JWT tokens")
+                .tag("result", result)
+                .register(meterRegistry);
     }
 
     /**
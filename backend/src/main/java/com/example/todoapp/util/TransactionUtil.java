@@ -0,0 +1,39 @@
+package com.example.todoapp.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Helpers for side effects of database writes that live outside the database,
+ * such as cache evictions and search index updates.
+ *
+ * @author Todo App Team
+ * @version 1.0
+ * @since 2025-01-01
+ */
+public final class TransactionUtil {
+
+    private TransactionUtil() {
+    }
+
+    /**
+     * Runs an action once the current transaction has committed, or immediately if
+     * no transaction is active. Deferring cache evictions to after the commit keeps
+     * concurrent readers from caching the old state again before the write is visible,
+     * and a rolled-back write leaves caches and the search index untouched.
+     *
+     * @param action the action to run
+     */
+    public static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.todoapp.web;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Fixed block of native memory, allocated once and divided into pages of {@link #PAGE_SIZE} bytes,
+ * that holds the bodies of the {@link ResponseBodyCache}. A body occupies as many pages as it
+ * needs, in any order, so the arena does not fragment; pages are reused as soon as a body is
+ * freed instead of waiting for the garbage collector to release a direct buffer.
+ * Pages are handed out and taken back under a lock; reading and writing them is not
+ * synchronized, as every page belongs to exactly one body at a time.
+ *
+ * @author Todo App Team
+ * @version 1.0
+ * @since 2025-01-01
+ */
+final class OffHeapArena {
+
+    static final int PAGE_SIZE = 1024;
+
+    private final ByteBuffer memory;
+    private final int[] freePages;
+    private int freeCount;
+
+    /**
+     * Constructor for OffHeapArena.
+     *
+     * @param capacity the size of the arena in bytes, rounded down to whole pages
+     */
+    OffHeapArena(long capacity) {
+        if (capacity > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("An off-heap arena holds at most 2GB, not " + capacity + " bytes");
+        }
+        int pages = (int) (capacity / PAGE_SIZE);
+        this.memory = ByteBuffer.allocateDirect(pages * PAGE_SIZE);
+        this.freePages = new int[pages];
+        for (int page = 0; page < pages; page++) {
+            freePages[page] = pages - 1 - page;
+        }
+        this.freeCount = pages;
+    }
+
+    /**
+     * Copies content into newly allocated pages.
+     *
+     * @param content the bytes to store
+     * @return the pages holding the content in order, or null if the arena has too few free pages
+     */
+    int[] store(byte[] content) {
+        int[] pages = allocate((content.length + PAGE_SIZE - 1) / PAGE_SIZE);
+        if (pages == null) {
+            return null;
+        }
+        for (int i = 0; i < pages.length; i++) {
+            int offset = i * PAGE_SIZE;
+            memory.put(pages[i] * PAGE_SIZE, content, offset, Math.min(PAGE_SIZE, content.length - offset));
+        }
+        return pages;
+    }
+
+    /**
+     * Copies bytes out of a page.
+     *
+     * @param page the page
+     * @param offset the offset within the page
+     * @param target the array to copy to
+     * @param targetOffset the offset within the array
+     * @param length the number of bytes to copy
+     */
+    void read(int page, int offset, byte[] target, int targetOffset, int length) {
+        memory.get(page * PAGE_SIZE + offset, target, targetOffset, length);
+    }
+
+    /**
+     * Returns pages to the arena.
+     *
+     * @param pages the pages returned by {@link #store(byte[])}
+     */
+    synchronized void free(int[] pages) {
+        for (int page : pages) {
+            freePages[freeCount++] = page;
+        }
+    }
+
+    /**
+     * Returns the size of the arena.
+     *
+     * @return the size in bytes
+     */
+    long capacity() {
+        return (long) freePages.length * PAGE_SIZE;
+    }
+
+    /**
+     * Returns the size of the pages currently holding bodies.
+     *
+     * @return the size in bytes
+     */
+    synchronized long usedBytes() {
+        return (long) (freePages.length - freeCount) * PAGE_SIZE;
+    }
+
+    private synchronized int[] allocate(int count) {
+        if (count > freeCount) {
+            return null;
+        }
+        int[] pages = new int[count];
+        for (int i = 0; i < count; i++) {
+            pages[i] = freePages[--freeCount];
+        }
+        return pages;
+    }
+}
@@ -0,0 +1,405 @@
+package com.example.todoapp.web;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import com.example.todoapp.util.TransactionUtil;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.stats.ConcurrentStatsCounter;
+
+/**
+ * Cache of encoded response bodies of the list endpoints, per user and request variant
+ * (URI, query string and Accept header), filled and served by {@link ResponseCacheFilter}.
+ * Bodies are kept outside the Java heap, so large cached lists add neither to the heap's
+ * live set nor to garbage collection work; bodies of at least
+ * {@code todo.cache.responses.compression-threshold} are stored gzip-compressed and sent
+ * as they are to clients that accept gzip. The cache is bounded by the total size of the
+ * stored bodies ({@code todo.cache.responses.max-size}, 0 disables it).
+ * <p>
+ * The bodies live in an {@link OffHeapArena} of that size, allocated once at startup, so the
+ * cache's native memory is fixed and freed pages are reused right away rather than when the
+ * garbage collector gets round to a direct buffer. Bodies are reference counted: the cache
+ * holds one reference, released when Caffeine removes the body, and every reader holds one
+ * while writing the body to a response, so pages are never reused under a reader.
+ * <p>
+ * Services evict a user's bodies after every committed write. A response rendered from
+ * data read before such a write is not stored: every eviction advances the generation of
+ * the user's stripe, and a body is only stored while the generation it was rendered in
+ * is still current.
+ *
+ * @author Todo App Team
+ * @version 1.0
+ * @since 2025-01-01
+ */
+@Component
+public class ResponseBodyCache {
+
+    private static final int GENERATION_STRIPES = 1024;
+    private static final int ENTRY_BYTES = 128;
+
+    private final Cache<String, Map<String, Body>> cache;
+    private final OffHeapArena arena;
+    private final ConcurrentStatsCounter stats = new ConcurrentStatsCounter();
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+    private final long compressionThreshold;
+
+    /**
+     * Constructor for ResponseBodyCache.
+     *
+     * @param maxSize the upper bound for the size of all stored bodies
+     * @param compressionThreshold the size from which bodies are stored compressed, negative to never compress
+     */
+    public ResponseBodyCache(@Value("${todo.cache.responses.max-size:32MB}") DataSize maxSize,
+            @Value("${todo.cache.responses.compression-threshold:2KB}") DataSize compressionThreshold) {
+        this.arena = maxSize.toBytes() > 0 ? new OffHeapArena(maxSize.toBytes()) : null;
+        this.cache = arena != null
+                ? Caffeine.newBuilder()
+                        .maximumWeight(arena.capacity())
+                        .weigher(ResponseBodyCache::weigh)
+                        .recordStats(() -> stats)
+                        // Releases pages on the removing thread, before the next body needs them
+                        .executor(Runnable::run)
+                        .removalListener(ResponseBodyCache::released)
+                        .build()
+                : null;
+        this.compressionThreshold = compressionThreshold.toBytes();
+    }
+
+    /**
+     * Tells whether bodies are cached at all.
+     *
+     * @return false if the cache is disabled
+     */
+    public boolean isEnabled() {
+        return cache != null;
+    }
+
+    /**
+     * Returns a stored body, which the caller must {@link Body#release() release} once written.
+     *
+     * @param username the name of the user
+     * @param variant the request variant
+     * @return the body, or null on a miss
+     */
+    public Body get(String username, String variant) {
+        // Looked up through the map view, which records no statistics, since a hit
+        // is a stored variant rather than a stored user
+        Map<String, Body> bodies = cache.asMap().get(username);
+        Body body = bodies != null ? bodies.get(variant) : null;
+        if (body != null && !body.retain()) {
+            // Removed and released in the meantime
+            body = null;
+        }
+        if (body != null) {
+            stats.recordHits(1);
+        } else {
+            stats.recordMisses(1);
+        }
+        return body;
+    }
+
+    /**
+     * Returns the current generation of a user's bodies, to be passed to
+     * {@link #put(String, String, long, Body)} for a body rendered afterwards.
+     *
+     * @param username the name of the user
+     * @return the generation
+     */
+    public long generation(String username) {
+        return generations.get(stripe(username));
+    }
+
+    /**
+     * Stores a body unless the user's bodies have been evicted since it started rendering.
+     * The cache takes its own reference; the caller keeps and must still release theirs.
+     *
+     * @param username the name of the user
+     * @param variant the request variant
+     * @param generation the generation returned by {@link #generation(String)} before rendering
+     * @param body the body returned by {@link #encode(String, byte[])}
+     */
+    public void put(String username, String variant, long generation, Body body) {
+        cache.asMap().compute(username, (key, bodies) -> {
+            // Checked inside compute, so an eviction either precedes the check or removes this body
+            if (generations.get(stripe(username)) != generation) {
+                return bodies;
+            }
+            Map<String, Body> updated = bodies != null ? new HashMap<>(bodies) : new HashMap<>();
+            body.retain();
+            Body replaced = updated.put(variant, body);
+            if (replaced != null) {
+                replaced.release();
+            }
+            return updated;
+        });
+    }
+
+    /**
+     * Encodes a rendered body for storage, compressing it if it is large enough.
+     * The caller holds the only reference and must {@link Body#release() release} it once written.
+     *
+     * @param contentType the content type of the response
+     * @param content the rendered body
+     * @return the body to store, or null if the arena has no room for it
+     */
+    public Body encode(String contentType, byte[] content) {
+        boolean compressed = compressionThreshold >= 0 && content.length >= compressionThreshold;
+        byte[] bytes = compressed ? gzip(content) : content;
+        if (bytes.length > arena.capacity()) {
+            return null;
+        }
+        int[] pages = arena.store(bytes);
+        // Bodies are weighed by their pages, so the arena only runs out when the cache is
+        // close to full; make room the way Caffeine would have after storing this body
+        while (pages == null && evictColdest()) {
+            pages = arena.store(bytes);
+        }
+        return pages != null ? new Body(contentType, compressed, bytes.length, pages, arena) : null;
+    }
+
+    /**
+     * Evicts all bodies of a user after commit.
+     * Must be called after any write that changes the user's todo items or categories.
+     *
+     * @param username the name of the user
+     */
+    public void evict(String username) {
+        if (cache != null) {
+            TransactionUtil.afterCommit(() -> {
+                generations.incrementAndGet(stripe(username));
+                cache.invalidate(username);
+            });
+        }
+    }
+
+    /**
+     * Evicts all bodies after commit, for writes that span users.
+     */
+    public void evictAll() {
+        if (cache != null) {
+            TransactionUtil.afterCommit(() -> {
+                for (int i = 0; i < GENERATION_STRIPES; i++) {
+                    generations.incrementAndGet(i);
+                }
+                cache.invalidateAll();
+            });
+        }
+    }
+
+    /**
+     * Returns the underlying Caffeine cache.
+     *
+     * @return the cache, or null if caching is disabled
+     */
+    public Cache<String, Map<String, Body>> getNativeCache() {
+        return cache;
+    }
+
+    /**
+     * Returns the size of the arena pages holding bodies, including bodies that have been
+     * removed from the cache but are still being written to a response.
+     *
+     * @return the size in bytes
+     */
+    public long usedBytes() {
+        return arena != null ? arena.usedBytes() : 0;
+    }
+
+    private boolean evictColdest() {
+        Map<String, Map<String, Body>> coldest = cache.policy().eviction()
+                .map(eviction -> eviction.coldest(1))
+                .orElse(Map.of());
+        for (Map.Entry<String, Map<String, Body>> entry : coldest.entrySet()) {
+            if (cache.asMap().remove(entry.getKey(), entry.getValue())) {
+                stats.recordEviction(weigh(entry.getKey(), entry.getValue()), RemovalCause.SIZE);
+            }
+        }
+        return !coldest.isEmpty();
+    }
+
+    private static void released(String username, Map<String, Body> bodies, RemovalCause cause) {
+        // Replacements happen in put, which releases the one body it replaces
+        if (bodies != null && cause != RemovalCause.REPLACED) {
+            bodies.values().forEach(Body::release);
+        }
+    }
+
+    private static int stripe(String username) {
+        return (username.hashCode() & Integer.MAX_VALUE) % GENERATION_STRIPES;
+    }
+
+    private static int weigh(String username, Map<String, Body> bodies) {
+        long bytes = ENTRY_BYTES;
+        for (Map.Entry<String, Body> entry : bodies.entrySet()) {
+            bytes += ENTRY_BYTES + entry.getKey().length() + entry.getValue().capacity();
+        }
+        return (int) Math.min(bytes, Integer.MAX_VALUE);
+    }
+
+    private static byte[] gzip(byte[] content) {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(content.length / 4);
+        // Compressed once and sent many times, so the best compression pays off
+        try (GZIPOutputStream out = new GZIPOutputStream(compressed) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            out.write(content);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return compressed.toByteArray();
+    }
+
+    /**
+     * An encoded response body held in arena pages outside the heap.
+     */
+    public static final class Body {
+
+        private final String contentType;
+        private final boolean gzipped;
+        private final int size;
+        private final int[] pages;
+        private final OffHeapArena arena;
+        private final AtomicInteger references = new AtomicInteger(1);
+
+        private Body(String contentType, boolean gzipped, int size, int[] pages, OffHeapArena arena) {
+            this.contentType = contentType;
+            this.gzipped = gzipped;
+            this.size = size;
+            this.pages = pages;
+            this.arena = arena;
+        }
+
+        /**
+         * Returns the content type of the response.
+         *
+         * @return the content type
+         */
+        public String contentType() {
+            return contentType;
+        }
+
+        /**
+         * Tells whether the body is gzip-compressed.
+         *
+         * @return true if compressed
+         */
+        public boolean gzipped() {
+            return gzipped;
+        }
+
+        /**
+         * Returns the size of the stored body.
+         *
+         * @return the size in bytes
+         */
+        public int size() {
+            return size;
+        }
+
+        /**
+         * Returns the size of the pages holding the body.
+         *
+         * @return the size in bytes
+         */
+        int capacity() {
+            return pages.length * OffHeapArena.PAGE_SIZE;
+        }
+
+        /**
+         * Releases a reference; the pages return to the arena with the last one.
+         */
+        public void release() {
+            if (references.decrementAndGet() == 0) {
+                arena.free(pages);
+            }
+        }
+
+        private boolean retain() {
+            int count;
+            do {
+                count = references.get();
+                if (count == 0) {
+                    return false;
+                }
+            } while (!references.compareAndSet(count, count + 1));
+            return true;
+        }
+
+        /**
+         * Writes the body as stored, copying it through a small heap buffer.
+         *
+         * @param out the response stream
+         * @throws IOException if writing fails
+         */
+        public void writeTo(OutputStream out) throws IOException {
+            byte[] chunk = new byte[Math.min(OffHeapArena.PAGE_SIZE, size)];
+            for (int i = 0; i < pages.length; i++) {
+                int length = Math.min(OffHeapArena.PAGE_SIZE, size - i * OffHeapArena.PAGE_SIZE);
+                arena.read(pages[i], 0, chunk, 0, length);
+                out.write(chunk, 0, length);
+            }
+        }
+
+        /**
+         * Writes the body uncompressed, for clients that do not accept gzip.
+         *
+         * @param out the response stream
+         * @throws IOException if writing fails
+         */
+        public void writeDecompressedTo(OutputStream out) throws IOException {
+            if (!gzipped) {
+                writeTo(out);
+                return;
+            }
+            try (InputStream in = new GZIPInputStream(new BodyInputStream(this))) {
+                in.transferTo(out);
+            }
+        }
+    }
+
+    private static final class BodyInputStream extends InputStream {
+
+        private final Body body;
+        private int position;
+
+        BodyInputStream(Body body) {
+            this.body = body;
+        }
+
+        @Override
+        public int read() {
+            byte[] single = new byte[1];
+            return read(single, 0, 1) == -1 ? -1 : single[0] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (position >= body.size) {
+                return -1;
+            }
+            int pageOffset = position % OffHeapArena.PAGE_SIZE;
+            int count = Math.min(length, Math.min(OffHeapArena.PAGE_SIZE - pageOffset, body.size - position));
+            body.arena.read(body.pages[position / OffHeapArena.PAGE_SIZE], pageOffset, bytes, offset, count);
+            position += count;
+            return count;
+        }
+    }
+}
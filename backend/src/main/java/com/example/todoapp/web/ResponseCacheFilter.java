@@ -0,0 +1,146 @@
+package com.example.todoapp.web;
+
+import java.io.IOException;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import com.example.todoapp.datasource.RoutingContext;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Serves GET requests of the list endpoints from the {@link ResponseBodyCache}.
+ * Runs after the security filter chain, so the request is authenticated and the
+ * body is cached per user. On a miss the request is handled as usual and the rendered
+ * body is captured and stored; hits skip the controller, the service, the database
+ * and Jackson and copy the stored bytes to the response. Only successful responses
+ * without a content encoding of their own are cached. Responses to be cached are rendered
+ * from the primary, so that no body read from a lagging replica outlives the lag.
+ *
+ * @author Todo App Team
+ * @version 1.0
+ * @since 2025-01-01
+ */
+public class ResponseCacheFilter extends OncePerRequestFilter {
+
+    private static final String GZIP = "gzip";
+
+    private final ResponseBodyCache responseBodyCache;
+
+    /**
+     * Constructor for ResponseCacheFilter.
+     *
+     * @param responseBodyCache the cache of response bodies
+     */
+    public ResponseCacheFilter(ResponseBodyCache responseBodyCache) {
+        this.responseBodyCache = responseBodyCache;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !responseBodyCache.isEnabled() || !"GET".equals(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        String username = authentication.getName();
+        String variant = variant(request);
+        ResponseBodyCache.Body body = responseBodyCache.get(username, variant);
+        if (body == null) {
+            long generation = responseBodyCache.generation(username);
+            ContentCachingResponseWrapper rendered = new ContentCachingResponseWrapper(response);
+            renderOnPrimary(chain, request, rendered);
+            if (rendered.getStatus() != HttpStatus.OK.value() || rendered.getContentType() == null
+                    || rendered.containsHeader(HttpHeaders.CONTENT_ENCODING)) {
+                rendered.copyBodyToResponse();
+                return;
+            }
+            body = responseBodyCache.encode(rendered.getContentType(), rendered.getContentAsByteArray());
+            if (body == null) {
+                // No room in the arena until bodies still being written are released
+                rendered.copyBodyToResponse();
+                return;
+            }
+            responseBodyCache.put(username, variant, generation, body);
+        }
+        try {
+            write(body, request, response);
+        } finally {
+            body.release();
+        }
+    }
+
+    private static void renderOnPrimary(FilterChain chain, HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+        Exception[] failure = new Exception[1];
+        RoutingContext.runOnPrimary(() -> {
+            try {
+                chain.doFilter(request, response);
+            } catch (ServletException | IOException e) {
+                failure[0] = e;
+            }
+        });
+        if (failure[0] instanceof ServletException e) {
+            throw e;
+        }
+        if (failure[0] instanceof IOException e) {
+            throw e;
+        }
+    }
+
+    private static void write(ResponseBodyCache.Body body, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        response.setContentType(body.contentType());
+        if (!body.gzipped()) {
+            response.setContentLength(body.size());
+            body.writeTo(response.getOutputStream());
+            return;
+        }
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (acceptsGzip(request)) {
+            // Already compressed, which also keeps the server from compressing it again
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, GZIP);
+            response.setContentLength(body.size());
+            body.writeTo(response.getOutputStream());
+        } else {
+            body.writeDecompressedTo(response.getOutputStream());
+        }
+    }
+
+    private static String variant(HttpServletRequest request) {
+        String query = request.getQueryString();
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        return request.getRequestURI() + (query != null ? "?" + query : "") + (accept != null ? " " + accept : "");
+    }
+
+    private static boolean acceptsGzip(HttpServletRequest request) {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase(GZIP)) {
+                return parts.length == 1 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.todoapp.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.example.todoapp.model.Category;
+import com.example.todoapp.model.Todo;
+import com.example.todoapp.model.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+/**
+ * Compares the encoded size and serialization time of a large todo list
+ * as JSON and Smile, each with and without gzip.
+ *
+ * Not part of the test suite; run it from the IDE or with
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.example.todoapp.benchmark.ListSerializationBenchmark}.
+ * The optional first argument overrides the list size (10000 by default).
+ */
+public class ListSerializationBenchmark {
+
+    private static final int WARMUP_ITERATIONS = 50;
+    private static final int MEASURED_ITERATIONS = 100;
+
+    public static void main(String[] args) throws IOException {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        List<Todo> todos = createTodos(size);
+
+        ObjectMapper json = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build();
+        ObjectMapper smile = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .factory(new SmileFactory()).build();
+
+        System.out.printf("Serializing %d todos (%d warmup, %d measured iterations)%n",
+                size, WARMUP_ITERATIONS, MEASURED_ITERATIONS);
+        System.out.printf("%-12s %12s %12s %16s%n", "format", "bytes", "gzip bytes", "avg time (ms)");
+        report("json", json, todos);
+        report("smile", smile, todos);
+    }
+
+    private static void report(String name, ObjectMapper mapper, List<Todo> todos) throws IOException {
+        byte[] encoded = mapper.writeValueAsBytes(todos);
+        byte[] compressed = gzip(encoded);
+
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            mapper.writeValueAsBytes(todos);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            mapper.writeValueAsBytes(todos);
+        }
+        double averageMillis = (System.nanoTime() - start) / 1_000_000.0 / MEASURED_ITERATIONS;
+
+        System.out.printf("%-12s %12d %12d %16.2f%n", name, encoded.length, compressed.length, averageMillis);
+    }
+
+    private static byte[] gzip(byte[] data) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(data);
+        }
+        return out.toByteArray();
+    }
+
+    private static List<Todo> createTodos(int size) {
+        User user = new User();
+        user.setId(1L);
+        user.setUsername("benchmark");
+        user.setEmail("benchmark@example.com");
+        user.setProvider("local");
+
+        List<Category> categories = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            Category category = new Category();
+            category.setId((long) i + 1);
+            category.setName("Category " + i);
+            category.setColor("#FF57" + (10 + i));
+            category.setUser(user);
+            category.setCreatedAt(LocalDateTime.now());
+            category.setLastModified(LocalDateTime.now());
+            categories.add(category);
+        }
+
+        List<Todo> todos = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Todo todo = new Todo();
+            todo.setId((long) i + 1);
+            todo.setTitle("Todo item number " + i);
+            todo.setDescription("Description of todo item " + i + " with a few more words to look realistic");
+            todo.setCompleted(i % 3 == 0);
+            todo.setUser(user);
+            todo.setCategory(i % 4 == 0 ? null : categories.get(i % categories.size()));
+            todo.setCreatedAt(LocalDateTime.now());
+            todo.setLastModified(LocalDateTime.now());
+            todos.add(todo);
+        }
+        return todos;
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.todoapp.benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Sort;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.example.todoapp.TodoAppApplication;
+import com.example.todoapp.datasource.ConnectionCountingDataSource;
+import com.example.todoapp.dto.TodoFilter;
+import com.example.todoapp.model.Todo;
+import com.example.todoapp.model.User;
+import com.example.todoapp.repository.TodoRepository;
+import com.example.todoapp.repository.TodoSpecifications;
+import com.example.todoapp.repository.UserRepository;
+import com.example.todoapp.service.TodoService;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Compares connection checkouts, flushes and CPU time per request between running each
+ * repository call in its own transaction (how the services used to work) and running
+ * the whole service method in one transaction, read-only for reads.
+ * Both variants issue the same queries against an in-memory H2 database.
+ *
+ * Not part of the test suite; run it from the IDE or with
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.example.todoapp.benchmark.TransactionBoundaryBenchmark}.
+ * The optional first argument overrides the number of todos of the user (500 by default).
+ */
+public class TransactionBoundaryBenchmark {
+
+    private static final int WARMUP_ITERATIONS = 200;
+    private static final int MEASURED_ITERATIONS = 1000;
+
+    public static void main(String[] args) {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 500;
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(TodoAppApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .properties("spring.jpa.show-sql=false", "logging.level.root=WARN",
+                        "logging.level.com.example.todoapp=WARN", "todo.archive.enabled=false",
+                        "management.tracing.enabled=false", "jdbc.datasource-proxy.enabled=false")
+                .initializers(ctx -> ctx.getBeanFactory().addBeanPostProcessor(new BeanPostProcessor() {
+                    @Override
+                    public Object postProcessAfterInitialization(Object bean, String beanName) {
+                        return bean instanceof DataSource dataSource && beanName.equals("dataSource")
+                                ? new ConnectionCountingDataSource(dataSource) : bean;
+                    }
+                }))
+                .run()) {
+            new TransactionBoundaryBenchmark(context).run(size);
+        }
+    }
+
+    private final ConnectionCountingDataSource connections;
+    private final Statistics statistics;
+    private final TodoService todoService;
+    private final TodoRepository todoRepository;
+    private final UserRepository userRepository;
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+    private TransactionBoundaryBenchmark(ConfigurableApplicationContext context) {
+        this.connections = (ConnectionCountingDataSource) context.getBean("dataSource", DataSource.class);
+        this.statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+        this.todoService = context.getBean(TodoService.class);
+        this.todoRepository = context.getBean(TodoRepository.class);
+        this.userRepository = context.getBean(UserRepository.class);
+    }
+
+    private void run(int size) {
+        User user = new User();
+        user.setUsername("benchmark");
+        user.setEmail("benchmark@example.com");
+        user.setPassword("benchmark");
+        User savedUser = userRepository.save(user);
+        List<Todo> todos = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Todo todo = new Todo();
+            todo.setTitle("Todo item number " + i);
+            todo.setDescription("Description of todo item " + i);
+            todo.setCompleted(i % 3 == 0);
+            todo.setUser(savedUser);
+            todos.add(todo);
+        }
+        todoRepository.saveAll(todos);
+        Long todoId = todos.get(0).getId();
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("benchmark", null, Collections.emptyList()));
+
+        System.out.printf("User with %d todos (%d warmup, %d measured iterations)%n",
+                size, WARMUP_ITERATIONS, MEASURED_ITERATIONS);
+        System.out.printf("%-34s %12s %12s %14s%n", "operation", "checkouts", "flushes", "cpu (us/op)");
+
+        report("list, per-call transactions", () -> {
+            Long userId = userRepository.findByUsername("benchmark").orElseThrow().getId();
+            todoRepository.findAll(TodoSpecifications.matching(userId, new TodoFilter()), Sort.unsorted());
+        });
+        report("list, one read-only transaction", () -> todoService.findTodos(new TodoFilter(), Sort.unsorted()));
+
+        report("update, per-call transactions", () -> {
+            User current = userRepository.findByUsername("benchmark").orElseThrow();
+            Todo todo = todoRepository.findById(todoId).orElseThrow();
+            if (todo.getUser().getId().equals(current.getId())) {
+                todo.setCompleted(!todo.isCompleted());
+                todoRepository.save(todo);
+            }
+        });
+        Todo details = new Todo();
+        details.setTitle(todos.get(0).getTitle());
+        report("update, one transaction", () -> {
+            details.setCompleted(!details.isCompleted());
+            todoService.updateTodo(todoId, details);
+        });
+    }
+
+    private void report(String name, Runnable operation) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            operation.run();
+        }
+        connections.reset();
+        statistics.clear();
+        long start = threads.getCurrentThreadCpuTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            operation.run();
+        }
+        double cpuMicros = (threads.getCurrentThreadCpuTime() - start) / 1_000.0 / MEASURED_ITERATIONS;
+
+        System.out.printf("%-34s %12.2f %12.2f %14.1f%n", name,
+                (double) connections.getCheckouts() / MEASURED_ITERATIONS,
+                (double) statistics.getFlushCount() / MEASURED_ITERATIONS, cpuMicros);
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.todoapp.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.example.todoapp.model.Category;
+import com.example.todoapp.model.Todo;
+import com.example.todoapp.model.User;
+import com.example.todoapp.repository.CategoryRepository;
+import com.example.todoapp.repository.TodoRepository;
+import com.example.todoapp.repository.UserRepository;
+import com.example.todoapp.search.TodoSearchIndex;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Stops and starts the context the way Spring does around a CRaC checkpoint,
+ * which also works on JVMs without CRaC.
+ */
+@SpringBootTest(properties = "todo.crac.warmup-user=warmupuser")
+@ActiveProfiles("test")
+@DirtiesContext
+class CheckpointRestoreTest {
+
+    @Autowired
+    private ConfigurableApplicationContext context;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TodoSearchIndex todoSearchIndex;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @AfterEach
+    void tearDown() {
+        todoRepository.deleteAll();
+        categoryRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void stop_ClearsCachesAndReleasesSearchIndex() {
+        // Given
+        Category category = saveCategory();
+        categoryRepository.findById(category.getId());
+        Cache cache = cacheManager.getCache(CacheConfig.CATEGORY_SUMMARY_CACHE);
+        cache.put("testuser", "summary");
+        assertTrue(secondLevelCache().containsEntity(Category.class, category.getId()));
+
+        // When
+        context.stop();
+
+        // Then
+        try {
+            assertNull(cache.get("testuser"));
+            assertFalse(secondLevelCache().containsEntity(Category.class, category.getId()));
+            assertFalse(todoSearchIndex.isRunning());
+        } finally {
+            context.start();
+        }
+    }
+
+    @Test
+    void start_RestoresDatabaseAccessAndSearchIndex() {
+        // Given
+        Category category = saveCategory();
+        context.stop();
+
+        // When
+        context.start();
+
+        // Then
+        assertTrue(todoSearchIndex.isRunning());
+        assertEquals(0, todoSearchIndex.search(1L, "anything", 10).size());
+        assertEquals("Work", categoryRepository.findById(category.getId()).orElseThrow().getName());
+    }
+
+    @Test
+    void stop_DeletesWarmUpUserWithAllData() {
+        // Given
+        Category warmupCategory = saveCategory("warmupuser");
+        Todo todo = new Todo();
+        todo.setTitle("Warm-up todo");
+        todo.setUser(warmupCategory.getUser());
+        todo.setCategory(warmupCategory);
+        todoRepository.save(todo);
+        Category otherCategory = saveCategory();
+
+        // When
+        context.stop();
+        context.start();
+
+        // Then
+        assertTrue(userRepository.findByUsername("warmupuser").isEmpty());
+        assertFalse(categoryRepository.existsById(warmupCategory.getId()));
+        assertEquals(0, todoRepository.count());
+        assertTrue(userRepository.findByUsername("restoreuser").isPresent());
+        assertTrue(categoryRepository.existsById(otherCategory.getId()));
+    }
+
+    private Category saveCategory() {
+        return saveCategory("restoreuser");
+    }
+
+    private Category saveCategory(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword("password123");
+        User savedUser = userRepository.save(user);
+
+        Category category = new Category();
+        category.setName("Work");
+        category.setUser(savedUser);
+        return categoryRepository.save(category);
+    }
+
+    private org.hibernate.Cache secondLevelCache() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getCache();
+    }
+}
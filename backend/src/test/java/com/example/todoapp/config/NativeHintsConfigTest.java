@@ -0,0 +1,63 @@
+package com.example.todoapp.config;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import com.example.todoapp.dto.CategoryCount;
+import com.example.todoapp.dto.TodoResponse;
+import com.example.todoapp.model.Todo;
+import com.example.todoapp.search.TodoDocument;
+
+class NativeHintsConfigTest {
+
+    private RuntimeHints hints;
+
+    @BeforeEach
+    void setUp() {
+        hints = new RuntimeHints();
+        new NativeHintsConfig.TodoAppRuntimeHints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    @Test
+    void registerHints_Entities() {
+        assertTrue(RuntimeHintsPredicates.reflection().onType(Todo.class)
+                .withMemberCategories(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.DECLARED_FIELDS)
+                .test(hints));
+    }
+
+    @Test
+    void registerHints_JsonBindingOfDtos() throws NoSuchMethodException {
+        assertTrue(RuntimeHintsPredicates.reflection()
+                .onMethod(TodoResponse.class.getMethod("getCategory")).test(hints));
+    }
+
+    @Test
+    void registerHints_QueryConstructorResults() {
+        assertTrue(RuntimeHintsPredicates.reflection().onType(CategoryCount.class)
+                .withMemberCategory(MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(TodoDocument.class)
+                .withMemberCategory(MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS).test(hints));
+    }
+
+    @Test
+    void registerHints_JjwtImplementationClassesExist() throws ClassNotFoundException {
+        // Every class name must resolve, or a JJWT upgrade silently drops a hint
+        for (String className : NativeHintsConfig.TodoAppRuntimeHints.JJWT_CLASSES) {
+            Class.forName(className);
+            assertTrue(RuntimeHintsPredicates.reflection().onType(TypeReference.of(className))
+                    .withMemberCategory(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS).test(hints));
+        }
+    }
+
+    @Test
+    void registerHints_CacheConfigurationResource() {
+        assertTrue(RuntimeHintsPredicates.resource().forResource("hibernate-cache.conf").test(hints));
+        assertTrue(RuntimeHintsPredicates.resource()
+                .forResource("META-INF/services/io.jsonwebtoken.io.Serializer").test(hints));
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.todoapp.config;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks the ID offsets that keep generated IDs unique across shards.
+ */
+class ShardingConfigTest {
+
+    @Test
+    void checkIdOffsets_DistinctOffsetsInAnyOrder_Accepted() {
+        // Given
+        ShardingProperties properties = properties(shard("shard1", 2), shard("shard0", 1), shard("shard2", 64));
+
+        // When & Then
+        assertDoesNotThrow(() -> ShardingConfig.checkIdOffsets(properties));
+    }
+
+    @Test
+    void checkIdOffsets_MissingOffset_Rejected() {
+        // Given
+        ShardingProperties properties = properties(shard("shard0", 1), shard("shard1", null));
+
+        // When & Then
+        assertThrows(IllegalStateException.class, () -> ShardingConfig.checkIdOffsets(properties));
+    }
+
+    @Test
+    void checkIdOffsets_DuplicateOffset_Rejected() {
+        // Given
+        ShardingProperties properties = properties(shard("shard0", 1), shard("shard1", 1));
+
+        // When & Then
+        assertThrows(IllegalStateException.class, () -> ShardingConfig.checkIdOffsets(properties));
+    }
+
+    @Test
+    void checkIdOffsets_OffsetAboveStride_Rejected() {
+        // Given
+        ShardingProperties properties = properties(shard("shard0", 1), shard("shard1", 65));
+
+        // When & Then
+        assertThrows(IllegalStateException.class, () -> ShardingConfig.checkIdOffsets(properties));
+    }
+
+    private static ShardingProperties properties(ShardingProperties.Shard... shards) {
+        ShardingProperties properties = new ShardingProperties();
+        properties.setShards(List.of(shards));
+        return properties;
+    }
+
+    private static ShardingProperties.Shard shard(String name, Integer idOffset) {
+        ShardingProperties.Shard shard = new ShardingProperties.Shard();
+        shard.setName(name);
+        shard.setIdOffset(idOffset);
+        return shard;
+    }
+}
@@ -1,24 +1,37 @@
 package com.example.todoapp.controller;
 
+import com.example.todoapp.dto.TodoFilter;
+import com.example.todoapp.dto.TodoPatchRequest;
+import com.example.todoapp.dto.TodoResponse;
+import com.example.todoapp.exception.ForbiddenException;
+import com.example.todoapp.exception.ResourceNotFoundException;
+import com.example.todoapp.exception.StaleVersionException;
+import com.example.todoapp.model.ArchivedTodo;
 import com.example.todoapp.model.Todo;
 import com.example.todoapp.model.User;
 import com.example.todoapp.service.TodoService;
 import com.example.todoapp.service.CustomUserDetailsService;
 import com.example.todoapp.util.JwtUtil;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.Arrays;
 import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
@@ -64,7 +77,7 @@ class TodoControllerTest {
     @Test
     @WithMockUser(username = "testuser")
     void getTodos_Success() throws Exception {
-        List<Todo> todos = Arrays.asList(testTodo);
+        List<TodoResponse> todos = Arrays.asList(TodoResponse.from(testTodo));
         when(todoService.getTodosForUser()).thenReturn(todos);
 
         mockMvc.perform(get("/api/todos"))
@@ -77,10 +90,85 @@ class TodoControllerTest {
         verify(todoService).getTodosForUser();
     }
 
+    @Test
+    @WithMockUser(username = "testuser")
+    void getTodos_SmileEncoding() throws Exception {
+        when(todoService.getTodosForUser()).thenReturn(Arrays.asList(TodoResponse.from(testTodo)));
+
+        byte[] body = mockMvc.perform(get("/api/todos").accept("application/x-jackson-smile"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-jackson-smile"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode todos = new ObjectMapper(new SmileFactory()).readTree(body);
+        assertEquals(1, todos.get(0).get("id").asLong());
+        assertEquals("Test Todo", todos.get(0).get("title").asText());
+    }
+
+    @Test
+    @WithMockUser(username = "testuser")
+    void getArchivedTodos_Success() throws Exception {
+        ArchivedTodo archivedTodo = new ArchivedTodo();
+        archivedTodo.setId(7L);
+        archivedTodo.setTitle("Old Todo");
+        archivedTodo.setCompleted(true);
+        when(todoService.getArchivedTodos()).thenReturn(Arrays.asList(TodoResponse.from(archivedTodo)));
+
+        mockMvc.perform(get("/api/todos/archived"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(7))
+                .andExpect(jsonPath("$[0].completed").value(true));
+
+        verify(todoService, never()).getTodosForUser();
+    }
+
+    @Test
+    @WithMockUser(username = "testuser")
+    void getTodos_WithFilterAndSort() throws Exception {
+        when(todoService.findTodos(any(TodoFilter.class), any(Sort.class))).thenReturn(Arrays.asList(TodoResponse.from(testTodo)));
+
+        mockMvc.perform(get("/api/todos")
+                .param("completed", "false")
+                .param("createdAfter", "2025-01-01T00:00:00")
+                .param("sort", "createdAt,desc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(1));
+
+        verify(todoService).findTodos(
+                argThat(filter -> Boolean.FALSE.equals(filter.getCompleted())
+                        && filter.getCreatedAfter() != null
+                        && filter.getCreatedBefore() == null),
+                eq(Sort.by(Sort.Direction.DESC, "createdAt")));
+        verify(todoService, never()).getTodosForUser();
+    }
+
+    @Test
+    @WithMockUser(username = "testuser")
+    void getTodos_InvalidSortProperty() throws Exception {
+        when(todoService.findTodos(any(TodoFilter.class), any(Sort.class)))
+                .thenThrow(new IllegalArgumentException("Invalid sort property: user"));
+
+        mockMvc.perform(get("/api/todos").param("sort", "user"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser(username = "testuser")
+    void searchTodos_Success() throws Exception {
+        when(todoService.searchTodos("test", 50)).thenReturn(Arrays.asList(TodoResponse.from(testTodo)));
+
+        mockMvc.perform(get("/api/todos/search").param("q", "test"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(1))
+                .andExpect(jsonPath("$[0].title").value("Test Todo"));
+
+        verify(todoService).searchTodos("test", 50);
+    }
+
     @Test
     @WithMockUser(username = "testuser")
     void createTodo_Success() throws Exception {
-        when(todoService.createTodo(any(Todo.class))).thenReturn(testTodo);
+        when(todoService.createTodo(any(Todo.class))).thenReturn(TodoResponse.from(testTodo));
 
         Todo newTodo = new Todo();
         newTodo.setTitle("New Todo");
@@ -110,7 +198,7 @@ class TodoControllerTest {
         updatedTodo.setCompleted(true);
         updatedTodo.setUser(testUser);
 
-        when(todoService.updateTodo(eq(1L), any(Todo.class))).thenReturn(updatedTodo);
+        when(todoService.updateTodo(eq(1L), any(Todo.class))).thenReturn(TodoResponse.from(updatedTodo));
 
         Todo updateRequest = new Todo();
         updateRequest.setTitle("Updated Todo");
@@ -130,11 +218,86 @@ class TodoControllerTest {
         verify(todoService).updateTodo(eq(1L), any(Todo.class));
     }
 
+    @Test
+    @WithMockUser(username = "testuser")
+    void updateTodo_WithIfMatch() throws Exception {
+        Todo updatedTodo = new Todo();
+        updatedTodo.setId(1L);
+        updatedTodo.setTitle("Updated Todo");
+        updatedTodo.setUser(testUser);
+        updatedTodo.setVersion(3L);
+
+        when(todoService.updateTodo(eq(1L), any(Todo.class))).thenReturn(TodoResponse.from(updatedTodo));
+
+        Todo updateRequest = new Todo();
+        updateRequest.setTitle("Updated Todo");
+
+        mockMvc.perform(put("/api/todos/1")
+                .with(csrf())
+                .header("If-Match", "\"2\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(updateRequest)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3\""));
+
+        verify(todoService).updateTodo(eq(1L), argThat(todo -> Long.valueOf(2L).equals(todo.getVersion())));
+    }
+
+    @Test
+    @WithMockUser(username = "testuser")
+    void updateTodo_StaleVersion() throws Exception {
+        when(todoService.updateTodo(eq(1L), any(Todo.class)))
+                .thenThrow(new StaleVersionException("Todo has been modified by another request"));
+
+        Todo updateRequest = new Todo();
+        updateRequest.setTitle("Updated Todo");
+
+        mockMvc.perform(put("/api/todos/1")
+                .with(csrf())
+                .header("If-Match", "\"1\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(updateRequest)))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    @WithMockUser(username = "testuser")
+    void updateTodo_ConcurrentUpdate() throws Exception {
+        when(todoService.updateTodo(eq(1L), any(Todo.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Todo.class, 1L));
+
+        Todo updateRequest = new Todo();
+        updateRequest.setTitle("Updated Todo");
+
+        mockMvc.perform(put("/api/todos/1")
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(updateRequest)))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(content().string("Todo has been modified by another request"));
+    }
+
+    @Test
+    @WithMockUser(username = "testuser")
+    void updateTodo_InvalidIfMatch() throws Exception {
+        Todo updateRequest = new Todo();
+        updateRequest.setTitle("Updated Todo");
+
+        mockMvc.perform(put("/api/todos/1")
+                .with(csrf())
+                .header("If-Match", "not-an-etag")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(updateRequest)))
+                .andExpect(status().isBadRequest());
+
+        verify(todoService, never()).updateTodo(any(), any());
+    }
+
     @Test
     @WithMockUser(username = "testuser")
     void updateTodo_NotFound() throws Exception {
         when(todoService.updateTodo(eq(999L), any(Todo.class)))
-                .thenThrow(new RuntimeException("Todo not found"));
+                .thenThrow(new ResourceNotFoundException("Todo not found"));
 
         Todo updateRequest = new Todo();
         updateRequest.setTitle("Updated Todo");
@@ -148,6 +311,81 @@ class TodoControllerTest {
         verify(todoService).updateTodo(eq(999L), any(Todo.class));
     }
 
+    @Test
+    @WithMockUser(username = "testuser")
+    void patchTodo_Success() throws Exception {
+        when(todoService.patchTodo(eq(1L), any(TodoPatchRequest.class))).thenReturn(null);
+
+        mockMvc.perform(patch("/api/todos/1")
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"completed\": true, \"categoryId\": null}"))
+                .andExpect(status().isNoContent())
+                .andExpect(header().doesNotExist("ETag"));
+
+        verify(todoService).patchTodo(eq(1L), argThat(patch ->
+                Boolean.TRUE.equals(patch.getCompleted()) && patch.getTitle() == null
+                        && patch.isCategoryIdPresent() && patch.getCategoryId() == null));
+    }
+
+    @Test
+    @WithMockUser(username = "testuser")
+    void patchTodo_ExplicitNullDescription() throws Exception {
+        when(todoService.patchTodo(eq(1L), any(TodoPatchRequest.class))).thenReturn(null);
+
+        mockMvc.perform(patch("/api/todos/1")
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"description\": null}"))
+                .andExpect(status().isNoContent());
+
+        verify(todoService).patchTodo(eq(1L), argThat(patch ->
+                patch.isDescriptionPresent() && patch.getDescription() == null
+                        && !patch.isTitlePresent() && !patch.isCategoryIdPresent()));
+    }
+
+    @Test
+    @WithMockUser(username = "testuser")
+    void patchTodo_NullTitle_BadRequest() throws Exception {
+        when(todoService.patchTodo(eq(1L), any(TodoPatchRequest.class)))
+                .thenThrow(new IllegalArgumentException("Title must not be blank"));
+
+        mockMvc.perform(patch("/api/todos/1")
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\": null}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser(username = "testuser")
+    void patchTodo_WithIfMatch() throws Exception {
+        when(todoService.patchTodo(eq(1L), any(TodoPatchRequest.class))).thenReturn(4L);
+
+        mockMvc.perform(patch("/api/todos/1")
+                .with(csrf())
+                .header("If-Match", "\"3\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"completed\": true}"))
+                .andExpect(status().isNoContent())
+                .andExpect(header().string("ETag", "\"4\""));
+
+        verify(todoService).patchTodo(eq(1L), argThat(patch -> Long.valueOf(3L).equals(patch.getVersion())));
+    }
+
+    @Test
+    @WithMockUser(username = "testuser")
+    void patchTodo_NotFound() throws Exception {
+        when(todoService.patchTodo(eq(999L), any(TodoPatchRequest.class)))
+                .thenThrow(new ResourceNotFoundException("Todo not found"));
+
+        mockMvc.perform(patch("/api/todos/999")
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\": \"Updated Todo\"}"))
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     @WithMockUser(username = "testuser")
     void deleteTodo_Success() throws Exception {
@@ -163,7 +401,7 @@ class TodoControllerTest {
     @Test
     @WithMockUser(username = "testuser")
     void deleteTodo_NotFound() throws Exception {
-        doThrow(new RuntimeException("Todo not found")).when(todoService).deleteTodo(999L);
+        doThrow(new ResourceNotFoundException("Todo not found")).when(todoService).deleteTodo(999L);
 
         mockMvc.perform(delete("/api/todos/999")
                 .with(csrf()))
@@ -175,7 +413,7 @@ class TodoControllerTest {
     @Test
     @WithMockUser(username = "testuser")
     void deleteTodo_Unauthorized() throws Exception {
-        doThrow(new RuntimeException("You are not authorized to delete this todo"))
+        doThrow(new ForbiddenException("You are not authorized to delete this todo"))
                 .when(todoService).deleteTodo(1L);
 
         mockMvc.perform(delete("/api/todos/1")
@@ -200,7 +438,7 @@ class TodoControllerTest {
         invalidTodo.setDescription("Valid description");
         invalidTodo.setCompleted(false);
 
-        when(todoService.createTodo(any(Todo.class))).thenReturn(testTodo);
+        when(todoService.createTodo(any(Todo.class))).thenReturn(TodoResponse.from(testTodo));
 
         mockMvc.perform(post("/api/todos")
                 .with(csrf())
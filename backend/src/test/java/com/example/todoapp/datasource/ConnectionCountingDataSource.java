@@ -0,0 +1,41 @@
+package com.example.todoapp.datasource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Test data source that counts how often a connection is checked out of the wrapped pool.
+ */
+public class ConnectionCountingDataSource extends DelegatingDataSource {
+
+    private final AtomicLong checkouts = new AtomicLong();
+
+    public ConnectionCountingDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        checkouts.incrementAndGet();
+        return super.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        checkouts.incrementAndGet();
+        return super.getConnection(username, password);
+    }
+
+    public long getCheckouts() {
+        return checkouts.get();
+    }
+
+    public void reset() {
+        checkouts.set(0);
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.todoapp.datasource;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+class ConsistentHashRingTest {
+
+    private static final int USERS = 20_000;
+
+    @Test
+    void shardFor_IsDeterministic() {
+        ConsistentHashRing ring = new ConsistentHashRing(List.of("shard0", "shard1", "shard2"), 160);
+        ConsistentHashRing reordered = new ConsistentHashRing(List.of("shard2", "shard0", "shard1"), 160);
+
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(ring.shardFor("user" + i), reordered.shardFor("user" + i));
+        }
+    }
+
+    @Test
+    void shardFor_SpreadsUsersEvenly() {
+        ConsistentHashRing ring = new ConsistentHashRing(List.of("shard0", "shard1", "shard2", "shard3"), 160);
+
+        Map<String, Integer> counts = new HashMap<>();
+        for (int i = 0; i < USERS; i++) {
+            counts.merge(ring.shardFor("user" + i), 1, Integer::sum);
+        }
+
+        assertEquals(4, counts.size());
+        for (int count : counts.values()) {
+            assertTrue(Math.abs(count - USERS / 4) < USERS / 4 * 0.2, "Unbalanced shard with " + count + " users");
+        }
+    }
+
+    @Test
+    void addingShard_OnlyMovesUsersToNewShard() {
+        ConsistentHashRing before = new ConsistentHashRing(List.of("shard0", "shard1", "shard2"), 160);
+        ConsistentHashRing after = new ConsistentHashRing(List.of("shard0", "shard1", "shard2", "shard3"), 160);
+
+        int moved = 0;
+        for (int i = 0; i < USERS; i++) {
+            String from = before.shardFor("user" + i);
+            String to = after.shardFor("user" + i);
+            if (!from.equals(to)) {
+                assertEquals("shard3", to);
+                moved++;
+            }
+        }
+
+        assertTrue(Math.abs(moved - USERS / 4) < USERS / 4 * 0.2, "Moved " + moved + " users");
+    }
+
+    @Test
+    void constructor_RejectsEmptyShardList() {
+        assertThrows(IllegalArgumentException.class, () -> new ConsistentHashRing(List.of(), 160));
+    }
+}
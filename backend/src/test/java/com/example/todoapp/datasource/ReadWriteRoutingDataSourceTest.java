@@ -0,0 +1,127 @@
+package com.example.todoapp.datasource;
+
+import java.time.Duration;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Routes against two embedded H2 databases that each hold a single row naming the database.
+ */
+class ReadWriteRoutingDataSourceTest {
+
+    private static final String WHICH_DATABASE = "SELECT name FROM node";
+
+    private EmbeddedDatabase primary;
+    private EmbeddedDatabase replica;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        primary = createDatabase("primary");
+        replica = createDatabase("replica");
+
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(
+                new ReadWriteRoutingDataSource(primary, replica, Duration.ofMillis(200), 1000));
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        primary.shutdown();
+        replica.shutdown();
+    }
+
+    @Test
+    void readOnlyTransaction_UsesReplica() {
+        assertEquals("replica", readOnly.execute(status -> queryDatabaseName()));
+    }
+
+    @Test
+    void readWriteTransaction_UsesPrimary() {
+        assertEquals("primary", readWrite.execute(status -> queryDatabaseName()));
+        assertEquals("primary", queryDatabaseName());
+    }
+
+    @Test
+    void recentWriter_ReadsFromPrimaryUntilLagWindowPasses() throws Exception {
+        // Given
+        authenticate("alice");
+        readWrite.executeWithoutResult(status -> jdbcTemplate.update("UPDATE node SET name = name"));
+
+        // When & Then
+        assertEquals("primary", readOnly.execute(status -> queryDatabaseName()));
+
+        authenticate("bob");
+        assertEquals("replica", readOnly.execute(status -> queryDatabaseName()));
+
+        Thread.sleep(400);
+        authenticate("alice");
+        assertEquals("replica", readOnly.execute(status -> queryDatabaseName()));
+    }
+
+    @Test
+    void readOnlyTransactionOnPrimary_UsesPrimary() {
+        // Given: a user without recent writes, whose reads would go to a lagging replica
+        authenticate("alice");
+
+        // When
+        String cached = readOnly.execute(status -> RoutingContext.callOnPrimary(this::queryDatabaseName));
+
+        // Then
+        assertEquals("primary", cached);
+        assertEquals("replica", readOnly.execute(status -> queryDatabaseName()));
+    }
+
+    @Test
+    void rolledBackWrite_DoesNotPinUserToPrimary() {
+        // Given
+        authenticate("alice");
+        readWrite.executeWithoutResult(status -> {
+            jdbcTemplate.update("UPDATE node SET name = name");
+            status.setRollbackOnly();
+        });
+
+        // When & Then
+        assertEquals("replica", readOnly.execute(status -> queryDatabaseName()));
+    }
+
+    private String queryDatabaseName() {
+        return jdbcTemplate.queryForObject(WHICH_DATABASE, String.class);
+    }
+
+    private static void authenticate(String username) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(username, null, Collections.emptyList()));
+    }
+
+    private static EmbeddedDatabase createDatabase(String name) {
+        EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("CREATE TABLE node (name VARCHAR(20))");
+        jdbcTemplate.update("INSERT INTO node (name) VALUES (?)", name);
+        return database;
+    }
+}
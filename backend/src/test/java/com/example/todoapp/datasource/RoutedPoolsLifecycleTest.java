@@ -0,0 +1,109 @@
+package com.example.todoapp.datasource;
+
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+
+/**
+ * Suspends and resumes two H2 pools behind a read/write router, as around a checkpoint.
+ */
+class RoutedPoolsLifecycleTest {
+
+    private HikariDataSource primary;
+    private HikariDataSource replica;
+    private RoutedPoolsLifecycle lifecycle;
+
+    @BeforeEach
+    void setUp() {
+        primary = createPool("primary");
+        replica = createPool("replica");
+        lifecycle = new RoutedPoolsLifecycle(new LazyConnectionDataSourceProxy(
+                new ReadWriteRoutingDataSource(primary, replica, Duration.ofSeconds(5), 1000)),
+                new GenericApplicationContext());
+    }
+
+    @AfterEach
+    void tearDown() {
+        primary.close();
+        replica.close();
+    }
+
+    @Test
+    void constructor_FindsPoolsBehindRouter() {
+        assertEquals(2, lifecycle.getPools().size());
+        assertTrue(lifecycle.getPools().containsAll(List.of(primary, replica)));
+    }
+
+    @Test
+    void constructor_FindsPoolsBehindTracingProxy() {
+        // Given
+        DataSource traced = ProxyDataSourceBuilder.create(new LazyConnectionDataSourceProxy(
+                new ReadWriteRoutingDataSource(primary, replica, Duration.ofSeconds(5), 1000))).buildProxy();
+
+        // When
+        RoutedPoolsLifecycle tracedLifecycle = new RoutedPoolsLifecycle(traced, new GenericApplicationContext());
+
+        // Then
+        assertTrue(tracedLifecycle.getPools().containsAll(List.of(primary, replica)));
+    }
+
+    @Test
+    void constructor_IgnoresUnroutedPool() {
+        assertTrue(new RoutedPoolsLifecycle(primary, new GenericApplicationContext()).getPools().isEmpty());
+    }
+
+    @Test
+    void stop_ClosesConnectionsOfUsedPools() throws Exception {
+        // Given
+        try (Connection connection = primary.getConnection()) {
+            assertTrue(connection.isValid(1));
+        }
+
+        // When
+        lifecycle.stop();
+
+        // Then
+        assertFalse(lifecycle.isRunning());
+        assertEquals(0, primary.getHikariPoolMXBean().getTotalConnections());
+    }
+
+    @Test
+    void start_ResumesPools() throws Exception {
+        // Given
+        primary.getConnection().close();
+        lifecycle.stop();
+
+        // When
+        lifecycle.start();
+
+        // Then
+        assertTrue(lifecycle.isRunning());
+        try (Connection connection = primary.getConnection()) {
+            assertTrue(connection.isValid(1));
+        }
+    }
+
+    private static HikariDataSource createPool(String name) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setPoolName(name);
+        pool.setJdbcUrl("jdbc:h2:mem:" + name + "-lifecycle;DB_CLOSE_DELAY=-1");
+        pool.setUsername("sa");
+        pool.setAllowPoolSuspension(true);
+        return pool;
+    }
+}
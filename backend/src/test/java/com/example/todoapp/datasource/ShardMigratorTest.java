@@ -0,0 +1,230 @@
+package com.example.todoapp.datasource;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * Routes and migrates users across three embedded H2 shards.
+ * The data starts out entirely on shard0, as if shard1 and shard2 had just been added.
+ */
+class ShardMigratorTest {
+
+    private static final List<String> SHARDS = List.of("shard0", "shard1", "shard2");
+    private static final int USERS = 30;
+
+    private final Map<String, EmbeddedDatabase> databases = new LinkedHashMap<>();
+    private ConsistentHashRing ring;
+    private JdbcTemplate jdbcTemplate;
+    private ShardMigrator shardMigrator;
+
+    @BeforeEach
+    void setUp() {
+        for (String shard : SHARDS) {
+            databases.put(shard, createDatabase());
+        }
+        ring = new ConsistentHashRing(SHARDS, 160);
+        DataSource dataSource = new LazyConnectionDataSourceProxy(
+                new ShardRoutingDataSource(Map.copyOf(databases), ring, "shard0"));
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        shardMigrator = new ShardMigrator(jdbcTemplate, new DataSourceTransactionManager(dataSource), ring, false);
+
+        JdbcTemplate shard0 = new JdbcTemplate(databases.get("shard0"));
+        for (long id = 1; id <= USERS; id++) {
+            shard0.update("INSERT INTO users (id, username) VALUES (?, ?)", id, "user" + id);
+            shard0.update("INSERT INTO categories (id, name, user_id) VALUES (?, ?, ?)", id, "Work", id);
+            shard0.update("INSERT INTO todo (id, title, user_id, category_id) VALUES (?, ?, ?, ?)",
+                    id * 10, "First", id, id);
+            shard0.update("INSERT INTO todo (id, title, user_id, category_id) VALUES (?, ?, ?, NULL)",
+                    id * 10 + 1, "Second", id);
+            shard0.update("INSERT INTO todo_archive (id, title, user_id, category_id) VALUES (?, ?, ?, ?)",
+                    id * 10 + 2, "Archived", id, id);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        databases.values().forEach(EmbeddedDatabase::shutdown);
+    }
+
+    @Test
+    void rebalance_MovesUsersWithAllRowsToTheirShard() {
+        // When
+        int moved = shardMigrator.rebalance();
+
+        // Then
+        int expectedMoved = 0;
+        for (long id = 1; id <= USERS; id++) {
+            String username = "user" + id;
+            String shard = ring.shardFor(username);
+            if (!shard.equals("shard0")) {
+                expectedMoved++;
+            }
+            for (String other : SHARDS) {
+                JdbcTemplate database = new JdbcTemplate(databases.get(other));
+                int expected = other.equals(shard) ? 1 : 0;
+                assertEquals(expected, count(database, "users", "id", id), username + " on " + other);
+                assertEquals(expected, count(database, "categories", "user_id", id));
+                assertEquals(expected * 2, count(database, "todo", "user_id", id));
+                assertEquals(expected, count(database, "todo_archive", "user_id", id));
+            }
+            JdbcTemplate home = new JdbcTemplate(databases.get(shard));
+            assertEquals(id, home.queryForObject(
+                    "SELECT category_id FROM todo WHERE id = ?", Long.class, id * 10));
+        }
+        assertEquals(expectedMoved, moved);
+        assertNotEquals(0, moved);
+        assertEquals(0, shardMigrator.rebalance());
+    }
+
+    @Test
+    void moveUser_IdTakenByAnotherUserOnTarget_FailsAndKeepsSource() {
+        // Given
+        JdbcTemplate shard1 = new JdbcTemplate(databases.get("shard1"));
+        shard1.update("INSERT INTO users (id, username) VALUES (?, ?)", 1L, "someone-else");
+
+        // When & Then
+        assertThrows(IllegalStateException.class, () -> shardMigrator.moveUser("user1", "shard0", "shard1"));
+        JdbcTemplate shard0 = new JdbcTemplate(databases.get("shard0"));
+        assertEquals(1, count(shard0, "users", "id", 1));
+        assertEquals(2, count(shard0, "todo", "user_id", 1));
+        assertEquals(1, count(shard0, "todo_archive", "user_id", 1));
+        assertEquals("someone-else", shard1.queryForObject("SELECT username FROM users WHERE id = 1", String.class));
+        assertEquals(0, count(shard1, "todo", "user_id", 1));
+    }
+
+    @Test
+    void moveUser_TodoIdTakenOnTarget_RollsBackCopyAndKeepsSource() {
+        // Given
+        JdbcTemplate shard1 = new JdbcTemplate(databases.get("shard1"));
+        shard1.update("INSERT INTO users (id, username) VALUES (?, ?)", 99L, "someone-else");
+        shard1.update("INSERT INTO todo (id, title, user_id) VALUES (?, ?, ?)", 10L, "Theirs", 99L);
+
+        // When & Then
+        assertThrows(RuntimeException.class, () -> shardMigrator.moveUser("user1", "shard0", "shard1"));
+        JdbcTemplate shard0 = new JdbcTemplate(databases.get("shard0"));
+        assertEquals(2, count(shard0, "todo", "user_id", 1));
+        assertEquals(0, count(shard1, "users", "id", 1));
+    }
+
+    @Test
+    void moveUser_SameUsernameWithOtherIdOnTarget_FailsAndKeepsSource() {
+        // Given
+        JdbcTemplate shard1 = new JdbcTemplate(databases.get("shard1"));
+        shard1.update("INSERT INTO users (id, username) VALUES (?, ?)", 99L, "user1");
+
+        // When & Then
+        assertThrows(IllegalStateException.class, () -> shardMigrator.moveUser("user1", "shard0", "shard1"));
+        assertEquals(1, count(new JdbcTemplate(databases.get("shard0")), "users", "id", 1));
+    }
+
+    @Test
+    void moveUser_ResumesInterruptedMove() {
+        // Given: copied to shard1 but not yet deleted from shard0
+        JdbcTemplate shard0 = new JdbcTemplate(databases.get("shard0"));
+        JdbcTemplate shard1 = new JdbcTemplate(databases.get("shard1"));
+        shard1.update("INSERT INTO users (id, username) VALUES (?, ?)", 1L, "user1");
+        shard1.update("INSERT INTO categories (id, name, user_id) VALUES (?, ?, ?)", 1L, "Work", 1L);
+        shard1.update("INSERT INTO todo (id, title, user_id, category_id) VALUES (?, ?, ?, ?)", 10L, "First", 1L, 1L);
+        shard1.update("INSERT INTO todo (id, title, user_id) VALUES (?, ?, ?)", 11L, "Second", 1L);
+        shard1.update("INSERT INTO todo_archive (id, title, user_id, category_id) VALUES (?, ?, ?, ?)",
+                12L, "Archived", 1L, 1L);
+
+        // When
+        shardMigrator.moveUser("user1", "shard0", "shard1");
+
+        // Then
+        assertEquals(0, count(shard0, "users", "id", 1));
+        assertEquals(0, count(shard0, "todo", "user_id", 1));
+        assertEquals(1, count(shard1, "users", "id", 1));
+        assertEquals(2, count(shard1, "todo", "user_id", 1));
+    }
+
+    @Test
+    void raiseIdCounters_AddedShardsGenerateIdsAboveAllExistingRows() {
+        // When
+        shardMigrator.raiseIdCounters();
+
+        // Then
+        for (String shard : List.of("shard1", "shard2")) {
+            JdbcTemplate database = new JdbcTemplate(databases.get(shard));
+            database.update("INSERT INTO users (username) VALUES (?)", "new-" + shard);
+            Long userId = database.queryForObject(
+                    "SELECT id FROM users WHERE username = ?", Long.class, "new-" + shard);
+            database.update("INSERT INTO categories (name, user_id) VALUES (?, ?)", "Home", userId);
+            database.update("INSERT INTO todo (title, user_id) VALUES (?, ?)", "New", userId);
+            assertEquals(USERS + 1, userId);
+            assertEquals(USERS + 1, database.queryForObject("SELECT MAX(id) FROM categories", Long.class));
+            assertEquals(USERS * 10 + 3, database.queryForObject("SELECT MAX(id) FROM todo", Long.class));
+        }
+    }
+
+    @Test
+    void routing_FollowsAuthenticatedUserAfterRebalance() {
+        // Given
+        shardMigrator.rebalance();
+
+        // When & Then
+        for (long id = 1; id <= USERS; id++) {
+            String username = "user" + id;
+            SecurityContextHolder.getContext().setAuthentication(
+                    new UsernamePasswordAuthenticationToken(username, null, Collections.emptyList()));
+            assertEquals(2, jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM todo WHERE user_id = ?", Integer.class, id));
+        }
+    }
+
+    @Test
+    void routing_ExplicitShardOverridesUser() {
+        // Given
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("user1", null, Collections.emptyList()));
+
+        // When
+        Integer users = RoutingContext.callOnShard("shard0",
+                () -> jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Integer.class));
+
+        // Then
+        assertEquals(USERS, users);
+    }
+
+    private static int count(JdbcTemplate database, String table, String column, long id) {
+        return database.queryForObject(
+                "SELECT COUNT(*) FROM " + table + " WHERE " + column + " = ?", Integer.class, id);
+    }
+
+    private static EmbeddedDatabase createDatabase() {
+        EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("CREATE TABLE users (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, username VARCHAR(50) UNIQUE)");
+        jdbcTemplate.execute("CREATE TABLE categories (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, name VARCHAR(50), "
+                + "user_id BIGINT NOT NULL REFERENCES users (id))");
+        jdbcTemplate.execute("CREATE TABLE todo (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, title VARCHAR(50), "
+                + "user_id BIGINT REFERENCES users (id), category_id BIGINT REFERENCES categories (id))");
+        jdbcTemplate.execute("CREATE TABLE todo_archive (id BIGINT PRIMARY KEY, title VARCHAR(50), "
+                + "user_id BIGINT REFERENCES users (id), category_id BIGINT REFERENCES categories (id))");
+        return database;
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.todoapp.jfr;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.example.todoapp.dto.LoginRequest;
+import com.example.todoapp.dto.RegisterRequest;
+import com.example.todoapp.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class FlightRecorderEventsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        mockMvc.perform(delete("/actuator/jfr"));
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void requests_EmitAuthenticationServiceAndRepositoryEvents(@TempDir Path directory) throws Exception {
+        // Given
+        String token = registerAndLogin();
+        Path file = directory.resolve("events.jfr");
+
+        // When
+        try (Recording recording = new Recording()) {
+            recording.enable(JwtAuthenticationEvent.class);
+            recording.enable(ServiceCallEvent.class);
+            recording.enable(RepositoryCallEvent.class);
+            recording.start();
+            mockMvc.perform(get("/api/categories").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                    .andExpect(status().isOk());
+            recording.stop();
+            recording.dump(file);
+        }
+
+        // Then
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        RecordedEvent authentication = single(events, "com.example.todoapp.JwtAuthentication");
+        assertEquals("jfruser", authentication.getString("user"));
+        assertTrue(authentication.getBoolean("authenticated"));
+        assertEquals("GET /api/categories", authentication.getString("endpoint"));
+
+        RecordedEvent service = single(events, "com.example.todoapp.ServiceCall");
+        assertEquals("CategoryService", service.getString("component"));
+        assertEquals("getCategoriesForUser", service.getString("method"));
+        assertEquals("GET /api/categories", service.getString("endpoint"));
+        assertEquals("jfruser", service.getString("user"));
+        assertEquals(0, service.getLong("rows"));
+
+        assertTrue(events.stream()
+                .filter(event -> event.getEventType().getName().equals("com.example.todoapp.RepositoryCall"))
+                .anyMatch(event -> "UserRepository".equals(event.getString("component"))
+                        && "findByUsername".equals(event.getString("method"))
+                        && event.getLong("rows") == 1));
+    }
+
+    @Test
+    void endpoint_StartsDumpsAndStopsRecording() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/actuator/jfr"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.state").value("NONE"));
+        mockMvc.perform(post("/actuator/jfr")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"settings\":\"default\",\"maxAge\":\"PT5M\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.state").value("RUNNING"))
+                .andExpect(jsonPath("$.settings").value("default"));
+
+        byte[] dump = mockMvc.perform(get("/actuator/jfr/dump"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+        assertArrayEquals(new byte[] {'F', 'L', 'R', 0}, Arrays.copyOf(dump, 4));
+
+        mockMvc.perform(delete("/actuator/jfr"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.state").value("NONE"));
+        mockMvc.perform(get("/actuator/jfr/dump"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void endpoint_RejectsUnknownSettingsAndRemoteClients() throws Exception {
+        mockMvc.perform(post("/actuator/jfr")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"settings\":\"nonexistent\"}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/actuator/jfr").with(user("jfruser")).with(request -> {
+            request.setRemoteAddr("203.0.113.7");
+            return request;
+        })).andExpect(status().isForbidden());
+    }
+
+    private String registerAndLogin() throws Exception {
+        mockMvc.perform(post("/api/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new RegisterRequest("jfruser", "jfr@example.com", "password123"))))
+                .andExpect(status().isOk());
+        String login = mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new LoginRequest("jfruser", "password123"))))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(login).get("token").asText();
+    }
+
+    private static RecordedEvent single(List<RecordedEvent> events, String type) {
+        List<RecordedEvent> matching = events.stream()
+                .filter(event -> event.getEventType().getName().equals(type))
+                .toList();
+        assertEquals(1, matching.size(), type);
+        return matching.get(0);
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.todoapp.loadtest;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Latencies (in microseconds, with three significant digits) and error counts per
+ * operation, recorded concurrently by the worker threads.
+ */
+class LatencyStats {
+
+    private final Map<Operation, ConcurrentHistogram> histograms = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+
+    LatencyStats() {
+        for (Operation operation : Operation.values()) {
+            histograms.put(operation, new ConcurrentHistogram(3));
+            errors.put(operation, new LongAdder());
+        }
+    }
+
+    void record(Operation operation, long latencyNanos, boolean success) {
+        histograms.get(operation).recordValue(Math.max(1, latencyNanos / 1000));
+        if (!success) {
+            errors.get(operation).increment();
+        }
+    }
+
+    /**
+     * Prints one line per operation that was run and a line for all of them together.
+     *
+     * @param seconds the length of the measured period, for the throughput
+     */
+    void print(double seconds) {
+        System.out.printf("%-16s %10s %8s %10s %10s %10s %11s %10s%n",
+                "operation", "requests", "errors", "req/s", "p50 (ms)", "p99 (ms)", "p99.9 (ms)", "max (ms)");
+        Histogram total = new Histogram(3);
+        long totalErrors = 0;
+        for (Operation operation : Operation.values()) {
+            Histogram histogram = histograms.get(operation).copy();
+            if (histogram.getTotalCount() == 0) {
+                continue;
+            }
+            long operationErrors = errors.get(operation).sum();
+            printLine(operation.getLabel(), histogram, operationErrors, seconds);
+            total.add(histogram);
+            totalErrors += operationErrors;
+        }
+        printLine("total", total, totalErrors, seconds);
+    }
+
+    private static void printLine(String name, Histogram histogram, long errors, double seconds) {
+        System.out.printf("%-16s %10d %8d %10.1f %10.2f %10.2f %11.2f %10.2f%n", name,
+                histogram.getTotalCount(), errors, histogram.getTotalCount() / seconds,
+                millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(99)),
+                millis(histogram.getValueAtPercentile(99.9)), millis(histogram.getMaxValue()));
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
@@ -0,0 +1,224 @@
+package com.example.todoapp.loadtest;
+
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.example.todoapp.TodoAppApplication;
+
+/**
+ * Load test of the todo and category API with a weighted mix of requests.
+ * It registers and logs in a number of users, gives each a few categories and todos,
+ * and then lets a fixed number of worker threads send requests as those users for a
+ * warmup period and a measured period. It reports throughput and the p50, p99 and p99.9
+ * latencies per operation.
+ *
+ * By default the test starts the application itself on a random port, with the test
+ * configuration and thus the in-memory H2 database; set {@code loadtest.url} to test an
+ * application that is already running instead. Settings are system properties:
+ * <ul>
+ * <li>{@code loadtest.url} the base URL of a running application, e.g. http://localhost:8080</li>
+ * <li>{@code loadtest.users} the number of users, at least the concurrency (100 by default)</li>
+ * <li>{@code loadtest.concurrency} the number of worker threads (16 by default)</li>
+ * <li>{@code loadtest.todos} the number of todos created per user beforehand (20 by default)</li>
+ * <li>{@code loadtest.warmup} and {@code loadtest.duration} the periods, as ISO-8601
+ * durations (PT10S and PT30S by default)</li>
+ * <li>{@code loadtest.rate} the total number of requests per second, or 0 (the default) for
+ * workers that send the next request as soon as the previous one is answered</li>
+ * <li>{@code loadtest.mix} the operations and their weights, e.g.
+ * {@code list-todos=60,create-todo=20,complete-todo=20} (see {@link Operation} for the default)</li>
+ * </ul>
+ * With a rate, each latency is measured from the time the request was due rather than
+ * from the time it was sent, so requests queued behind a slow one count as slow as well.
+ * Without a rate the workers only send as fast as the application answers, which hides
+ * such queueing from the percentiles.
+ *
+ * Not part of the test suite; run it from the IDE or with
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.example.todoapp.loadtest.LoadTest -Dloadtest.concurrency=32}.
+ */
+public class LoadTest {
+
+    private final ApiClient api;
+    private final int concurrency;
+    private final double rate;
+    private final Operation[] mix;
+    private final List<Session> sessions = new ArrayList<>();
+    private volatile LatencyStats stats = new LatencyStats();
+    private volatile boolean running = true;
+
+    private LoadTest(ApiClient api, int concurrency, double rate, Map<Operation, Integer> weights) {
+        this.api = api;
+        this.concurrency = concurrency;
+        this.rate = rate;
+        List<Operation> slots = new ArrayList<>();
+        weights.forEach((operation, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                slots.add(operation);
+            }
+        });
+        this.mix = slots.toArray(Operation[]::new);
+    }
+
+    public static void main(String[] args) throws Exception {
+        int concurrency = Integer.getInteger("loadtest.concurrency", 16);
+        int users = Math.max(concurrency, Integer.getInteger("loadtest.users", 100));
+        int todos = Integer.getInteger("loadtest.todos", 20);
+        Duration warmup = Duration.parse(System.getProperty("loadtest.warmup", "PT10S"));
+        Duration duration = Duration.parse(System.getProperty("loadtest.duration", "PT30S"));
+        double rate = Double.parseDouble(System.getProperty("loadtest.rate", "0"));
+        Map<Operation, Integer> weights = Operation.parseMix(System.getProperty("loadtest.mix"));
+
+        String url = System.getProperty("loadtest.url");
+        ConfigurableApplicationContext context = null;
+        if (url == null) {
+            context = new SpringApplicationBuilder(TodoAppApplication.class)
+                    .profiles("test")
+                    .properties("server.port=0", "spring.jpa.show-sql=false", "logging.level.root=WARN",
+                            "logging.level.com.example.todoapp=WARN", "todo.archive.enabled=false",
+                            "management.tracing.sampling.probability=0.1")
+                    .run();
+            url = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+        }
+        try {
+            LoadTest loadTest = new LoadTest(new ApiClient(url), concurrency, rate, weights);
+            System.out.printf("Load test of %s: %d users, %d workers, %s, %d s after %d s warmup%n", url, users,
+                    concurrency, rate > 0 ? rate + " requests/s" : "closed loop",
+                    duration.toSeconds(), warmup.toSeconds());
+            loadTest.setUp(users, todos);
+            loadTest.run(warmup, duration);
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+
+    /**
+     * Registers, logs in and seeds the users in parallel. Registration and login hash
+     * passwords and are far slower than the other requests, so they are reported apart.
+     */
+    private void setUp(int users, int todos) throws Exception {
+        String run = UUID.randomUUID().toString().substring(0, 8);
+        ConcurrentHistogram logins = new ConcurrentHistogram(3);
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        long start = System.nanoTime();
+        try {
+            List<Future<Session>> futures = new ArrayList<>();
+            for (int i = 0; i < users; i++) {
+                String username = "load-" + run + "-" + i;
+                futures.add(executor.submit(() -> {
+                    Session session = new Session(username);
+                    register(session);
+                    long loginStart = System.nanoTime();
+                    login(session);
+                    logins.recordValue(Math.max(1, (System.nanoTime() - loginStart) / 1000));
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int c = 0; c < 2; c++) {
+                        Operation.CREATE_CATEGORY.run(api, session, random);
+                    }
+                    for (int t = 0; t < todos; t++) {
+                        Operation.CREATE_TODO.run(api, session, random);
+                    }
+                    return session;
+                }));
+            }
+            for (Future<Session> future : futures) {
+                sessions.add(future.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+        System.out.printf("Set up %d users in %.1f s (login p50 %.2f ms, p99 %.2f ms)%n", users,
+                (System.nanoTime() - start) / 1e9, logins.getValueAtPercentile(50) / 1000.0,
+                logins.getValueAtPercentile(99) / 1000.0);
+    }
+
+    private void register(Session session) {
+        HttpResponse<byte[]> response = api.post("/api/auth/register", null, Map.of(
+                "username", session.getUsername(),
+                "email", session.getUsername() + "@loadtest.example.com",
+                "password", "load-test-password"));
+        if (!ApiClient.isSuccess(response)) {
+            throw new IllegalStateException("Registering " + session.getUsername() + " failed with "
+                    + response.statusCode() + ": " + new String(response.body()));
+        }
+    }
+
+    private void login(Session session) {
+        HttpResponse<byte[]> response = api.post("/api/auth/login", null, Map.of(
+                "username", session.getUsername(), "password", "load-test-password"));
+        if (!ApiClient.isSuccess(response)) {
+            throw new IllegalStateException("Logging in " + session.getUsername() + " failed with "
+                    + response.statusCode());
+        }
+        session.setToken(api.json(response).get("token").asText());
+    }
+
+    private void run(Duration warmup, Duration duration) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        List<Future<?>> workers = new ArrayList<>();
+        for (int w = 0; w < concurrency; w++) {
+            List<Session> owned = new ArrayList<>();
+            for (int i = w; i < sessions.size(); i += concurrency) {
+                owned.add(sessions.get(i));
+            }
+            workers.add(executor.submit(() -> work(owned)));
+        }
+        Thread.sleep(warmup.toMillis());
+        stats = new LatencyStats();
+        long measuredStart = System.nanoTime();
+        Thread.sleep(duration.toMillis());
+        LatencyStats measured = stats;
+        double seconds = (System.nanoTime() - measuredStart) / 1e9;
+        running = false;
+        for (Future<?> worker : workers) {
+            worker.get();
+        }
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+        measured.print(seconds);
+    }
+
+    /**
+     * Sends requests as the given sessions until the test is over. Each session belongs to
+     * exactly one worker, so its todo and category ids are never changed concurrently.
+     */
+    private void work(List<Session> owned) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long interval = rate > 0 ? (long) (concurrency * 1e9 / rate) : 0;
+        long due = System.nanoTime();
+        while (running) {
+            if (interval > 0) {
+                due += interval;
+                long wait = due - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+            } else {
+                due = System.nanoTime();
+            }
+            Session session = owned.get(random.nextInt(owned.size()));
+            Operation operation = mix[random.nextInt(mix.length)].substituteFor(session);
+            boolean success;
+            try {
+                success = operation.run(api, session, random);
+            } catch (RuntimeException e) {
+                success = false;
+            }
+            stats.record(operation, System.nanoTime() - due, success);
+        }
+    }
+}
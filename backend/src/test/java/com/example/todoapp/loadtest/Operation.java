@@ -0,0 +1,171 @@
+package com.example.todoapp.loadtest;
+
+import java.net.http.HttpResponse;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * The requests of the load test mix, each with its default weight.
+ * The defaults approximate how the frontend uses the API: mostly reading the todo list,
+ * now and then adding, editing, completing or deleting a todo, and rarely touching categories.
+ */
+enum Operation {
+
+    LIST_TODOS("list-todos", 45) {
+        @Override
+        boolean run(ApiClient api, Session session, Random random) {
+            return ApiClient.isSuccess(api.get("/api/todos", session.getToken()));
+        }
+    },
+
+    LIST_CATEGORIES("list-categories", 15) {
+        @Override
+        boolean run(ApiClient api, Session session, Random random) {
+            return ApiClient.isSuccess(api.get("/api/categories", session.getToken()));
+        }
+    },
+
+    CREATE_TODO("create-todo", 12) {
+        @Override
+        boolean run(ApiClient api, Session session, Random random) {
+            Map<String, Object> todo = new LinkedHashMap<>();
+            todo.put("title", "Load test todo " + session.nextNumber());
+            todo.put("description", "Created by the load test");
+            Long categoryId = random.nextBoolean() ? Session.pick(session.getCategoryIds(), random) : null;
+            if (categoryId != null) {
+                todo.put("category", Map.of("id", categoryId));
+            }
+            HttpResponse<byte[]> response = api.post("/api/todos", session.getToken(), todo);
+            if (!ApiClient.isSuccess(response)) {
+                return false;
+            }
+            session.getTodoIds().add(api.json(response).get("id").asLong());
+            return true;
+        }
+    },
+
+    UPDATE_TODO("update-todo", 10) {
+        @Override
+        boolean run(ApiClient api, Session session, Random random) {
+            Long id = Session.pick(session.getTodoIds(), random);
+            Map<String, Object> todo = new LinkedHashMap<>();
+            todo.put("title", "Updated todo " + session.nextNumber());
+            todo.put("description", "Updated by the load test");
+            todo.put("completed", false);
+            return ApiClient.isSuccess(api.put("/api/todos/" + id, session.getToken(), todo));
+        }
+    },
+
+    COMPLETE_TODO("complete-todo", 10) {
+        @Override
+        boolean run(ApiClient api, Session session, Random random) {
+            Long id = Session.pick(session.getTodoIds(), random);
+            return ApiClient.isSuccess(api.patch("/api/todos/" + id, session.getToken(), Map.of("completed", true)));
+        }
+    },
+
+    DELETE_TODO("delete-todo", 5) {
+        @Override
+        boolean run(ApiClient api, Session session, Random random) {
+            Long id = Session.pick(session.getTodoIds(), random);
+            boolean deleted = ApiClient.isSuccess(api.delete("/api/todos/" + id, session.getToken()));
+            if (deleted) {
+                session.getTodoIds().remove(id);
+            }
+            return deleted;
+        }
+    },
+
+    CREATE_CATEGORY("create-category", 2) {
+        @Override
+        boolean run(ApiClient api, Session session, Random random) {
+            Map<String, Object> category = Map.of("name", "Category " + session.nextNumber(), "color", "#3366ff");
+            HttpResponse<byte[]> response = api.post("/api/categories", session.getToken(), category);
+            if (!ApiClient.isSuccess(response)) {
+                return false;
+            }
+            session.getCategoryIds().add(api.json(response).get("id").asLong());
+            return true;
+        }
+    },
+
+    UPDATE_CATEGORY("update-category", 1) {
+        @Override
+        boolean run(ApiClient api, Session session, Random random) {
+            Long id = Session.pick(session.getCategoryIds(), random);
+            Map<String, Object> category = Map.of("name", "Renamed " + session.nextNumber(), "color", "#ff6633");
+            return ApiClient.isSuccess(api.put("/api/categories/" + id, session.getToken(), category));
+        }
+    };
+
+    private final String label;
+    private final int defaultWeight;
+
+    Operation(String label, int defaultWeight) {
+        this.label = label;
+        this.defaultWeight = defaultWeight;
+    }
+
+    /**
+     * Sends the request of this operation for the session.
+     *
+     * @return whether the API answered with a 2xx status
+     */
+    abstract boolean run(ApiClient api, Session session, Random random);
+
+    String getLabel() {
+        return label;
+    }
+
+    /**
+     * Returns the operation to run instead of this one when the session lacks the todo
+     * or category it needs, so that every measured request is a meaningful one.
+     */
+    Operation substituteFor(Session session) {
+        return switch (this) {
+            case UPDATE_TODO, COMPLETE_TODO, DELETE_TODO -> session.getTodoIds().isEmpty() ? CREATE_TODO : this;
+            case UPDATE_CATEGORY -> session.getCategoryIds().isEmpty() ? CREATE_CATEGORY : this;
+            default -> this;
+        };
+    }
+
+    /**
+     * Parses a mix such as {@code list-todos=60,create-todo=20,complete-todo=20}.
+     * Operations that are not listed are not run; an empty mix means the default weights.
+     *
+     * @param mix comma-separated {@code label=weight} pairs
+     * @return the weight of each operation
+     * @throws IllegalArgumentException if a label is unknown or a weight is not a non-negative number
+     */
+    static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        if (mix == null || mix.isBlank()) {
+            for (Operation operation : values()) {
+                weights.put(operation, operation.defaultWeight);
+            }
+            return weights;
+        }
+        for (String entry : mix.split(",")) {
+            String[] pair = entry.trim().split("=");
+            if (pair.length != 2 || !pair[1].trim().matches("\\d{1,6}")) {
+                throw new IllegalArgumentException("Mix entry '" + entry.trim() + "' is not of the form operation=weight");
+            }
+            weights.put(byLabel(pair[0].trim()), Integer.parseInt(pair[1].trim()));
+        }
+        if (weights.values().stream().mapToInt(Integer::intValue).sum() == 0) {
+            throw new IllegalArgumentException("Mix '" + mix + "' has no operation with a positive weight");
+        }
+        return weights;
+    }
+
+    private static Operation byLabel(String label) {
+        for (Operation operation : values()) {
+            if (operation.label.equals(label)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Unknown operation '" + label + "'");
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.todoapp.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * A logged-in user of the load test with the ids of the todos and categories it owns.
+ * A session is only ever driven by one worker thread at a time, so it needs no locking.
+ */
+class Session {
+
+    private final String username;
+    private final List<Long> todoIds = new ArrayList<>();
+    private final List<Long> categoryIds = new ArrayList<>();
+    private String token;
+    private int created;
+
+    Session(String username) {
+        this.username = username;
+    }
+
+    String getUsername() {
+        return username;
+    }
+
+    String getToken() {
+        return token;
+    }
+
+    void setToken(String token) {
+        this.token = token;
+    }
+
+    List<Long> getTodoIds() {
+        return todoIds;
+    }
+
+    List<Long> getCategoryIds() {
+        return categoryIds;
+    }
+
+    /**
+     * Returns a number that is unique within this session, for titles and names.
+     */
+    int nextNumber() {
+        return ++created;
+    }
+
+    static Long pick(List<Long> ids, Random random) {
+        return ids.isEmpty() ? null : ids.get(random.nextInt(ids.size()));
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.todoapp.logging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.spi.FilterReply;
+
+class SamplingFilterTest {
+
+    private LoggerContext loggerContext;
+    private SamplingFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        loggerContext = new LoggerContext();
+        filter = new SamplingFilter();
+        filter.setContext(loggerContext);
+        filter.setRates("com.example.todoapp.service=10, com.example.todoapp.service.TodoService=4");
+        filter.start();
+    }
+
+    @Test
+    void decide_KeepsOneInRateEvents() {
+        // When
+        int passed = countPassed("com.example.todoapp.service.CategoryService", Level.INFO, 100);
+
+        // Then
+        assertEquals(10, passed);
+    }
+
+    @Test
+    void decide_LongestCategoryWins() {
+        // When
+        int passed = countPassed("com.example.todoapp.service.TodoService", Level.INFO, 100);
+
+        // Then
+        assertEquals(25, passed);
+    }
+
+    @Test
+    void decide_LoggersOfCategoryShareCounter() {
+        // When
+        int passed = countPassed("com.example.todoapp.service.CategoryService", Level.INFO, 5)
+                + countPassed("com.example.todoapp.service.UserService", Level.INFO, 5);
+
+        // Then
+        assertEquals(1, passed);
+    }
+
+    @Test
+    void decide_WarningsAlwaysPass() {
+        assertEquals(20, countPassed("com.example.todoapp.service.CategoryService", Level.WARN, 20));
+        assertEquals(20, countPassed("com.example.todoapp.service.CategoryService", Level.ERROR, 20));
+    }
+
+    @Test
+    void decide_UnlistedLoggersPass() {
+        assertEquals(20, countPassed("com.example.todoapp.controller.TodoController", Level.INFO, 20));
+        assertEquals(20, countPassed("com.example.todoapp.serviceX", Level.INFO, 20));
+    }
+
+    @Test
+    void start_SkipsInvalidRates() {
+        // Given
+        SamplingFilter invalid = new SamplingFilter();
+        invalid.setContext(loggerContext);
+        invalid.setRates("com.example=0,com.example.todoapp=ten,org.hibernate");
+
+        // When
+        invalid.start();
+
+        // Then
+        assertEquals(FilterReply.NEUTRAL, invalid.decide(event("com.example.todoapp.Foo", Level.INFO)));
+        assertEquals(3, loggerContext.getStatusManager().getCount());
+    }
+
+    private int countPassed(String loggerName, Level level, int events) {
+        int passed = 0;
+        for (int i = 0; i < events; i++) {
+            if (filter.decide(event(loggerName, level)) == FilterReply.NEUTRAL) {
+                passed++;
+            }
+        }
+        return passed;
+    }
+
+    private LoggingEvent event(String loggerName, Level level) {
+        LoggingEvent event = new LoggingEvent();
+        event.setLoggerName(loggerName);
+        event.setLevel(level);
+        event.setMessage("message");
+        return event;
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.todoapp.metrics;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.example.todoapp.model.Category;
+import com.example.todoapp.model.Todo;
+import com.example.todoapp.model.User;
+import com.example.todoapp.repository.CategoryRepository;
+import com.example.todoapp.repository.TodoRepository;
+import com.example.todoapp.repository.UserRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Runs without a test transaction so that connections are acquired and released per request.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ConnectionHoldTimeTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setUsername("metricsuser");
+        user.setEmail("metrics@example.com");
+        user.setPassword("password123");
+        user = userRepository.save(user);
+
+        Category category = new Category();
+        category.setName("Work");
+        category.setUser(user);
+        category = categoryRepository.save(category);
+
+        Todo todo = new Todo();
+        todo.setTitle("Measured");
+        todo.setUser(user);
+        todo.setCategory(category);
+        todoRepository.save(todo);
+    }
+
+    @AfterEach
+    void tearDown() {
+        todoRepository.deleteAll();
+        categoryRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @WithMockUser(username = "metricsuser")
+    void getTodos_RecordsConnectionHoldTimePerEndpoint() throws Exception {
+        // When
+        mockMvc.perform(get("/api/todos"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].title").value("Measured"))
+                .andExpect(jsonPath("$[0].category.name").value("Work"))
+                .andExpect(jsonPath("$[0].user").doesNotExist());
+
+        // Then
+        Timer timer = meterRegistry.find(ConnectionHoldTimeInterceptor.METRIC_NAME)
+                .tags("method", "GET", "uri", "/api/todos").timer();
+        assertEquals(1, timer.count());
+        assertTrue(timer.totalTime(TimeUnit.NANOSECONDS) > 0);
+    }
+
+    @Test
+    @WithMockUser(username = "metricsuser")
+    void requestWithoutQueries_IsNotRecorded() throws Exception {
+        // When
+        mockMvc.perform(put("/api/todos/1")
+                .with(csrf())
+                .header("If-Match", "not-a-version")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{}"))
+                .andExpect(status().isBadRequest());
+
+        // Then
+        assertNull(meterRegistry.find(ConnectionHoldTimeInterceptor.METRIC_NAME)
+                .tags("uri", "/api/todos/{id}").timer());
+    }
+}
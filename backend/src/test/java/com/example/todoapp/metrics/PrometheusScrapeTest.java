@@ -0,0 +1,91 @@
+package com.example.todoapp.metrics;
+
+import static org.hamcrest.Matchers.containsString;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.example.todoapp.dto.LoginRequest;
+import com.example.todoapp.dto.RegisterRequest;
+import com.example.todoapp.repository.UserRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Scrapes /actuator/prometheus after a register, login and list, as Prometheus would.
+ * Boot's test support turns metrics export off unless asked for with
+ * {@link AutoConfigureObservability}.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+@ActiveProfiles("test")
+class PrometheusScrapeTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void prometheus_ExposesRequestSecurityRepositoryAndPoolMetrics() throws Exception {
+        // Given
+        mockMvc.perform(post("/api/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(
+                        new RegisterRequest("scrapeuser", "scrape@example.com", "password123"))))
+                .andExpect(status().isOk());
+        String login = mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new LoginRequest("scrapeuser", "password123"))))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        JsonNode jwt = objectMapper.readTree(login);
+        mockMvc.perform(get("/api/todos")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + jwt.get("token").asText()))
+                .andExpect(status().isOk());
+
+        // When & Then
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString(
+                        "http_server_requests_seconds_bucket{error=\"none\",exception=\"none\",method=\"GET\"")))
+                .andExpect(content().string(containsString("uri=\"/api/todos\"")))
+                .andExpect(content().string(containsString("uri=\"/api/auth/login\"")))
+                .andExpect(content().string(containsString("security_password_verify_seconds_bucket{")))
+                .andExpect(content().string(containsString("security_password_encode_seconds_count ")))
+                .andExpect(content().string(containsString("security_jwt_validation_seconds_count{result=\"valid\"}")))
+                .andExpect(content().string(containsString("spring_data_repository_invocations_seconds_bucket{")))
+                .andExpect(content().string(containsString("repository=\"UserRepository\"")))
+                .andExpect(content().string(containsString("cache_gets_total{cache=\"categorySummaries\"")))
+                .andExpect(content().string(containsString("hikaricp_connections_active{")));
+    }
+
+    @Test
+    void prometheus_RejectsRemoteClients() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus").with(request -> {
+            request.setRemoteAddr("203.0.113.7");
+            return request;
+        })).andExpect(status().isUnauthorized());
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.todoapp.repository;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.todoapp.model.Category;
+import com.example.todoapp.model.User;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Second-level cache entries are only written when a transaction commits,
+ * so these tests run without the usual test transaction and clean up after themselves.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CategoryRepositoryTest {
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private User savedUser;
+    private Category savedCategory;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setUsername("cacheuser");
+        user.setEmail("cache@example.com");
+        user.setPassword("password123");
+        savedUser = userRepository.save(user);
+
+        Category category = new Category();
+        category.setName("Work");
+        category.setColor("#FF5722");
+        category.setUser(savedUser);
+        savedCategory = categoryRepository.save(category);
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        categoryRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void findById_ServedFromSecondLevelCache() {
+        // Given
+        categoryRepository.findById(savedCategory.getId());
+        statistics.clear();
+
+        // When
+        categoryRepository.findById(savedCategory.getId());
+
+        // Then
+        assertEquals(0, statistics.getSecondLevelCacheMissCount());
+        assertEquals(1, statistics.getSecondLevelCacheHitCount());
+    }
+
+    @Test
+    void findByUserId_ServedFromQueryCache() {
+        // When
+        List<Category> first = categoryRepository.findByUserId(savedUser.getId());
+        List<Category> second = categoryRepository.findByUserId(savedUser.getId());
+
+        // Then
+        assertEquals(1, first.size());
+        assertEquals(1, second.size());
+        assertEquals(1, statistics.getQueryCacheMissCount());
+        assertEquals(1, statistics.getQueryCacheHitCount());
+    }
+
+    @Test
+    void findByUserId_InvalidatedByWrite() {
+        // Given
+        categoryRepository.findByUserId(savedUser.getId());
+
+        Category category = new Category();
+        category.setName("Home");
+        category.setUser(savedUser);
+        categoryRepository.save(category);
+
+        // When
+        List<Category> categories = categoryRepository.findByUserId(savedUser.getId());
+
+        // Then
+        assertEquals(2, categories.size());
+        assertTrue(statistics.getQueryCacheMissCount() >= 2);
+    }
+}
@@ -1,18 +1,25 @@
 package com.example.todoapp.repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Sort;
 
+import com.example.todoapp.dto.CategoryCount;
+import com.example.todoapp.dto.TodoFilter;
+import com.example.todoapp.dto.TodoPatchRequest;
+import com.example.todoapp.model.Category;
 import com.example.todoapp.model.Todo;
 import com.example.todoapp.model.User;
 
@@ -266,4 +273,266 @@ class TodoRepositoryTest {
         assertEquals(1, completedCount);
         assertEquals(1, incompleteCount);
     }
+
+    @Test
+    void countByCategoryForUser_GroupsByCategory() {
+        // Given
+        User savedUser = entityManager.persistAndFlush(testUser);
+        User savedAnotherUser = entityManager.persistAndFlush(anotherUser);
+
+        Category work = new Category();
+        work.setName("Work");
+        work.setUser(savedUser);
+        Category savedWork = entityManager.persistAndFlush(work);
+
+        testTodo1.setUser(savedUser);
+        testTodo1.setCategory(savedWork);
+        testTodo2.setUser(savedUser);
+        testTodo2.setCategory(savedWork);
+        anotherUserTodo.setUser(savedAnotherUser);
+
+        Todo uncategorized = new Todo();
+        uncategorized.setTitle("Uncategorized Todo");
+        uncategorized.setCompleted(true);
+        uncategorized.setUser(savedUser);
+
+        entityManager.persistAndFlush(testTodo1);
+        entityManager.persistAndFlush(testTodo2);
+        entityManager.persistAndFlush(anotherUserTodo);
+        entityManager.persistAndFlush(uncategorized);
+
+        // When
+        List<CategoryCount> counts = todoRepository.countByCategoryForUser(savedUser.getId());
+
+        // Then
+        assertEquals(2, counts.size());
+
+        CategoryCount workCount = counts.stream()
+                .filter(count -> savedWork.getId().equals(count.getCategoryId()))
+                .findFirst().orElseThrow();
+        assertEquals(2, workCount.getTotal());
+        assertEquals(1, workCount.getCompleted());
+        assertEquals(1, workCount.getOpen());
+
+        CategoryCount noCategoryCount = counts.stream()
+                .filter(count -> count.getCategoryId() == null)
+                .findFirst().orElseThrow();
+        assertEquals(1, noCategoryCount.getTotal());
+        assertEquals(1, noCategoryCount.getCompleted());
+    }
+
+    @Test
+    void findAll_WithSpecificationFiltersAndSorts() {
+        // Given
+        User savedUser = entityManager.persistAndFlush(testUser);
+        User savedAnotherUser = entityManager.persistAndFlush(anotherUser);
+
+        Todo todoA = new Todo();
+        todoA.setTitle("A Todo");
+        todoA.setCompleted(false);
+        todoA.setUser(savedUser);
+
+        Todo todoB = new Todo();
+        todoB.setTitle("B Todo");
+        todoB.setCompleted(false);
+        todoB.setUser(savedUser);
+
+        testTodo2.setUser(savedUser);
+        anotherUserTodo.setUser(savedAnotherUser);
+
+        entityManager.persistAndFlush(todoA);
+        entityManager.persistAndFlush(todoB);
+        entityManager.persistAndFlush(testTodo2);
+        entityManager.persistAndFlush(anotherUserTodo);
+
+        TodoFilter filter = new TodoFilter();
+        filter.setCompleted(false);
+
+        // When
+        List<Todo> openTodos = todoRepository.findAll(
+                TodoSpecifications.matching(savedUser.getId(), filter), Sort.by(Sort.Direction.DESC, "title"));
+
+        // Then
+        assertEquals(2, openTodos.size());
+        assertEquals("B Todo", openTodos.get(0).getTitle());
+        assertEquals("A Todo", openTodos.get(1).getTitle());
+
+        // When
+        filter.setCompleted(null);
+        filter.setCreatedAfter(LocalDateTime.now().plusDays(1));
+        List<Todo> futureTodos = todoRepository.findAll(TodoSpecifications.matching(savedUser.getId(), filter));
+
+        // Then
+        assertTrue(futureTodos.isEmpty());
+    }
+
+    @Test
+    void patchForUser_UpdatesOnlyPresentFieldsOfOwnTodo() {
+        // Given
+        User savedUser = entityManager.persistAndFlush(testUser);
+        User savedAnotherUser = entityManager.persistAndFlush(anotherUser);
+        testTodo1.setUser(savedUser);
+        anotherUserTodo.setUser(savedAnotherUser);
+        Todo savedTodo = entityManager.persistAndFlush(testTodo1);
+        Todo savedAnotherTodo = entityManager.persistAndFlush(anotherUserTodo);
+
+        TodoPatchRequest patch = new TodoPatchRequest();
+        patch.setCompleted(true);
+
+        // When
+        int updated = todoRepository.patchForUser(savedTodo.getId(), savedUser.getId(), patch);
+        int updatedOther = todoRepository.patchForUser(savedAnotherTodo.getId(), savedUser.getId(), patch);
+        entityManager.clear();
+
+        // Then
+        assertEquals(1, updated);
+        assertEquals(0, updatedOther);
+        Todo reloaded = entityManager.find(Todo.class, savedTodo.getId());
+        assertTrue(reloaded.isCompleted());
+        assertEquals("First Todo", reloaded.getTitle());
+        assertEquals("First Description", reloaded.getDescription());
+        assertFalse(entityManager.find(Todo.class, savedAnotherTodo.getId()).isCompleted());
+    }
+
+    @Test
+    void patchForUser_ExplicitNullDescription_ClearsDescription() {
+        // Given
+        User savedUser = entityManager.persistAndFlush(testUser);
+        testTodo1.setUser(savedUser);
+        Todo savedTodo = entityManager.persistAndFlush(testTodo1);
+
+        TodoPatchRequest patch = new TodoPatchRequest();
+        patch.setDescription(null);
+
+        // When
+        int updated = todoRepository.patchForUser(savedTodo.getId(), savedUser.getId(), patch);
+        entityManager.clear();
+
+        // Then
+        assertEquals(1, updated);
+        Todo reloaded = entityManager.find(Todo.class, savedTodo.getId());
+        assertNull(reloaded.getDescription());
+        assertEquals("First Todo", reloaded.getTitle());
+    }
+
+    @Test
+    void patchForUser_ChecksAndIncrementsVersion() {
+        // Given
+        User savedUser = entityManager.persistAndFlush(testUser);
+        testTodo1.setUser(savedUser);
+        Todo savedTodo = entityManager.persistAndFlush(testTodo1);
+        Long version = savedTodo.getVersion();
+
+        TodoPatchRequest stalePatch = new TodoPatchRequest();
+        stalePatch.setTitle("Stale");
+        stalePatch.setVersion(version + 1);
+        TodoPatchRequest currentPatch = new TodoPatchRequest();
+        currentPatch.setTitle("Current");
+        currentPatch.setVersion(version);
+
+        // When
+        int staleUpdated = todoRepository.patchForUser(savedTodo.getId(), savedUser.getId(), stalePatch);
+        int currentUpdated = todoRepository.patchForUser(savedTodo.getId(), savedUser.getId(), currentPatch);
+        entityManager.clear();
+
+        // Then
+        assertEquals(0, staleUpdated);
+        assertEquals(1, currentUpdated);
+        Todo reloaded = entityManager.find(Todo.class, savedTodo.getId());
+        assertEquals("Current", reloaded.getTitle());
+        assertEquals(version + 1, reloaded.getVersion());
+    }
+
+    @Test
+    void patchForUser_RequiresOwnedCategory() {
+        // Given
+        User savedUser = entityManager.persistAndFlush(testUser);
+        User savedAnotherUser = entityManager.persistAndFlush(anotherUser);
+
+        Category ownCategory = new Category();
+        ownCategory.setName("Work");
+        ownCategory.setUser(savedUser);
+        Category savedOwnCategory = entityManager.persistAndFlush(ownCategory);
+
+        Category foreignCategory = new Category();
+        foreignCategory.setName("Foreign");
+        foreignCategory.setUser(savedAnotherUser);
+        Category savedForeignCategory = entityManager.persistAndFlush(foreignCategory);
+
+        testTodo1.setUser(savedUser);
+        Todo savedTodo = entityManager.persistAndFlush(testTodo1);
+
+        TodoPatchRequest foreignPatch = new TodoPatchRequest();
+        foreignPatch.setCategoryId(savedForeignCategory.getId());
+        TodoPatchRequest ownPatch = new TodoPatchRequest();
+        ownPatch.setCategoryId(savedOwnCategory.getId());
+
+        // When
+        int foreignUpdated = todoRepository.patchForUser(savedTodo.getId(), savedUser.getId(), foreignPatch);
+        int ownUpdated = todoRepository.patchForUser(savedTodo.getId(), savedUser.getId(), ownPatch);
+        entityManager.clear();
+
+        // Then
+        assertEquals(0, foreignUpdated);
+        assertEquals(1, ownUpdated);
+        assertEquals(savedOwnCategory.getId(),
+                entityManager.find(Todo.class, savedTodo.getId()).getCategory().getId());
+
+        // When
+        TodoPatchRequest clearPatch = new TodoPatchRequest();
+        clearPatch.setCategoryId(null);
+        todoRepository.patchForUser(savedTodo.getId(), savedUser.getId(), clearPatch);
+        entityManager.clear();
+
+        // Then
+        assertNull(entityManager.find(Todo.class, savedTodo.getId()).getCategory());
+    }
+
+    @Test
+    void deleteByIdAndUserId_OnlyDeletesOwnTodo() {
+        // Given
+        User savedUser = entityManager.persistAndFlush(testUser);
+        User savedAnotherUser = entityManager.persistAndFlush(anotherUser);
+        testTodo1.setUser(savedUser);
+        anotherUserTodo.setUser(savedAnotherUser);
+        Todo savedTodo = entityManager.persistAndFlush(testTodo1);
+        Todo savedAnotherTodo = entityManager.persistAndFlush(anotherUserTodo);
+
+        // When
+        int deletedOther = todoRepository.deleteByIdAndUserId(savedAnotherTodo.getId(), savedUser.getId());
+        int deleted = todoRepository.deleteByIdAndUserId(savedTodo.getId(), savedUser.getId());
+        entityManager.clear();
+
+        // Then
+        assertEquals(0, deletedOther);
+        assertEquals(1, deleted);
+        assertFalse(todoRepository.findById(savedTodo.getId()).isPresent());
+        assertTrue(todoRepository.findById(savedAnotherTodo.getId()).isPresent());
+    }
+
+    @Test
+    void clearCategoryForUser_DetachesTodos() {
+        // Given
+        User savedUser = entityManager.persistAndFlush(testUser);
+        Category category = new Category();
+        category.setName("Work");
+        category.setUser(savedUser);
+        Category savedCategory = entityManager.persistAndFlush(category);
+
+        testTodo1.setUser(savedUser);
+        testTodo1.setCategory(savedCategory);
+        testTodo2.setUser(savedUser);
+        testTodo2.setCategory(savedCategory);
+        entityManager.persistAndFlush(testTodo1);
+        entityManager.persistAndFlush(testTodo2);
+
+        // When
+        int updated = todoRepository.clearCategoryForUser(savedCategory.getId(), savedUser.getId(), LocalDateTime.now());
+        entityManager.clear();
+
+        // Then
+        assertEquals(2, updated);
+        assertTrue(todoRepository.findByUserIdAndCategoryId(savedUser.getId(), savedCategory.getId()).isEmpty());
+        assertEquals(2, todoRepository.findByUserIdAndCategoryIsNull(savedUser.getId()).size());
+    }
 }
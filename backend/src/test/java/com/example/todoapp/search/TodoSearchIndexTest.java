@@ -0,0 +1,136 @@
+package com.example.todoapp.search;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class TodoSearchIndexTest {
+
+    private TodoSearchIndex todoSearchIndex;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        todoSearchIndex = new TodoSearchIndex();
+        ReflectionTestUtils.setField(todoSearchIndex, "indexDir", "");
+        ReflectionTestUtils.setField(todoSearchIndex, "maxStaleSeconds", 1.0);
+        ReflectionTestUtils.setField(todoSearchIndex, "commitIntervalSeconds", 30L);
+        todoSearchIndex.open();
+
+        todoSearchIndex.index(new TodoDocument(1L, 1L, "Buy groceries", "Milk, eggs and bread"));
+        todoSearchIndex.index(new TodoDocument(2L, 1L, "Write report", "Quarterly sales numbers for groceries"));
+        todoSearchIndex.index(new TodoDocument(3L, 2L, "Buy groceries", "Another user's list"));
+        todoSearchIndex.refresh();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        todoSearchIndex.close();
+    }
+
+    @Test
+    void search_OnlyReturnsTodosOfUser() {
+        // When
+        List<Long> ids = todoSearchIndex.search(1L, "groceries", 10);
+
+        // Then
+        assertEquals(2, ids.size());
+        assertTrue(ids.containsAll(Arrays.asList(1L, 2L)));
+    }
+
+    @Test
+    void search_RanksTitleMatchesFirst() {
+        // When
+        List<Long> ids = todoSearchIndex.search(1L, "groceries", 10);
+
+        // Then
+        assertEquals(1L, ids.get(0));
+    }
+
+    @Test
+    void search_SupportsPrefixQueries() {
+        // When
+        List<Long> ids = todoSearchIndex.search(1L, "quart*", 10);
+
+        // Then
+        assertEquals(Arrays.asList(2L), ids);
+    }
+
+    @Test
+    void index_ReplacesExistingEntry() {
+        // When
+        todoSearchIndex.index(new TodoDocument(1L, 1L, "Call plumber", null));
+        todoSearchIndex.refresh();
+
+        // Then
+        assertEquals(Arrays.asList(2L), todoSearchIndex.search(1L, "groceries", 10));
+        assertEquals(Arrays.asList(1L), todoSearchIndex.search(1L, "plumber", 10));
+        assertEquals(3, todoSearchIndex.size());
+    }
+
+    @Test
+    void delete_RemovesEntry() {
+        // When
+        todoSearchIndex.delete(2L);
+        todoSearchIndex.refresh();
+
+        // Then
+        assertEquals(Arrays.asList(1L), todoSearchIndex.search(1L, "groceries", 10));
+    }
+
+    @Test
+    void deleteAll_ClearsIndex() {
+        // When
+        todoSearchIndex.deleteAll();
+        todoSearchIndex.refresh();
+
+        // Then
+        assertEquals(0, todoSearchIndex.size());
+        assertTrue(todoSearchIndex.search(1L, "groceries", 10).isEmpty());
+    }
+
+    @Test
+    void stopAndStart_KeepsInMemoryIndex() {
+        // When
+        todoSearchIndex.stop();
+        assertFalse(todoSearchIndex.isRunning());
+        todoSearchIndex.start();
+
+        // Then
+        assertTrue(todoSearchIndex.isRunning());
+        assertEquals(3, todoSearchIndex.size());
+        assertEquals(Arrays.asList(2L), todoSearchIndex.search(1L, "quart*", 10));
+    }
+
+    @Test
+    void stopAndStart_ReopensIndexOnDisk(@TempDir Path indexDir) throws Exception {
+        // Given
+        TodoSearchIndex diskIndex = new TodoSearchIndex();
+        ReflectionTestUtils.setField(diskIndex, "indexDir", indexDir.toString());
+        ReflectionTestUtils.setField(diskIndex, "maxStaleSeconds", 1.0);
+        ReflectionTestUtils.setField(diskIndex, "commitIntervalSeconds", 30L);
+        diskIndex.open();
+        diskIndex.index(new TodoDocument(1L, 1L, "Buy groceries", null));
+
+        // When
+        diskIndex.stop();
+        diskIndex.start();
+        diskIndex.index(new TodoDocument(2L, 1L, "Groceries for the party", null));
+        diskIndex.refresh();
+
+        // Then
+        try {
+            assertEquals(2, diskIndex.search(1L, "groceries", 10).size());
+        } finally {
+            diskIndex.close();
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.todoapp.seed;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import com.example.todoapp.config.SeedProperties;
+
+/**
+ * Seeds an embedded H2 database with the schema of the users, categories and todo tables.
+ */
+class DatasetGeneratorTest {
+
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    private SeedProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("CREATE TABLE users (id BIGINT AUTO_INCREMENT PRIMARY KEY, username VARCHAR(255) UNIQUE, "
+                + "name VARCHAR(255), email VARCHAR(255) UNIQUE, password VARCHAR(255), provider VARCHAR(255))");
+        jdbcTemplate.execute("CREATE TABLE categories (id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                + "name VARCHAR(255) NOT NULL, color VARCHAR(255), description TEXT, "
+                + "user_id BIGINT NOT NULL REFERENCES users (id), created_at TIMESTAMP, last_modified TIMESTAMP, "
+                + "version BIGINT DEFAULT 0)");
+        jdbcTemplate.execute("CREATE TABLE todo (id BIGINT AUTO_INCREMENT PRIMARY KEY, title VARCHAR(255), "
+                + "description TEXT, completed BOOLEAN NOT NULL, user_id BIGINT REFERENCES users (id), "
+                + "category_id BIGINT REFERENCES categories (id), created_at TIMESTAMP, last_modified TIMESTAMP, "
+                + "version BIGINT DEFAULT 0)");
+
+        properties = new SeedProperties();
+        properties.setUsers(250);
+        properties.setMaxTodosPerUser(2000);
+        properties.setUsersPerTransaction(40);
+        properties.setBatchSize(100);
+        properties.setThreads(3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    void generate_SeedsSkewedTodosPerUser() {
+        // When
+        DatasetGenerator.Result result = generator().generate();
+
+        // Then
+        assertEquals(250, result.users());
+        assertEquals(250, count("SELECT COUNT(*) FROM users"));
+        assertEquals(result.categories(), count("SELECT COUNT(*) FROM categories"));
+        assertEquals(result.todos(), count("SELECT COUNT(*) FROM todo"));
+        assertEquals(0, count("SELECT COUNT(*) FROM users u WHERE NOT EXISTS "
+                + "(SELECT 1 FROM todo t WHERE t.user_id = u.id)"));
+        assertEquals(0, count("SELECT COUNT(*) FROM users u WHERE NOT EXISTS "
+                + "(SELECT 1 FROM categories c WHERE c.user_id = u.id)"));
+        assertEquals(0, count("SELECT COUNT(*) FROM todo t JOIN categories c ON c.id = t.category_id "
+                + "WHERE c.user_id <> t.user_id"));
+        assertTrue(count("SELECT COUNT(*) FROM todo WHERE category_id IS NULL") > 0);
+
+        List<Long> todosPerUser = jdbcTemplate.queryForList(
+                "SELECT COUNT(*) FROM todo GROUP BY user_id ORDER BY COUNT(*)", Long.class);
+        long median = todosPerUser.get(todosPerUser.size() / 2);
+        long largest = todosPerUser.get(todosPerUser.size() - 1);
+        assertTrue(median <= 3, () -> "median " + median);
+        assertTrue(largest >= 100 * median, () -> "largest " + largest + ", median " + median);
+    }
+
+    @Test
+    void generate_IsRepeatableAndResumable() {
+        // Given
+        DatasetGenerator.Result first = generator().generate();
+        List<Long> todosPerUser = jdbcTemplate.queryForList(
+                "SELECT COUNT(*) FROM todo t JOIN users u ON u.id = t.user_id GROUP BY u.username ORDER BY u.username",
+                Long.class);
+        jdbcTemplate.update("DELETE FROM todo WHERE user_id IN (SELECT id FROM users WHERE username >= ?)",
+                generator().username(200));
+        jdbcTemplate.update("DELETE FROM categories WHERE user_id IN (SELECT id FROM users WHERE username >= ?)",
+                generator().username(200));
+        jdbcTemplate.update("DELETE FROM users WHERE username >= ?", generator().username(200));
+
+        // When
+        DatasetGenerator.Result resumed = generator().generate();
+
+        // Then
+        assertEquals(50, resumed.users());
+        assertEquals(first.todos(), count("SELECT COUNT(*) FROM todo"));
+        assertEquals(todosPerUser, jdbcTemplate.queryForList(
+                "SELECT COUNT(*) FROM todo t JOIN users u ON u.id = t.user_id GROUP BY u.username ORDER BY u.username",
+                Long.class));
+        assertEquals(0, generator().generate().rows());
+    }
+
+    private DatasetGenerator generator() {
+        return new DatasetGenerator(jdbcTemplate, new DataSourceTransactionManager(database), null, properties,
+                "{noop}seed-password");
+    }
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+}
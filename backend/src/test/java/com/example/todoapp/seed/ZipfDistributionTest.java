@@ -0,0 +1,73 @@
+package com.example.todoapp.seed;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+class ZipfDistributionTest {
+
+    @Test
+    void sample_FollowsPowerLaw() {
+        // Given
+        ZipfDistribution distribution = new ZipfDistribution(1000, 1.5);
+        SplittableRandom random = new SplittableRandom(1);
+        int[] counts = new int[1001];
+
+        // When
+        for (int i = 0; i < 200_000; i++) {
+            counts[distribution.sample(random)]++;
+        }
+
+        // Then
+        assertEquals(Math.pow(2, 1.5), (double) counts[1] / counts[2], 0.1);
+        assertEquals(Math.pow(2, 1.5), (double) counts[2] / counts[4], 0.2);
+        assertEquals(0, counts[0]);
+    }
+
+    @Test
+    void sample_StaysInRange() {
+        // Given
+        ZipfDistribution distribution = new ZipfDistribution(5, 0.5);
+        SplittableRandom random = new SplittableRandom(2);
+        int[] counts = new int[6];
+
+        // When
+        for (int i = 0; i < 10_000; i++) {
+            int value = distribution.sample(random);
+            assertTrue(value >= 1 && value <= 5, () -> "sampled " + value);
+            counts[value]++;
+        }
+
+        // Then
+        for (int k = 1; k <= 5; k++) {
+            assertTrue(counts[k] > 0);
+        }
+    }
+
+    @Test
+    void mean_MatchesSampleAverage() {
+        // Given
+        ZipfDistribution distribution = new ZipfDistribution(200_000, 1.5);
+        SplittableRandom random = new SplittableRandom(3);
+
+        // When
+        double sum = 0;
+        int samples = 200_000;
+        for (int i = 0; i < samples; i++) {
+            sum += distribution.sample(random);
+        }
+
+        // Then
+        double mean = distribution.mean();
+        assertEquals(mean, sum / samples, mean * 0.15);
+    }
+
+    @Test
+    void constructor_RejectsInvalidParameters() {
+        assertThrows(IllegalArgumentException.class, () -> new ZipfDistribution(0, 1.0));
+        assertThrows(IllegalArgumentException.class, () -> new ZipfDistribution(10, 0));
+    }
+}
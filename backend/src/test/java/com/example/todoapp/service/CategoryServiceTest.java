@@ -0,0 +1,239 @@
+package com.example.todoapp.service;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.example.todoapp.config.CacheConfig;
+import com.example.todoapp.datasource.RoutingContext;
+import com.example.todoapp.dto.CategoryCount;
+import com.example.todoapp.dto.CategoryResponse;
+import com.example.todoapp.dto.CategorySummaryResponse;
+import com.example.todoapp.exception.ResourceNotFoundException;
+import com.example.todoapp.model.Category;
+import com.example.todoapp.model.User;
+import com.example.todoapp.repository.ArchivedTodoRepository;
+import com.example.todoapp.repository.CategoryRepository;
+import com.example.todoapp.repository.TodoRepository;
+import com.example.todoapp.repository.UserRepository;
+import com.example.todoapp.web.ResponseBodyCache;
+
+@ExtendWith(MockitoExtension.class)
+class CategoryServiceTest {
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private TodoRepository todoRepository;
+
+    @Mock
+    private ArchivedTodoRepository archivedTodoRepository;
+
+    @Mock
+    private TodoListCache todoListCache;
+
+    @Mock
+    private ResponseBodyCache responseBodyCache;
+
+    @Spy
+    private ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager(CacheConfig.CATEGORY_SUMMARY_CACHE);
+
+    @InjectMocks
+    private CategoryService categoryService;
+
+    private User testUser;
+
+    @BeforeEach
+    void setUp() {
+        testUser = new User();
+        testUser.setId(1L);
+        testUser.setUsername("testuser");
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("testuser", null, Collections.emptyList()));
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void getCategorySummary_ComputesTotals() {
+        // Given
+        when(todoRepository.countByCategoryForUser(1L)).thenReturn(Arrays.asList(
+                new CategoryCount(10L, 3L, 1L),
+                new CategoryCount(null, 2L, 2L)));
+
+        // When
+        CategorySummaryResponse result = categoryService.getCategorySummary();
+
+        // Then
+        assertEquals(2, result.getCategories().size());
+        assertEquals(5, result.getTotal());
+        assertEquals(3, result.getCompleted());
+        assertEquals(2, result.getOpen());
+    }
+
+    @Test
+    void getCategorySummary_CachedUntilEvicted() {
+        // Given
+        when(todoRepository.countByCategoryForUser(1L))
+                .thenReturn(Arrays.asList(new CategoryCount(10L, 1L, 0L)));
+
+        // When
+        CategorySummaryResponse first = categoryService.getCategorySummary();
+        CategorySummaryResponse second = categoryService.getCategorySummary();
+
+        // Then
+        assertSame(first, second);
+        verify(todoRepository, times(1)).countByCategoryForUser(1L);
+        verify(userRepository, times(1)).findByUsername("testuser");
+
+        // When
+        categoryService.evictCategorySummary("testuser");
+        categoryService.getCategorySummary();
+
+        // Then
+        verify(todoRepository, times(2)).countByCategoryForUser(1L);
+    }
+
+    @Test
+    void getCategorySummary_LoadsFromPrimary() {
+        // Given
+        when(userRepository.findByUsername("testuser")).thenAnswer(invocation -> {
+            assertTrue(RoutingContext.isPrimaryRequired());
+            return Optional.of(testUser);
+        });
+        when(todoRepository.countByCategoryForUser(1L)).thenAnswer(invocation -> {
+            assertTrue(RoutingContext.isPrimaryRequired());
+            return List.of();
+        });
+
+        // When
+        categoryService.getCategorySummary();
+
+        // Then
+        verify(todoRepository).countByCategoryForUser(1L);
+        assertFalse(RoutingContext.isPrimaryRequired());
+    }
+
+    @Test
+    void getCategorySummary_UnknownUser_NotFound() {
+        // Given
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThrows(ResourceNotFoundException.class, () -> categoryService.getCategorySummary());
+    }
+
+    @Test
+    void getCategoriesForUser_ReadsFromPrimary() {
+        // Given
+        Category category = new Category();
+        category.setId(10L);
+        category.setName("Work");
+        when(categoryRepository.findByUserId(1L)).thenAnswer(invocation -> {
+            assertTrue(RoutingContext.isPrimaryRequired());
+            return List.of(category);
+        });
+
+        // When
+        List<CategoryResponse> result = categoryService.getCategoriesForUser();
+
+        // Then
+        assertEquals(1, result.size());
+        assertEquals("Work", result.get(0).getName());
+        assertFalse(RoutingContext.isPrimaryRequired());
+    }
+
+    @Test
+    void getCategoryById_ReadsFromPrimary() {
+        // Given
+        Category category = new Category();
+        category.setId(10L);
+        category.setName("Work");
+        category.setUser(testUser);
+        when(categoryRepository.findById(10L)).thenAnswer(invocation -> {
+            assertTrue(RoutingContext.isPrimaryRequired());
+            return Optional.of(category);
+        });
+
+        // When
+        CategoryResponse result = categoryService.getCategoryById(10L);
+
+        // Then
+        assertEquals(10L, result.getId());
+        assertFalse(RoutingContext.isPrimaryRequired());
+    }
+
+    @Test
+    void deleteCategory_DetachesTodosAndDeletes() {
+        // Given
+        when(categoryRepository.deleteByIdAndUserId(10L, 1L)).thenReturn(1);
+
+        // When
+        categoryService.deleteCategory(10L);
+
+        // Then
+        verify(todoRepository).clearCategoryForUser(eq(10L), eq(1L), any(LocalDateTime.class));
+        verify(archivedTodoRepository).clearCategoryForUser(10L, 1L);
+        verify(categoryRepository).deleteByIdAndUserId(10L, 1L);
+        verify(categoryRepository, never()).findById(anyLong());
+        verify(todoListCache).evict("testuser");
+        verify(responseBodyCache).evict("testuser");
+    }
+
+    @Test
+    void deleteCategory_Unauthorized() {
+        // Given
+        when(categoryRepository.deleteByIdAndUserId(10L, 1L)).thenReturn(0);
+        when(categoryRepository.existsById(10L)).thenReturn(true);
+
+        // When & Then
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> categoryService.deleteCategory(10L));
+        assertEquals("User not authorized to delete this category", exception.getMessage());
+    }
+
+    @Test
+    void deleteCategory_NotFound() {
+        // Given
+        when(categoryRepository.deleteByIdAndUserId(10L, 1L)).thenReturn(0);
+        when(categoryRepository.existsById(10L)).thenReturn(false);
+
+        // When & Then
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> categoryService.deleteCategory(10L));
+        assertEquals("Category not found", exception.getMessage());
+    }
+}
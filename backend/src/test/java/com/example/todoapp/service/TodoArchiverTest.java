@@ -0,0 +1,157 @@
+package com.example.todoapp.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.example.todoapp.datasource.ConsistentHashRing;
+import com.example.todoapp.model.ArchivedTodo;
+import com.example.todoapp.model.Category;
+import com.example.todoapp.model.Todo;
+import com.example.todoapp.model.User;
+import com.example.todoapp.repository.ArchivedTodoRepository;
+import com.example.todoapp.repository.TodoRepository;
+import com.example.todoapp.repository.UserRepository;
+import com.example.todoapp.search.TodoSearchIndex;
+import com.example.todoapp.web.ResponseBodyCache;
+
+@DataJpaTest
+class TodoArchiverTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private ArchivedTodoRepository archivedTodoRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectProvider<ConsistentHashRing> shardRing;
+
+    @MockitoBean
+    private CategoryService categoryService;
+
+    @MockitoBean
+    private TodoListCache todoListCache;
+
+    @MockitoBean
+    private ResponseBodyCache responseBodyCache;
+
+    @MockitoBean
+    private TodoSearchIndex todoSearchIndex;
+
+    private TodoArchiver todoArchiver;
+    private User user;
+    private Category category;
+
+    @BeforeEach
+    void setUp() {
+        todoArchiver = new TodoArchiver(todoRepository, archivedTodoRepository, userRepository, categoryService,
+                todoListCache, responseBodyCache, todoSearchIndex, transactionManager, shardRing);
+        ReflectionTestUtils.setField(todoArchiver, "age", Duration.ofDays(30));
+        ReflectionTestUtils.setField(todoArchiver, "batchSize", 2);
+
+        user = new User();
+        user.setUsername("archiveuser");
+        user.setEmail("archive@example.com");
+        user.setPassword("password123");
+        user = entityManager.persistAndFlush(user);
+
+        category = new Category();
+        category.setName("Work");
+        category.setUser(user);
+        category = entityManager.persistAndFlush(category);
+    }
+
+    @Test
+    void archive_MovesOldCompletedTodosInBatches() {
+        // Given
+        Todo oldCompleted1 = createTodo("Old 1", true, 40);
+        Todo oldCompleted2 = createTodo("Old 2", true, 45);
+        Todo oldCompleted3 = createTodo("Old 3", true, 31);
+        Todo oldOpen = createTodo("Old open", false, 40);
+        Todo recentCompleted = createTodo("Recent", true, 1);
+
+        // When
+        long archived = todoArchiver.archive();
+
+        // Then
+        assertEquals(3, archived);
+        List<Long> remaining = todoRepository.findByUserId(user.getId()).stream().map(Todo::getId).toList();
+        assertEquals(List.of(oldOpen.getId(), recentCompleted.getId()), remaining);
+
+        List<ArchivedTodo> archivedTodos = archivedTodoRepository.findByUserIdOrderByLastModifiedDesc(user.getId());
+        assertEquals(List.of(oldCompleted3.getId(), oldCompleted1.getId(), oldCompleted2.getId()),
+                archivedTodos.stream().map(ArchivedTodo::getId).toList());
+        ArchivedTodo first = archivedTodos.get(1);
+        assertEquals("Old 1", first.getTitle());
+        assertEquals(category.getId(), first.getCategory().getId());
+        assertTrue(first.isCompleted());
+        assertTrue(first.getArchivedAt() != null);
+
+        verify(todoSearchIndex).delete(oldCompleted1.getId());
+        verify(todoSearchIndex).delete(oldCompleted2.getId());
+        verify(todoSearchIndex).delete(oldCompleted3.getId());
+        verify(todoSearchIndex, never()).delete(oldOpen.getId());
+        verify(categoryService, times(2)).evictCategorySummary("archiveuser");
+        verify(todoListCache, times(2)).evict("archiveuser");
+        verify(responseBodyCache, times(2)).evict("archiveuser");
+        verify(todoListCache, never()).evictAll();
+        verify(responseBodyCache, never()).evictAll();
+    }
+
+    @Test
+    void archive_NothingDue() {
+        // Given
+        createTodo("Recent", true, 1);
+
+        // When
+        long archived = todoArchiver.archive();
+
+        // Then
+        assertEquals(0, archived);
+        assertTrue(archivedTodoRepository.findAll().isEmpty());
+        verify(categoryService, never()).evictCategorySummary("archiveuser");
+        verify(todoListCache, never()).evict("archiveuser");
+        verify(responseBodyCache, never()).evict("archiveuser");
+    }
+
+    private Todo createTodo(String title, boolean completed, int daysSinceModified) {
+        Todo todo = new Todo();
+        todo.setTitle(title);
+        todo.setCompleted(completed);
+        todo.setUser(user);
+        todo.setCategory(category);
+        todo = entityManager.persistAndFlush(todo);
+        // lastModified is set by Hibernate on every write, so it is backdated with SQL
+        entityManager.getEntityManager()
+                .createNativeQuery("UPDATE todo SET last_modified = ? WHERE id = ?")
+                .setParameter(1, LocalDateTime.now().minusDays(daysSinceModified))
+                .setParameter(2, todo.getId())
+                .executeUpdate();
+        return todo;
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.todoapp.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import com.example.todoapp.datasource.RoutingContext;
+import com.example.todoapp.dto.TodoResponse;
+import com.example.todoapp.model.Todo;
+
+class TodoListCacheTest {
+
+    private final TodoListCache cache = new TodoListCache(DataSize.ofKilobytes(64));
+
+    @Test
+    void get_LoadsOnceUntilEvicted() {
+        // Given
+        AtomicInteger loads = new AtomicInteger();
+
+        // When
+        cache.get("alice", () -> todos(loads, 3));
+        cache.get("alice", () -> todos(loads, 3));
+        cache.evict("alice");
+        List<TodoResponse> reloaded = cache.get("alice", () -> todos(loads, 2));
+
+        // Then
+        assertEquals(2, loads.get());
+        assertEquals(2, reloaded.size());
+        assertEquals(1, cache.getNativeCache().stats().hitCount());
+    }
+
+    @Test
+    void get_LoadsFromPrimary() {
+        // When
+        cache.get("alice", () -> {
+            // Then
+            assertTrue(RoutingContext.isPrimaryRequired());
+            return List.of();
+        });
+        assertFalse(RoutingContext.isPrimaryRequired());
+    }
+
+    @Test
+    void writes_PatchCachedList() {
+        // Given
+        cache.get("alice", () -> List.of(todo(1L, "One", 0L), todo(2L, "Two", 0L)));
+
+        // When
+        cache.added("alice", todo(3L, "Three", 0L));
+        cache.updated("alice", todo(1L, "One, renamed", 2L));
+        cache.updated("alice", todo(1L, "One, stale", 1L));
+        cache.removed("alice", 2L);
+        cache.updated("alice", todo(2L, "Two, deleted", 1L));
+
+        // Then
+        List<TodoResponse> todos = cache.get("alice", List::of);
+        assertEquals(List.of(1L, 3L), todos.stream().map(TodoResponse::getId).toList());
+        assertEquals("One, renamed", todos.get(0).getTitle());
+    }
+
+    @Test
+    void writes_IgnoreUncachedUsers() {
+        // When
+        cache.added("bob", todo(1L, "One", 0L));
+
+        // Then
+        assertNull(cache.getNativeCache().getIfPresent("bob"));
+    }
+
+    @Test
+    void evictsByEstimatedSize() {
+        // Given
+        String description = "x".repeat(1000);
+        List<TodoResponse> large = new ArrayList<>();
+        for (long id = 1; id <= 40; id++) {
+            TodoResponse todo = todo(id, "Large", 0L);
+            todo.setDescription(description);
+            large.add(todo);
+        }
+        assertTrue(TodoListCache.weigh("large", large) > DataSize.ofKilobytes(32).toBytes());
+
+        // When
+        for (int user = 0; user < 100; user++) {
+            cache.get("user" + user, () -> List.of(todo(1L, "Small", 0L)));
+        }
+        cache.get("large1", () -> large);
+        cache.get("large2", () -> large);
+        cache.getNativeCache().cleanUp();
+
+        // Then
+        assertTrue(cache.estimatedSize() <= DataSize.ofKilobytes(64).toBytes());
+        assertTrue(cache.getNativeCache().stats().evictionCount() > 0);
+    }
+
+    @Test
+    void disabled_AlwaysLoads() {
+        // Given
+        TodoListCache disabled = new TodoListCache(DataSize.ofBytes(0));
+        AtomicInteger loads = new AtomicInteger();
+
+        // When
+        disabled.get("alice", () -> todos(loads, 1));
+        disabled.get("alice", () -> todos(loads, 1));
+        disabled.added("alice", todo(2L, "Two", 0L));
+
+        // Then
+        assertEquals(2, loads.get());
+        assertNull(disabled.getNativeCache());
+        assertEquals(0, disabled.estimatedSize());
+    }
+
+    private static List<TodoResponse> todos(AtomicInteger loads, int count) {
+        loads.incrementAndGet();
+        List<TodoResponse> todos = new ArrayList<>();
+        for (long id = 1; id <= count; id++) {
+            todos.add(todo(id, "Todo " + id, 0L));
+        }
+        return todos;
+    }
+
+    private static TodoResponse todo(Long id, String title, Long version) {
+        Todo todo = new Todo();
+        todo.setId(id);
+        todo.setTitle(title);
+        todo.setVersion(version);
+        return TodoResponse.from(todo);
+    }
+}
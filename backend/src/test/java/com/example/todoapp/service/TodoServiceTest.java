@@ -6,17 +6,23 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
+import org.mockito.Spy;
 import static org.mockito.Mockito.mockStatic;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -24,11 +30,19 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.util.unit.DataSize;
 
+import com.example.todoapp.dto.TodoPatchRequest;
+import com.example.todoapp.dto.TodoResponse;
+import com.example.todoapp.exception.ResourceNotFoundException;
+import com.example.todoapp.model.ArchivedTodo;
 import com.example.todoapp.model.Todo;
 import com.example.todoapp.model.User;
+import com.example.todoapp.repository.ArchivedTodoRepository;
 import com.example.todoapp.repository.TodoRepository;
 import com.example.todoapp.repository.UserRepository;
+import com.example.todoapp.search.TodoSearchIndex;
+import com.example.todoapp.web.ResponseBodyCache;
 
 @ExtendWith(MockitoExtension.class)
 class TodoServiceTest {
@@ -39,6 +53,21 @@ class TodoServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private CategoryService categoryService;
+
+    @Mock
+    private TodoSearchIndex todoSearchIndex;
+
+    @Mock
+    private ArchivedTodoRepository archivedTodoRepository;
+
+    @Mock
+    private ResponseBodyCache responseBodyCache;
+
+    @Spy
+    private TodoListCache todoListCache = new TodoListCache(DataSize.ofMegabytes(1));
+
     @Mock
     private SecurityContext securityContext;
 
@@ -87,7 +116,7 @@ class TodoServiceTest {
             mockedSecurityContextHolder.when(SecurityContextHolder::getContext).thenReturn(securityContext);
 
             // When
-            List<Todo> result = todoService.getTodosForUser();
+            List<TodoResponse> result = todoService.getTodosForUser();
 
             // Then
             assertNotNull(result);
@@ -97,6 +126,53 @@ class TodoServiceTest {
         }
     }
 
+    @Test
+    void getTodosForUser_CachedAndPatchedByWrites() {
+        // Given
+        mockSecurityContext();
+        when(todoRepository.findByUserId(1L)).thenReturn(Arrays.asList(testTodo));
+        when(todoRepository.deleteByIdAndUserId(1L, 1L)).thenReturn(1);
+
+        try (MockedStatic<SecurityContextHolder> mockedSecurityContextHolder = mockStatic(SecurityContextHolder.class)) {
+            mockedSecurityContextHolder.when(SecurityContextHolder::getContext).thenReturn(securityContext);
+
+            // When
+            List<TodoResponse> first = todoService.getTodosForUser();
+            List<TodoResponse> second = todoService.getTodosForUser();
+            todoService.deleteTodo(1L);
+            List<TodoResponse> afterDelete = todoService.getTodosForUser();
+
+            // Then
+            assertEquals(1, first.size());
+            assertSame(first, second);
+            assertTrue(afterDelete.isEmpty());
+            verify(todoRepository, times(1)).findByUserId(1L);
+            verify(responseBodyCache).evict("testuser");
+        }
+    }
+
+    @Test
+    void getArchivedTodos_Success() {
+        // Given
+        ArchivedTodo archivedTodo = new ArchivedTodo();
+        archivedTodo.setId(7L);
+        archivedTodo.setTitle("Old Todo");
+        mockSecurityContext();
+        when(archivedTodoRepository.findByUserIdOrderByLastModifiedDesc(1L)).thenReturn(Arrays.asList(archivedTodo));
+
+        try (MockedStatic<SecurityContextHolder> mockedSecurityContextHolder = mockStatic(SecurityContextHolder.class)) {
+            mockedSecurityContextHolder.when(SecurityContextHolder::getContext).thenReturn(securityContext);
+
+            // When
+            List<TodoResponse> result = todoService.getArchivedTodos();
+
+            // Then
+            assertEquals(1, result.size());
+            assertEquals("Old Todo", result.get(0).getTitle());
+            verify(todoRepository, never()).findByUserId(anyLong());
+        }
+    }
+
     @Test
     void createTodo_Success() {
         // Given
@@ -119,14 +195,15 @@ class TodoServiceTest {
             mockedSecurityContextHolder.when(SecurityContextHolder::getContext).thenReturn(securityContext);
 
             // When
-            Todo result = todoService.createTodo(newTodo);
+            TodoResponse result = todoService.createTodo(newTodo);
 
             // Then
             assertNotNull(result);
             assertEquals(2L, result.getId());
             assertEquals("New Todo", result.getTitle());
-            assertEquals(testUser, result.getUser());
-            verify(todoRepository).save(any(Todo.class));
+            verify(todoRepository).save(argThat(todo -> testUser.equals(todo.getUser())));
+            verify(categoryService).evictCategorySummary("testuser");
+            verify(todoSearchIndex).index(savedTodo);
         }
     }
 
@@ -147,13 +224,13 @@ class TodoServiceTest {
 
         mockSecurityContext();
         when(todoRepository.findById(1L)).thenReturn(Optional.of(testTodo));
-        when(todoRepository.save(any(Todo.class))).thenReturn(updatedTodo);
+        when(todoRepository.saveAndFlush(any(Todo.class))).thenReturn(updatedTodo);
 
         try (MockedStatic<SecurityContextHolder> mockedSecurityContextHolder = mockStatic(SecurityContextHolder.class)) {
             mockedSecurityContextHolder.when(SecurityContextHolder::getContext).thenReturn(securityContext);
 
             // When
-            Todo result = todoService.updateTodo(1L, updateDetails);
+            TodoResponse result = todoService.updateTodo(1L, updateDetails);
 
             // Then
             assertNotNull(result);
@@ -161,7 +238,31 @@ class TodoServiceTest {
             assertEquals("Updated Description", result.getDescription());
             assertTrue(result.isCompleted());
             verify(todoRepository).findById(1L);
-            verify(todoRepository).save(any(Todo.class));
+            verify(todoRepository).saveAndFlush(any(Todo.class));
+        }
+    }
+
+    @Test
+    void updateTodo_StaleVersion() {
+        // Given
+        testTodo.setVersion(5L);
+        Todo updateDetails = new Todo();
+        updateDetails.setTitle("Updated Title");
+        updateDetails.setVersion(4L);
+
+        mockSecurityContext();
+        when(todoRepository.findById(1L)).thenReturn(Optional.of(testTodo));
+
+        try (MockedStatic<SecurityContextHolder> mockedSecurityContextHolder = mockStatic(SecurityContextHolder.class)) {
+            mockedSecurityContextHolder.when(SecurityContextHolder::getContext).thenReturn(securityContext);
+
+            // When & Then
+            RuntimeException exception = assertThrows(RuntimeException.class, () -> {
+                todoService.updateTodo(1L, updateDetails);
+            });
+
+            assertEquals("Todo has been modified by another request", exception.getMessage());
+            verify(todoRepository, never()).save(any(Todo.class));
         }
     }
 
@@ -175,11 +276,12 @@ class TodoServiceTest {
             mockedSecurityContextHolder.when(SecurityContextHolder::getContext).thenReturn(securityContext);
 
             // When & Then
-            RuntimeException exception = assertThrows(RuntimeException.class, () -> {
+            ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class, () -> {
                 todoService.updateTodo(999L, new Todo());
             });
 
             assertEquals("Todo not found", exception.getMessage());
+            assertEquals(0, exception.getStackTrace().length);
             verify(todoRepository).findById(999L);
             verify(todoRepository, never()).save(any(Todo.class));
         }
@@ -215,11 +317,111 @@ class TodoServiceTest {
     }
 
     @Test
-    void deleteTodo_Success() {
+    void patchTodo_Success() {
+        // Given
+        TodoPatchRequest patch = new TodoPatchRequest();
+        patch.setCompleted(true);
+        mockSecurityContext();
+        when(todoRepository.patchForUser(1L, 1L, patch)).thenReturn(1);
+
+        try (MockedStatic<SecurityContextHolder> mockedSecurityContextHolder = mockStatic(SecurityContextHolder.class)) {
+            mockedSecurityContextHolder.when(SecurityContextHolder::getContext).thenReturn(securityContext);
+
+            // When
+            todoService.patchTodo(1L, patch);
+
+            // Then
+            verify(todoRepository).patchForUser(1L, 1L, patch);
+            verify(categoryService).evictCategorySummary("testuser");
+            verify(todoRepository, never()).findById(anyLong());
+            verify(todoRepository, never()).save(any(Todo.class));
+        }
+    }
+
+    @Test
+    void patchTodo_TitleChangeReindexes() {
+        // Given
+        TodoPatchRequest patch = new TodoPatchRequest();
+        patch.setTitle("Test Todo");
+        mockSecurityContext();
+        when(todoRepository.patchForUser(1L, 1L, patch)).thenReturn(1);
+        when(todoRepository.findById(1L)).thenReturn(Optional.of(testTodo));
+
+        try (MockedStatic<SecurityContextHolder> mockedSecurityContextHolder = mockStatic(SecurityContextHolder.class)) {
+            mockedSecurityContextHolder.when(SecurityContextHolder::getContext).thenReturn(securityContext);
+
+            // When
+            todoService.patchTodo(1L, patch);
+
+            // Then
+            verify(todoSearchIndex).index(testTodo);
+        }
+    }
+
+    @Test
+    void patchTodo_BlankOrNullTitle_Rejected() {
+        // Given
+        TodoPatchRequest blankPatch = new TodoPatchRequest();
+        blankPatch.setTitle("  ");
+        TodoPatchRequest nullPatch = new TodoPatchRequest();
+        nullPatch.setTitle(null);
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> todoService.patchTodo(1L, blankPatch));
+        assertThrows(IllegalArgumentException.class, () -> todoService.patchTodo(1L, nullPatch));
+        verify(todoRepository, never()).patchForUser(anyLong(), anyLong(), any(TodoPatchRequest.class));
+    }
+
+    @Test
+    void patchTodo_StaleVersion() {
         // Given
+        testTodo.setVersion(5L);
+        TodoPatchRequest patch = new TodoPatchRequest();
+        patch.setCompleted(true);
+        patch.setVersion(4L);
         mockSecurityContext();
+        when(todoRepository.patchForUser(1L, 1L, patch)).thenReturn(0);
         when(todoRepository.findById(1L)).thenReturn(Optional.of(testTodo));
 
+        try (MockedStatic<SecurityContextHolder> mockedSecurityContextHolder = mockStatic(SecurityContextHolder.class)) {
+            mockedSecurityContextHolder.when(SecurityContextHolder::getContext).thenReturn(securityContext);
+
+            // When & Then
+            RuntimeException exception = assertThrows(RuntimeException.class, () -> {
+                todoService.patchTodo(1L, patch);
+            });
+
+            assertEquals("Todo has been modified by another request", exception.getMessage());
+        }
+    }
+
+    @Test
+    void patchTodo_NotFound() {
+        // Given
+        TodoPatchRequest patch = new TodoPatchRequest();
+        patch.setCompleted(true);
+        mockSecurityContext();
+        when(todoRepository.patchForUser(999L, 1L, patch)).thenReturn(0);
+
+        try (MockedStatic<SecurityContextHolder> mockedSecurityContextHolder = mockStatic(SecurityContextHolder.class)) {
+            mockedSecurityContextHolder.when(SecurityContextHolder::getContext).thenReturn(securityContext);
+
+            // When & Then
+            RuntimeException exception = assertThrows(RuntimeException.class, () -> {
+                todoService.patchTodo(999L, patch);
+            });
+
+            assertEquals("Todo not found", exception.getMessage());
+            verify(categoryService, never()).evictCategorySummary(anyString());
+        }
+    }
+
+    @Test
+    void deleteTodo_Success() {
+        // Given
+        mockSecurityContext();
+        when(todoRepository.deleteByIdAndUserId(1L, 1L)).thenReturn(1);
+
         try (MockedStatic<SecurityContextHolder> mockedSecurityContextHolder = mockStatic(SecurityContextHolder.class)) {
             mockedSecurityContextHolder.when(SecurityContextHolder::getContext).thenReturn(securityContext);
 
@@ -227,8 +429,10 @@ class TodoServiceTest {
             todoService.deleteTodo(1L);
 
             // Then
-            verify(todoRepository).findById(1L);
-            verify(todoRepository).delete(testTodo);
+            verify(todoRepository).deleteByIdAndUserId(1L, 1L);
+            verify(todoRepository, never()).findById(anyLong());
+            verify(categoryService).evictCategorySummary("testuser");
+            verify(todoSearchIndex).delete(1L);
         }
     }
 
@@ -236,7 +440,8 @@ class TodoServiceTest {
     void deleteTodo_NotFound() {
         // Given
         mockSecurityContext();
-        when(todoRepository.findById(999L)).thenReturn(Optional.empty());
+        when(todoRepository.deleteByIdAndUserId(999L, 1L)).thenReturn(0);
+        when(todoRepository.existsById(999L)).thenReturn(false);
 
         try (MockedStatic<SecurityContextHolder> mockedSecurityContextHolder = mockStatic(SecurityContextHolder.class)) {
             mockedSecurityContextHolder.when(SecurityContextHolder::getContext).thenReturn(securityContext);
@@ -247,25 +452,17 @@ class TodoServiceTest {
             });
 
             assertEquals("Todo not found", exception.getMessage());
-            verify(todoRepository).findById(999L);
-            verify(todoRepository, never()).delete(any(Todo.class));
+            verify(todoRepository).deleteByIdAndUserId(999L, 1L);
+            verify(todoSearchIndex, never()).delete(anyLong());
         }
     }
 
     @Test
     void deleteTodo_Unauthorized() {
         // Given
-        User anotherUser = new User();
-        anotherUser.setId(2L);
-        anotherUser.setUsername("anotheruser");
-
-        Todo anotherUserTodo = new Todo();
-        anotherUserTodo.setId(1L);
-        anotherUserTodo.setTitle("Another User's Todo");
-        anotherUserTodo.setUser(anotherUser);
-
         mockSecurityContext();
-        when(todoRepository.findById(1L)).thenReturn(Optional.of(anotherUserTodo));
+        when(todoRepository.deleteByIdAndUserId(1L, 1L)).thenReturn(0);
+        when(todoRepository.existsById(1L)).thenReturn(true);
 
         try (MockedStatic<SecurityContextHolder> mockedSecurityContextHolder = mockStatic(SecurityContextHolder.class)) {
             mockedSecurityContextHolder.when(SecurityContextHolder::getContext).thenReturn(securityContext);
@@ -276,8 +473,8 @@ class TodoServiceTest {
             });
 
             assertEquals("You are not authorized to delete this todo", exception.getMessage());
-            verify(todoRepository).findById(1L);
-            verify(todoRepository, never()).delete(any(Todo.class));
+            verify(todoRepository).deleteByIdAndUserId(1L, 1L);
+            verify(todoSearchIndex, never()).delete(anyLong());
         }
     }
 
@@ -313,7 +510,7 @@ class TodoServiceTest {
             mockedSecurityContextHolder.when(SecurityContextHolder::getContext).thenReturn(securityContext);
 
             // When
-            List<Todo> result = todoService.getTodosForUser();
+            List<TodoResponse> result = todoService.getTodosForUser();
 
             // Then
             assertNotNull(result);
@@ -321,4 +518,36 @@ class TodoServiceTest {
             verify(userRepository).findByUsername("testuser");
         }
     }
+
+    @Test
+    void searchTodos_ReturnsOwnTodosInRankOrder() {
+        // Given
+        Todo secondTodo = new Todo();
+        secondTodo.setId(2L);
+        secondTodo.setTitle("Second Todo");
+        secondTodo.setUser(testUser);
+
+        mockSecurityContext();
+        when(todoSearchIndex.search(1L, "todo", 10)).thenReturn(Arrays.asList(2L, 1L));
+        when(todoRepository.findAllById(Arrays.asList(2L, 1L))).thenReturn(Arrays.asList(testTodo, secondTodo));
+
+        try (MockedStatic<SecurityContextHolder> mockedSecurityContextHolder = mockStatic(SecurityContextHolder.class)) {
+            mockedSecurityContextHolder.when(SecurityContextHolder::getContext).thenReturn(securityContext);
+
+            // When
+            List<TodoResponse> result = todoService.searchTodos("todo", 10);
+
+            // Then
+            assertEquals(2, result.size());
+            assertEquals(2L, result.get(0).getId());
+            assertEquals(1L, result.get(1).getId());
+        }
+    }
+
+    @Test
+    void searchTodos_BlankQuery() {
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> todoService.searchTodos(" ", 10));
+        verify(todoSearchIndex, never()).search(any(), any(), any(Integer.class));
+    }
 }
@@ -0,0 +1,152 @@
+package com.example.todoapp.service;
+
+import java.util.Collections;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.example.todoapp.datasource.ConnectionCountingDataSource;
+import com.example.todoapp.dto.TodoPatchRequest;
+import com.example.todoapp.dto.TodoResponse;
+import com.example.todoapp.model.Todo;
+import com.example.todoapp.model.User;
+import com.example.todoapp.repository.TodoRepository;
+import com.example.todoapp.repository.UserRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Checks that every service call runs in a single transaction on a single connection
+ * and that read-only calls do not flush.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class TransactionBoundaryTest {
+
+    @TestConfiguration
+    static class CountingConfig {
+
+        @Bean
+        static BeanPostProcessor connectionCountingPostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource && beanName.equals("dataSource")
+                            ? new ConnectionCountingDataSource(dataSource) : bean;
+                }
+            };
+        }
+    }
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TodoListCache todoListCache;
+
+    private ConnectionCountingDataSource connections;
+    private Statistics statistics;
+    private Todo savedTodo;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        User user = new User();
+        user.setUsername("txuser");
+        user.setEmail("tx@example.com");
+        user.setPassword("password123");
+        user = userRepository.save(user);
+
+        Todo todo = new Todo();
+        todo.setTitle("Transactional");
+        todo.setUser(user);
+        savedTodo = todoRepository.save(todo);
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("txuser", null, Collections.emptyList()));
+        // The counting data source sits behind the JDBC tracing proxy
+        connections = dataSource.unwrap(ConnectionCountingDataSource.class);
+        connections.reset();
+        // Todos are created through the repository, past the cache
+        todoListCache.evictAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        todoRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void reads_UseOneConnectionAndDoNotFlush() {
+        // When
+        List<TodoResponse> todos = todoService.getTodosForUser();
+        categoryService.getCategoriesForUser();
+        categoryService.getCategorySummary();
+        userService.findByUsername("txuser");
+
+        // Then
+        assertEquals(1, todos.size());
+        assertEquals(4, connections.getCheckouts());
+        assertEquals(0, statistics.getFlushCount());
+    }
+
+    @Test
+    void writes_UseOneConnectionEach() {
+        // Given
+        Todo newTodo = new Todo();
+        newTodo.setTitle("New");
+        TodoPatchRequest patch = new TodoPatchRequest();
+        patch.setCompleted(true);
+
+        // When & Then
+        TodoResponse created = todoService.createTodo(newTodo);
+        assertEquals(1, connections.getCheckouts());
+
+        Todo details = new Todo();
+        details.setTitle("Renamed");
+        todoService.updateTodo(created.getId(), details);
+        assertEquals(2, connections.getCheckouts());
+
+        todoService.patchTodo(savedTodo.getId(), patch);
+        assertEquals(3, connections.getCheckouts());
+
+        todoService.deleteTodo(created.getId());
+        assertEquals(4, connections.getCheckouts());
+    }
+}
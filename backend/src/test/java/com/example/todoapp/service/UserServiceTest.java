@@ -1,12 +1,18 @@
 package com.example.todoapp.service;
 
+import java.util.List;
+import java.util.Optional;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
@@ -17,7 +23,12 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import com.example.todoapp.model.User;
+import com.example.todoapp.repository.ArchivedTodoRepository;
+import com.example.todoapp.repository.CategoryRepository;
+import com.example.todoapp.repository.TodoRepository;
 import com.example.todoapp.repository.UserRepository;
+import com.example.todoapp.search.TodoSearchIndex;
+import com.example.todoapp.web.ResponseBodyCache;
 
 @ExtendWith(MockitoExtension.class)
 class UserServiceTest {
@@ -28,6 +39,27 @@ class UserServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private TodoRepository todoRepository;
+
+    @Mock
+    private ArchivedTodoRepository archivedTodoRepository;
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    @Mock
+    private CategoryService categoryService;
+
+    @Mock
+    private TodoListCache todoListCache;
+
+    @Mock
+    private ResponseBodyCache responseBodyCache;
+
+    @Mock
+    private TodoSearchIndex todoSearchIndex;
+
     @InjectMocks
     private UserService userService;
 
@@ -143,4 +175,40 @@ class UserServiceTest {
         verify(passwordEncoder).encode("plainpassword");
         verify(userRepository).save(any(User.class));
     }
+
+    @Test
+    void deleteUser_DeletesAllDataAndEvictsCaches() {
+        // Given
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+        when(todoRepository.findIdsByUserId(1L)).thenReturn(List.of(10L, 11L));
+
+        // When
+        boolean deleted = userService.deleteUser("testuser");
+
+        // Then
+        assertTrue(deleted);
+        verify(archivedTodoRepository).deleteAllByUserId(1L);
+        verify(todoRepository).deleteAllByUserId(1L);
+        verify(categoryRepository).deleteAllByUserId(1L);
+        verify(userRepository).deleteById(1L);
+        verify(categoryService).evictCategorySummary("testuser");
+        verify(todoListCache).evict("testuser");
+        verify(responseBodyCache).evict("testuser");
+        verify(todoSearchIndex).delete(10L);
+        verify(todoSearchIndex).delete(11L);
+    }
+
+    @Test
+    void deleteUser_UnknownUser() {
+        // Given
+        when(userRepository.findByUsername("nobody")).thenReturn(Optional.empty());
+
+        // When
+        boolean deleted = userService.deleteUser("nobody");
+
+        // Then
+        assertFalse(deleted);
+        verify(todoRepository, never()).deleteAllByUserId(anyLong());
+        verify(userRepository, never()).deleteById(anyLong());
+    }
 }
@@ -0,0 +1,140 @@
+package com.example.todoapp.tracing;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.example.todoapp.dto.LoginRequest;
+import com.example.todoapp.dto.RegisterRequest;
+import com.example.todoapp.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability(metrics = false)
+@ActiveProfiles("test")
+class TracingTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SdkTracerProvider tracerProvider;
+
+    @Autowired
+    private InMemorySpanExporter spanExporter;
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void request_IsOneTraceOfNestedSpans() throws Exception {
+        // Given
+        String token = registerAndLogin();
+        flush();
+        spanExporter.reset();
+
+        // When
+        mockMvc.perform(get("/api/todos").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk());
+        flush();
+
+        // Then
+        List<SpanData> spans = spanExporter.getFinishedSpanItems();
+        SpanData request = single(spans, "http get /api/todos");
+        assertTrue(spans.stream().allMatch(span -> span.getTraceId().equals(request.getTraceId())));
+
+        SpanData authentication = single(spans, "security.jwt.authentication");
+        assertTrue(isDescendant(spans, authentication, request));
+        assertEquals("true", authentication.getAttributes().asMap().entrySet().stream()
+                .filter(entry -> entry.getKey().getKey().equals("authenticated"))
+                .findFirst().orElseThrow().getValue());
+
+        SpanData service = single(spans, "todo-service.get-todos-for-user");
+        assertTrue(isDescendant(spans, service, request));
+        assertFalse(isDescendant(spans, service, authentication));
+
+        List<SpanData> queries = spans.stream().filter(span -> span.getName().equals("query")).toList();
+        assertFalse(queries.isEmpty());
+        assertTrue(queries.stream().anyMatch(query -> isDescendant(spans, query, authentication)));
+        assertTrue(queries.stream().anyMatch(query -> isDescendant(spans, query, service)));
+    }
+
+    private void flush() {
+        tracerProvider.forceFlush().join(10, TimeUnit.SECONDS);
+    }
+
+    private String registerAndLogin() throws Exception {
+        mockMvc.perform(post("/api/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new RegisterRequest("traceuser", "trace@example.com", "password123"))))
+                .andExpect(status().isOk());
+        String login = mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new LoginRequest("traceuser", "password123"))))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(login).get("token").asText();
+    }
+
+    private static SpanData single(List<SpanData> spans, String name) {
+        List<SpanData> matching = spans.stream().filter(span -> span.getName().equals(name)).toList();
+        assertEquals(1, matching.size(), () -> name + " in " + spans.stream().map(SpanData::getName).toList());
+        return matching.get(0);
+    }
+
+    private static boolean isDescendant(List<SpanData> spans, SpanData span, SpanData ancestor) {
+        String parent = span.getParentSpanId();
+        while (true) {
+            if (parent.equals(ancestor.getSpanId())) {
+                return true;
+            }
+            String current = parent;
+            SpanData next = spans.stream().filter(candidate -> candidate.getSpanId().equals(current))
+                    .findFirst().orElse(null);
+            if (next == null) {
+                return false;
+            }
+            parent = next.getParentSpanId();
+        }
+    }
+
+    @TestConfiguration
+    static class SpanExporterConfig {
+
+        @Bean
+        InMemorySpanExporter inMemorySpanExporter() {
+            return InMemorySpanExporter.create();
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.todoapp.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+
+import com.example.todoapp.exception.StaleVersionException;
+
+class ETagUtilTest {
+
+    @Test
+    void parseIfMatch_StrongTag() {
+        assertEquals(3L, ETagUtil.parseIfMatch("\"3\""));
+        assertEquals(3L, ETagUtil.parseIfMatch(" \"3\" "));
+    }
+
+    @Test
+    void parseIfMatch_WeakTagNeverMatches() {
+        assertThrows(StaleVersionException.class, () -> ETagUtil.parseIfMatch("W/\"3\""));
+    }
+
+    @Test
+    void parseIfMatch_AbsentOrWildcard() {
+        assertNull(ETagUtil.parseIfMatch(null));
+        assertNull(ETagUtil.parseIfMatch(""));
+        assertNull(ETagUtil.parseIfMatch("*"));
+    }
+
+    @Test
+    void parseIfMatch_Invalid() {
+        assertThrows(IllegalArgumentException.class, () -> ETagUtil.parseIfMatch("3"));
+        assertThrows(IllegalArgumentException.class, () -> ETagUtil.parseIfMatch("\"abc\""));
+        assertThrows(IllegalArgumentException.class, () -> ETagUtil.parseIfMatch("\"1\", \"2\""));
+    }
+
+    @Test
+    void okWithETag_QuotesVersion() {
+        ResponseEntity<String> response = ETagUtil.okWithETag("body", 7L);
+
+        assertEquals("\"7\"", response.getHeaders().getETag());
+        assertEquals("body", response.getBody());
+    }
+
+    @Test
+    void okWithETag_OmitsHeaderWithoutVersion() {
+        ResponseEntity<String> response = ETagUtil.okWithETag("body", null);
+
+        assertFalse(response.getHeaders().containsKey("ETag"));
+    }
+}
@@ -22,6 +22,7 @@ import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.security.SignatureException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 @ExtendWith(MockitoExtension.class)
 class JwtUtilTest {
@@ -180,6 +181,24 @@ class JwtUtilTest {
         });
     }
 
+    @Test
+    void parseToken_VerifiesOnceForValidation() {
+        // Given
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        jwtUtil.setMeterRegistry(meterRegistry);
+
+        // When
+        Claims claims = jwtUtil.parseToken(validToken);
+        boolean isValid = jwtUtil.validateToken(claims, userDetails);
+        assertThrows(MalformedJwtException.class, () -> jwtUtil.parseToken("invalid.jwt.token"));
+
+        // Then
+        assertTrue(isValid);
+        assertEquals("testuser", claims.getSubject());
+        assertEquals(1, meterRegistry.get("security.jwt.validation").tag("result", "valid").timer().count());
+        assertEquals(1, meterRegistry.get("security.jwt.validation").tag("result", "invalid").timer().count());
+    }
+
     @Test
     void extractClaim_Success() {
         // When
@@ -0,0 +1,170 @@
+package com.example.todoapp.web;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+class ResponseBodyCacheTest {
+
+    private static final String JSON = "application/json";
+
+    private final ResponseBodyCache cache = new ResponseBodyCache(DataSize.ofKilobytes(64), DataSize.ofBytes(100));
+    private final ResponseBodyCache uncompressed = new ResponseBodyCache(DataSize.ofKilobytes(64), DataSize.ofBytes(-1));
+
+    @Test
+    void encode_CompressesLargeBodiesOffHeap() throws Exception {
+        // Given
+        byte[] small = "[]".getBytes(StandardCharsets.UTF_8);
+        byte[] large = "[{\"title\":\"Todo\"},".repeat(100).getBytes(StandardCharsets.UTF_8);
+
+        // When
+        ResponseBodyCache.Body smallBody = cache.encode(JSON, small);
+        ResponseBodyCache.Body largeBody = cache.encode(JSON, large);
+
+        // Then
+        assertFalse(smallBody.gzipped());
+        assertArrayEquals(small, written(smallBody, false));
+        assertTrue(largeBody.gzipped());
+        assertTrue(largeBody.size() < large.length / 10);
+        assertArrayEquals(large, written(largeBody, true));
+        assertEquals(largeBody.size(), written(largeBody, false).length);
+        assertEquals(2 * 1024, cache.usedBytes());
+
+        // When
+        smallBody.release();
+        largeBody.release();
+
+        // Then
+        assertEquals(0, cache.usedBytes());
+    }
+
+    @Test
+    void put_StoresPerVariantUntilEvicted() {
+        // Given
+        ResponseBodyCache.Body todos = cache.encode(JSON, "[1]".getBytes(StandardCharsets.UTF_8));
+        ResponseBodyCache.Body categories = cache.encode(JSON, "[2]".getBytes(StandardCharsets.UTF_8));
+
+        // When
+        cache.put("alice", "/api/todos", cache.generation("alice"), todos);
+        cache.put("alice", "/api/categories", cache.generation("alice"), categories);
+
+        // Then
+        assertSame(todos, cache.get("alice", "/api/todos"));
+        assertSame(categories, cache.get("alice", "/api/categories"));
+        assertNull(cache.get("alice", "/api/todos?completed=true"));
+        assertNull(cache.get("bob", "/api/todos"));
+        assertEquals(2, cache.getNativeCache().stats().hitCount());
+        assertEquals(2, cache.getNativeCache().stats().missCount());
+
+        // When
+        cache.evict("alice");
+
+        // Then
+        assertNull(cache.get("alice", "/api/todos"));
+    }
+
+    @Test
+    void put_IgnoresBodiesRenderedBeforeEviction() {
+        // Given
+        long generation = cache.generation("alice");
+        ResponseBodyCache.Body stale = cache.encode(JSON, "[1]".getBytes(StandardCharsets.UTF_8));
+
+        // When
+        cache.evict("alice");
+        cache.put("alice", "/api/todos", generation, stale);
+
+        // Then
+        assertNull(cache.get("alice", "/api/todos"));
+    }
+
+    @Test
+    void eviction_ReturnsPagesToTheArena() throws Exception {
+        // Given: bodies of 5KB, taking 5 pages each, for more users than fit into 64KB
+        for (int user = 0; user < 40; user++) {
+            byte[] content = new byte[5 * 1024];
+            Arrays.fill(content, (byte) ('a' + user % 26));
+            ResponseBodyCache.Body body = uncompressed.encode(JSON, content);
+
+            // When
+            uncompressed.put("user" + user, "/api/todos", uncompressed.generation("user" + user), body);
+            body.release();
+        }
+        uncompressed.getNativeCache().cleanUp();
+
+        // Then
+        assertTrue(uncompressed.getNativeCache().stats().evictionCount() > 0);
+        assertTrue(uncompressed.usedBytes() <= DataSize.ofKilobytes(64).toBytes());
+        assertEquals(uncompressed.getNativeCache().asMap().size() * 5 * 1024L, uncompressed.usedBytes());
+        ResponseBodyCache.Body last = uncompressed.get("user39", "/api/todos");
+        byte[] expected = new byte[5 * 1024];
+        Arrays.fill(expected, (byte) ('a' + 39 % 26));
+        assertArrayEquals(expected, written(last, false));
+        last.release();
+
+        // When
+        uncompressed.evictAll();
+
+        // Then
+        assertEquals(0, uncompressed.usedBytes());
+    }
+
+    @Test
+    void eviction_KeepsBodiesBeingWrittenUntilReleased() throws Exception {
+        // Given
+        byte[] content = "[1]".getBytes(StandardCharsets.UTF_8);
+        ResponseBodyCache.Body body = cache.encode(JSON, content);
+        cache.put("alice", "/api/todos", cache.generation("alice"), body);
+        body.release();
+        ResponseBodyCache.Body reading = cache.get("alice", "/api/todos");
+
+        // When
+        cache.evict("alice");
+        ResponseBodyCache.Body other = cache.encode(JSON, "[2]".getBytes(StandardCharsets.UTF_8));
+
+        // Then
+        assertArrayEquals(content, written(reading, false));
+        assertEquals(2 * 1024, cache.usedBytes());
+        reading.release();
+        other.release();
+        assertEquals(0, cache.usedBytes());
+    }
+
+    @Test
+    void encode_FullArena_StoresNothing() {
+        // When
+        ResponseBodyCache.Body tooLarge = uncompressed.encode(JSON, new byte[65 * 1024]);
+
+        // Then
+        assertNull(tooLarge);
+        assertEquals(0, uncompressed.usedBytes());
+    }
+
+    @Test
+    void disabled_CachesNothing() {
+        // Given
+        ResponseBodyCache disabled = new ResponseBodyCache(DataSize.ofBytes(0), DataSize.ofKilobytes(2));
+
+        // Then
+        assertFalse(disabled.isEnabled());
+        assertNull(disabled.getNativeCache());
+    }
+
+    private static byte[] written(ResponseBodyCache.Body body, boolean decompressed) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        if (decompressed) {
+            body.writeDecompressedTo(out);
+        } else {
+            body.writeTo(out);
+        }
+        return out.toByteArray();
+    }
+}
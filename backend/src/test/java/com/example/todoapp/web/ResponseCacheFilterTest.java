@@ -0,0 +1,161 @@
+package com.example.todoapp.web;
+
+import java.io.ByteArrayInputStream;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.example.todoapp.dto.LoginRequest;
+import com.example.todoapp.dto.RegisterRequest;
+import com.example.todoapp.repository.CategoryRepository;
+import com.example.todoapp.repository.TodoRepository;
+import com.example.todoapp.repository.UserRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ResponseCacheFilterTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ResponseBodyCache responseBodyCache;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private String token;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        token = registerAndLogin();
+    }
+
+    @AfterEach
+    void tearDown() {
+        todoRepository.deleteAll();
+        categoryRepository.deleteAll();
+        userRepository.deleteAll();
+        // The rows were deleted past the services, which would have evicted the cached lists
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    @Test
+    void get_ServesCachedBodyUntilWrite() throws Exception {
+        // Given
+        createTodo("First");
+        MockHttpServletResponse first = getTodos(null);
+        long hits = responseBodyCache.getNativeCache().stats().hitCount();
+
+        // When
+        MockHttpServletResponse second = getTodos(null);
+
+        // Then
+        assertEquals(hits + 1, responseBodyCache.getNativeCache().stats().hitCount());
+        assertEquals(first.getContentAsString(), second.getContentAsString());
+        assertEquals(MediaType.APPLICATION_JSON_VALUE, second.getContentType());
+        assertEquals(second.getContentAsByteArray().length, second.getContentLength());
+
+        // When
+        createTodo("Second");
+        MockHttpServletResponse afterWrite = getTodos(null);
+
+        // Then
+        assertEquals(2, objectMapper.readTree(afterWrite.getContentAsString()).size());
+    }
+
+    @Test
+    void get_SendsLargeBodiesPrecompressed() throws Exception {
+        // Given
+        for (int i = 0; i < 20; i++) {
+            createTodo("Todo number " + i + " with a title long enough to need compression");
+        }
+        JsonNode expected = objectMapper.readTree(getTodos(null).getContentAsString());
+
+        // When
+        MockHttpServletResponse gzipped = getTodos("gzip, deflate");
+        MockHttpServletResponse plain = getTodos(null);
+
+        // Then
+        assertEquals("gzip", gzipped.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertTrue(gzipped.getHeaders(HttpHeaders.VARY).contains(HttpHeaders.ACCEPT_ENCODING));
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped.getContentAsByteArray()))) {
+            assertEquals(expected, objectMapper.readTree(in));
+        }
+        assertNull(plain.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(expected, objectMapper.readTree(plain.getContentAsString()));
+        assertEquals(20, expected.size());
+    }
+
+    @Test
+    void get_DoesNotCacheErrors() throws Exception {
+        // When
+        mockMvc.perform(get("/api/todos").param("sort", "owner")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isBadRequest());
+
+        // Then
+        assertNull(responseBodyCache.get("cacheuser", "/api/todos?sort=owner"));
+    }
+
+    private MockHttpServletResponse getTodos(String acceptEncoding) throws Exception {
+        return mockMvc.perform(get("/api/todos")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .header(HttpHeaders.ACCEPT_ENCODING, acceptEncoding != null ? acceptEncoding : "identity"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+    }
+
+    private void createTodo(String title) throws Exception {
+        mockMvc.perform(post("/api/todos")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\":\"" + title + "\"}"))
+                .andExpect(status().isOk());
+    }
+
+    private String registerAndLogin() throws Exception {
+        mockMvc.perform(post("/api/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new RegisterRequest("cacheuser", "cache@example.com", "password123"))))
+                .andExpect(status().isOk());
+        String login = mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new LoginRequest("cacheuser", "password123"))))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(login).get("token").asText();
+    }
+}